@@ -0,0 +1,198 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.buildship.internal;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.ProjectConnection;
+import org.gradle.tooling.model.eclipse.EclipseProject;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+
+/**
+ *  Fetching a model from the Gradle Tooling API can take seconds (and might even start a Gradle daemon), therefore
+ *  the connections are kept per root project directory and the model of a build is only fetched once. It is fetched
+ *  again after the build scripts changed or Buildship synchronized the project (which rewrites its preferences).
+ */
+public class GradleBuildCache implements IResourceChangeListener {
+  private static final String BUILDSHIP_PREFERENCES = "org.eclipse.buildship.core.prefs";
+
+  @Nullable
+  private static GradleBuildCache instance;
+
+  /** Only one model is fetched at a time, concurrent requests for the same build are waiting on the first one */
+  private final Object fetchLock = new Object();
+  private final Map<File, ProjectConnection> connectionsByRootDirectory = new ConcurrentHashMap<>();
+  private final Map<File, GradleBuildHierarchy> buildsByRootDirectory = new ConcurrentHashMap<>();
+  private final Map<File, File> rootDirectoriesByProjectDirectory = new ConcurrentHashMap<>();
+  /** Incremented on every invalidation, so that a model fetched in the meantime is not cached */
+  private final AtomicLong generation = new AtomicLong();
+
+  private GradleBuildCache() {
+  }
+
+  public static synchronized GradleBuildCache get() {
+    if (instance == null) {
+      instance = new GradleBuildCache();
+      ResourcesPlugin.getWorkspace().addResourceChangeListener(instance, IResourceChangeEvent.POST_CHANGE);
+    }
+    return instance;
+  }
+
+  /** When the plug-in is stopped, the connections to the builds must be closed */
+  public static synchronized void shutdown() {
+    if (instance != null) {
+      ResourcesPlugin.getWorkspace().removeResourceChangeListener(instance);
+      instance.invalidateAll();
+      instance = null;
+    }
+  }
+
+  /**
+   *  @param anyProjectDirectory the directory of any Gradle project of the build
+   *  @return the whole build this project is part of
+   */
+  public GradleBuildHierarchy getBuild(File anyProjectDirectory) {
+    var projectDirectory = GradleBuildHierarchy.normalize(anyProjectDirectory);
+    var build = getCachedBuild(projectDirectory);
+    if (build != null) {
+      return build;
+    }
+
+    synchronized (fetchLock) {
+      build = getCachedBuild(projectDirectory);
+      if (build != null) {
+        return build;
+      }
+
+      var currentGeneration = generation.get();
+      var connectionDirectory = rootDirectoriesByProjectDirectory.getOrDefault(projectDirectory, projectDirectory);
+      var connection = connectionsByRootDirectory.computeIfAbsent(connectionDirectory,
+        dir -> GradleConnector.newConnector().forProjectDirectory(dir).connect());
+
+      EclipseProject model;
+      try {
+        model = connection.model(EclipseProject.class).get();
+      } catch (RuntimeException err) {
+        // The connection might be broken, e.g. when the project is not a Gradle project anymore
+        closeConnection(connectionDirectory);
+        throw err;
+      }
+
+      build = new GradleBuildHierarchy(model);
+      var rootDirectory = build.getRootDirectory();
+      if (!rootDirectory.equals(connectionDirectory)) {
+        // The first connection was opened on a sub-project, keep it for the whole build from now on
+        connectionsByRootDirectory.remove(connectionDirectory);
+        var previous = connectionsByRootDirectory.putIfAbsent(rootDirectory, connection);
+        if (previous != null) {
+          connection.close();
+        }
+      }
+      for (var directory : build.getProjectDirectories()) {
+        rootDirectoriesByProjectDirectory.put(directory, rootDirectory);
+      }
+      if (generation.get() == currentGeneration) {
+        buildsByRootDirectory.put(rootDirectory, build);
+      }
+      return build;
+    }
+  }
+
+  @Nullable
+  private GradleBuildHierarchy getCachedBuild(File projectDirectory) {
+    var rootDirectory = rootDirectoriesByProjectDirectory.get(projectDirectory);
+    return rootDirectory != null ? buildsByRootDirectory.get(rootDirectory) : null;
+  }
+
+  private void invalidate(File projectDirectory) {
+    var rootDirectory = rootDirectoriesByProjectDirectory.get(projectDirectory);
+    if (rootDirectory != null) {
+      generation.incrementAndGet();
+      buildsByRootDirectory.remove(rootDirectory);
+    }
+  }
+
+  /** When projects are opened, closed or deleted, the builds and the connections to them might not be valid anymore */
+  private void invalidateAll() {
+    generation.incrementAndGet();
+    buildsByRootDirectory.clear();
+    rootDirectoriesByProjectDirectory.clear();
+    for (var rootDirectory : connectionsByRootDirectory.keySet()) {
+      closeConnection(rootDirectory);
+    }
+  }
+
+  private void closeConnection(File rootDirectory) {
+    var connection = connectionsByRootDirectory.remove(rootDirectory);
+    if (connection != null) {
+      try {
+        connection.close();
+      } catch (Exception err) {
+        SonarLintLogger.get().debug("Cannot close the Gradle Tooling API connection to '" + rootDirectory + "'", err);
+      }
+    }
+  }
+
+  @Override
+  public void resourceChanged(IResourceChangeEvent event) {
+    var delta = event.getDelta();
+    if (delta == null || rootDirectoriesByProjectDirectory.isEmpty()) {
+      return;
+    }
+    try {
+      delta.accept(this::visitDelta);
+    } catch (CoreException err) {
+      SonarLintLogger.get().error(err.getMessage(), err);
+    }
+  }
+
+  private boolean visitDelta(IResourceDelta delta) {
+    var resource = delta.getResource();
+    if (resource.getType() == IResource.PROJECT
+      && (delta.getKind() == IResourceDelta.REMOVED || delta.getKind() == IResourceDelta.ADDED || (delta.getFlags() & IResourceDelta.OPEN) != 0)) {
+      invalidateAll();
+      return false;
+    }
+    if (resource.getType() == IResource.FILE && isBuildConfiguration(resource.getName())) {
+      var projectLocation = resource.getProject().getLocation();
+      if (projectLocation != null) {
+        invalidate(GradleBuildHierarchy.normalize(projectLocation.toFile()));
+      }
+    }
+    return true;
+  }
+
+  private static boolean isBuildConfiguration(String fileName) {
+    return fileName.endsWith(".gradle")
+      || fileName.endsWith(".gradle.kts")
+      || "gradle.properties".equals(fileName)
+      || BUILDSHIP_PREFERENCES.equals(fileName);
+  }
+}
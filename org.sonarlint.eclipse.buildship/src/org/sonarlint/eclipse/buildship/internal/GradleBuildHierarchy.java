@@ -0,0 +1,86 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.buildship.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jdt.annotation.Nullable;
+import org.gradle.tooling.model.eclipse.EclipseProject;
+
+/**
+ *  The complete Gradle build a project is part of, fetched once via the Gradle Tooling API. All the projects of the
+ *  build are indexed by their project directory, so that every project of the build can be looked up without having
+ *  to ask the Tooling API again. The directories are normalized, as the ones coming from Gradle and from Eclipse might
+ *  differ in symbolic links, case or trailing separators.
+ */
+public class GradleBuildHierarchy {
+  private final EclipseProject rootProject;
+  private final File rootDirectory;
+  private final Map<File, EclipseProject> projectsByDirectory = new HashMap<>();
+
+  GradleBuildHierarchy(EclipseProject anyProjectOfBuild) {
+    var currentProject = anyProjectOfBuild;
+    while (currentProject.getParent() != null) {
+      currentProject = currentProject.getParent();
+    }
+    this.rootProject = currentProject;
+    this.rootDirectory = normalize(rootProject.getProjectDirectory());
+    index(rootProject);
+  }
+
+  private void index(EclipseProject project) {
+    projectsByDirectory.put(normalize(project.getProjectDirectory()), project);
+    for (var child : project.getChildren()) {
+      index(child);
+    }
+  }
+
+  public EclipseProject getRootProject() {
+    return rootProject;
+  }
+
+  /** Normalized, see {@link #normalize(File)} */
+  public File getRootDirectory() {
+    return rootDirectory;
+  }
+
+  /** @return the Gradle project located in this directory, null if there is none in this build */
+  @Nullable
+  public EclipseProject getProject(File projectDirectory) {
+    return projectsByDirectory.get(normalize(projectDirectory));
+  }
+
+  /** Normalized, see {@link #normalize(File)} */
+  public Iterable<File> getProjectDirectories() {
+    return projectsByDirectory.keySet();
+  }
+
+  /** The real path of the directory, or at least its absolute and normalized path when it does not exist (anymore) */
+  static File normalize(File directory) {
+    var path = directory.toPath().toAbsolutePath().normalize();
+    try {
+      return path.toRealPath().toFile();
+    } catch (IOException err) {
+      return path.toFile();
+    }
+  }
+}
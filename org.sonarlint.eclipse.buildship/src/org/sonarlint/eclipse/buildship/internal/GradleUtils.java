@@ -24,12 +24,11 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.annotation.Nullable;
-import org.gradle.tooling.GradleConnector;
-import org.gradle.tooling.ProjectConnection;
 import org.gradle.tooling.model.eclipse.EclipseProject;
 import org.gradle.tooling.model.eclipse.HierarchicalEclipseProject;
 import org.sonarlint.eclipse.core.SonarLintLogger;
@@ -115,33 +114,37 @@ public class GradleUtils {
     // The Gradle Tooling API isn't really informative about the behavior when there is no "correct" Gradle project,
     // e.g. the Eclipse ".project" file has the correct nature but the project is not based on Gradle anymore. That's
     // the reason for the more general catch block.
-    ProjectConnection connection = null;
     try {
-      connection = GradleConnector.newConnector().forProjectDirectory(localFile).connect();
-      var gradleEclipseProject = connection.model(HierarchicalEclipseProject.class).get();
-      return gradleEclipseProject.getName() != null;
+      var gradleEclipseProject = GradleBuildCache.get().getBuild(localFile).getProject(localFile);
+      return gradleEclipseProject != null && gradleEclipseProject.getName() != null;
     } catch (Exception err) {
       SonarLintLogger.get().debug("Project '" + project.getName()
         + "' cannot be interacted with from the Gradle Tooling API.", err);
-    } finally {
-      if (connection != null) {
-        connection.close();
-      }
     }
 
     return false;
   }
 
+  /**
+   *  The Gradle project matching the Eclipse one, coming from the cached build it is part of.
+   *
+   *  If an exception is thrown here due to the toLocalFile(...) returning null or due to the Gradle Tooling API,
+   *  something must be broken on the Eclipse Buildship plug-in side as isPartOfHierarchy(...) already interacted with
+   *  it and the contract is to call it prior to calling the methods relying on this one!
+   */
+  @Nullable
+  private static EclipseProject getGradleProject(IResource resource) {
+    var localFile = FileUtils.toLocalFile(resource);
+    return GradleBuildCache.get().getBuild(localFile).getProject(localFile);
+  }
+
   @Nullable
   public static ISonarLintProject getRootProjectInWorkspace(ISonarLintProject project) {
-    // If an exception is thrown here due to the toLocalFile(...) returning null or due to the GradleConnector,
-    // something must be broken on the Eclipse Buildship plug-in side as isPartOfHierarchy(...) already interacted with
-    // it and the contract is to call it prior to calling this method!
-    var connection = GradleConnector.newConnector()
-      .forProjectDirectory(FileUtils.toLocalFile(project.getResource()))
-      .connect();
-
-    var gradleEclipseProject = connection.model(HierarchicalEclipseProject.class).get();
+    var gradleEclipseProject = getGradleProject(project.getResource());
+    if (gradleEclipseProject == null) {
+      return null;
+    }
+
     var rootProject = getRootGradleProject(gradleEclipseProject);
     if (gradleEclipseProject.equals(rootProject)) {
       return project;
@@ -154,19 +157,18 @@ public class GradleUtils {
         + project.getName() + "' a Gradle root project was found ('" + rootProject.getName()
         + "') but cannot be matched to any project in the workspace!");
     }
-    connection.close();
     return possibleMatchedProject;
   }
 
   public static Collection<ISonarLintProject> getProjectSubProjects(ISonarLintProject project) {
     var subProjects = new ArrayList<ISonarLintProject>();
 
-    var connection = GradleConnector.newConnector()
-      .forProjectDirectory(FileUtils.toLocalFile(project.getResource()))
-      .connect();
+    var gradleEclipseProject = getGradleProject(project.getResource());
+    if (gradleEclipseProject == null) {
+      return subProjects;
+    }
 
     var allProjects = SonarLintUtils.allProjects();
-    var gradleEclipseProject = connection.model(HierarchicalEclipseProject.class).get();
     var gradleEclipseChildProjects = getChildGradleProjects(gradleEclipseProject);
     for (var child : gradleEclipseChildProjects) {
       var possibleMatchedProject = matchGradleProject(allProjects, child);
@@ -205,11 +207,10 @@ public class GradleUtils {
     exclusions.add(Path.fromOSString("/" + project.getName() + "/.gradle"));
 
     try {
-      var connection = GradleConnector.newConnector()
-        .forProjectDirectory(FileUtils.toLocalFile(project))
-        .connect();
-
-      var gradleEclipseProject = connection.model(EclipseProject.class).get();
+      var gradleEclipseProject = getGradleProject(project);
+      if (gradleEclipseProject == null) {
+        return exclusions;
+      }
       var projectPath = gradleEclipseProject.getProjectDirectory().toPath().toAbsolutePath().toString() + "/";
 
       // 3) Add the output directory (this is relative to the Eclipse project, no one knows why it is inconsistent)
@@ -19,16 +19,49 @@
  */
 package org.sonarlint.eclipse.cdt.internal;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.eclipse.jdt.annotation.Nullable;
 
+/**
+ *  Writes the "build-wrapper-dump.json" expected by the CFamily analyzer, based on the scanner information of the
+ *  files to analyze. The content is streamed, and as many files share the same include paths and macros, every
+ *  distinct compiler probe is only rendered once.
+ */
 public class BuildWrapperJsonFactory {
   private static final String COMPILER = "clang";
+  /**
+   *  Part of the fingerprint, to be incremented whenever the written JSON changes: the files written by previous
+   *  versions are kept in the project working directory, which survives upgrades.
+   */
+  static final String JSON_FORMAT_VERSION = "1";
 
   public String create(Collection<ConfiguredFile> files, String baseDirPath) {
-    var builder = new StringBuilder();
-    builder.append("{"
+    var writer = new StringWriter();
+    try {
+      write(files, baseDirPath, writer);
+    } catch (IOException e) {
+      // Not happening with a StringWriter
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  public void write(Collection<ConfiguredFile> files, String baseDirPath, Writer out) throws IOException {
+    var quotedBaseDirPath = quote(baseDirPath);
+    var renderedProbes = new HashMap<ProbeKey, String>();
+
+    out.write("{"
       + "\"version\":0,"
       + "\"captures\":[");
 
@@ -37,34 +70,100 @@ public class BuildWrapperJsonFactory {
       if (first) {
         first = false;
       } else {
-        builder.append(",");
+        out.write(',');
       }
-      writeFile(builder, baseDirPath, file.path(), file.includes(), file.symbols());
+      var quotedFilePath = quote(file.path());
+      var probe = renderedProbes.computeIfAbsent(new ProbeKey(file), BuildWrapperJsonFactory::renderProbe);
+      writeCompilerProbe(out, quotedFilePath, probe);
+      out.write(',');
+      writeCompilerProbe(out, quotedFilePath, probe);
+      out.write(',');
+      out.write("{\"compiler\":\"" + COMPILER + "\",");
+      out.write("\"cwd\":");
+      out.write(quotedBaseDirPath);
+      out.write(",\"executable\":");
+      out.write(quotedFilePath);
+      out.write(",\"cmd\":[\"clang\",");
+      out.write(quotedFilePath);
+      out.write("]}");
     }
 
-    builder.append("]}");
-    return builder.toString();
+    out.write("]}");
+  }
+
+  /**
+   *  Fingerprint of the JSON that would be written for these files, computed without rendering it. Used to re-use a
+   *  previously written file when the inputs didn't change.
+   */
+  public static String fingerprint(Collection<ConfiguredFile> files, String baseDirPath) {
+    var digest = sha256();
+    var probeIds = new HashMap<ProbeKey, Integer>();
+    update(digest, JSON_FORMAT_VERSION);
+    update(digest, baseDirPath);
+    for (var file : files) {
+      update(digest, file.path());
+      var probeId = probeIds.computeIfAbsent(new ProbeKey(file), key -> {
+        for (var include : key.includes) {
+          update(digest, include);
+        }
+        // Separates the include paths from the macros
+        digest.update((byte) 1);
+        key.symbols.forEach((name, value) -> {
+          update(digest, name);
+          update(digest, value);
+        });
+        return probeIds.size();
+      });
+      update(digest, Integer.toString(probeId));
+    }
+    return toHex(digest.digest());
+  }
+
+  /** Fingerprint of the compiler probe (include paths and macros) of a single file */
+  public static String probeFingerprint(ConfiguredFile file) {
+    var digest = sha256();
+    for (var include : file.includes()) {
+      update(digest, include);
+    }
+    // Separates the include paths from the macros
+    digest.update((byte) 1);
+    file.symbols().forEach((name, value) -> {
+      update(digest, name);
+      update(digest, value);
+    });
+    return toHex(digest.digest());
+  }
+
+  private static String toHex(byte[] hash) {
+    var hex = new StringBuilder(hash.length * 2);
+    for (var b : hash) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+
+  private static void update(MessageDigest digest, @Nullable String value) {
+    if (value != null) {
+      digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+    // Separator, so that the concatenation of two values cannot be confused with two others
+    digest.update((byte) 0);
   }
 
-  private static void writeFile(StringBuilder builder, String baseDirPath, String filePath, String[] includes, Map<String, String> symbols) {
-    var probeStdout = probeStdout(symbols);
-    var probeStderr = probeStderr(includes);
-    writeCompilerProbe(builder, filePath, probeStdout, probeStderr);
-    builder.append(",");
-    writeCompilerProbe(builder, filePath, probeStdout, probeStderr);
-    builder.append(",");
-    builder.append("{")
-      .append("\"compiler\":\"" + COMPILER + "\",")
-      .append("\"cwd\":" + quote(baseDirPath) + ",")
-      .append("\"executable\":" + quote(filePath) + ",")
-      .append("\"cmd\":[")
-      .append("\"clang\"")
-      .append("," + quote(filePath) + "")
-      .append("]}");
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
 
+  /** @return the part of the compiler probe following the executable */
+  private static String renderProbe(ProbeKey key) {
+    return ",\"stdout\":" + quote(probeStdout(key.symbols)) + ",\"stderr\":" + quote(probeStderr(key.includes)) + "}";
   }
 
-  private static String probeStderr(String[] includes) {
+  private static String probeStderr(List<String> includes) {
     var builder = new StringBuilder("#include <...> search starts here:\n");
     for (var include : includes) {
       builder.append(" ").append(include).append("\n");
@@ -81,14 +180,38 @@ public class BuildWrapperJsonFactory {
     return builder.toString();
   }
 
-  private static void writeCompilerProbe(StringBuilder builder, String compilerKey, String stdout, String stderr) {
-    builder
-      .append("{")
-      .append("\"compiler\":\"").append(COMPILER).append("\",")
-      .append("\"executable\":").append(quote(compilerKey)).append(",")
-      .append("\"stdout\":").append(quote(stdout)).append(",")
-      .append("\"stderr\":").append(quote(stderr))
-      .append("}");
+  private static void writeCompilerProbe(Writer out, String quotedCompilerKey, String renderedProbe) throws IOException {
+    out.write("{\"compiler\":\"" + COMPILER + "\",\"executable\":");
+    out.write(quotedCompilerKey);
+    out.write(renderedProbe);
+  }
+
+  /** Files with the same include paths and macros share the same compiler probe */
+  private static class ProbeKey {
+    private final List<String> includes;
+    private final Map<String, String> symbols;
+
+    private ProbeKey(ConfiguredFile file) {
+      this.includes = Arrays.asList(file.includes());
+      this.symbols = file.symbols();
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * includes.hashCode() + symbols.hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ProbeKey)) {
+        return false;
+      }
+      var other = (ProbeKey) obj;
+      return includes.equals(other.includes) && symbols.equals(other.symbols);
+    }
   }
 
   private static String quote(@Nullable String string) {
@@ -0,0 +1,302 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.cdt.internal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.StoragePathManager;
+import org.sonarlint.eclipse.core.internal.utils.FileUtils;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+/**
+ *  Directory used by the CFamily analyzer to cache the results of the parsing (mostly of the headers) between
+ *  analyses, one per project. The analyzer only checks the content of the files, so the whole cache is dropped when the
+ *  compiler probe (include paths and macros) of one of the analyzed files changed compared to the previous analysis of
+ *  this file. Its layout belongs to the analyzer, so it is also cleared as a whole when it grows over its size limit
+ *  rather than partially. It is deleted with the project.
+ *
+ *  Clearing the cache starts a new generation of it in another directory: the analyses still running keep using the
+ *  previous one, that is deleted once all of them are completed.
+ */
+class CFamilyAnalysisCache {
+  static final String MAX_SIZE_PROPERTY = "sonarlint.cfamily.cache.maxSizeMb";
+  private static final long DEFAULT_MAX_SIZE_MB = 512;
+  /** Walking the cache is costly, so its size is only checked in the background from time to time */
+  private static final long SIZE_CHECK_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10);
+  /** Directory of the versions not having generations */
+  private static final String LEGACY_DATA_DIR = "data";
+  private static final String DATA_DIR_PREFIX = "data-";
+  private static final String PROBES_FILENAME = "probes.properties";
+
+  private final long maxSizeBytes;
+  private final Consumer<Runnable> sizeCheckScheduler;
+  private final Map<Path, CacheState> stateByCacheDir = new HashMap<>();
+
+  CFamilyAnalysisCache() {
+    this(Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE_MB) * 1024 * 1024, CFamilyAnalysisCache::scheduleInBackground);
+  }
+
+  CFamilyAnalysisCache(long maxSizeBytes, Consumer<Runnable> sizeCheckScheduler) {
+    this.maxSizeBytes = maxSizeBytes;
+    this.sizeCheckScheduler = sizeCheckScheduler;
+  }
+
+  /** Only done for the actual workspace, not when running with mocks */
+  void installListeners() {
+    ResourcesPlugin.getWorkspace().addResourceChangeListener(event -> {
+      var project = SonarLintUtils.adapt(event.getResource(), ISonarLintProject.class,
+        "[CFamilyAnalysisCache#installListeners] Try get project of event '" + event.getResource() + "'");
+      if (project != null) {
+        // Not in a job, it would otherwise race with the preparation of an analysis after re-opening the project
+        delete(StoragePathManager.getCFamilyCacheDir(project));
+      }
+    }, IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+  }
+
+  /**
+   *  The returned directory is kept until {@link #release(Path)} is called for it, once the analysis is completed.
+   *
+   *  @param cacheDir the cache directory of the project
+   *  @param probeFingerprintByFile fingerprint of the compiler probe of each file to analyze
+   *  @return the directory to provide to the analyzer
+   */
+  Path prepare(Path cacheDir, Map<String, String> probeFingerprintByFile) throws IOException {
+    Path dataDir;
+    boolean checkSize;
+    synchronized (this) {
+      var state = stateByCacheDir.computeIfAbsent(cacheDir, CFamilyAnalysisCache::loadState);
+      var changed = false;
+      var invalidated = false;
+      for (var entry : probeFingerprintByFile.entrySet()) {
+        var previous = state.probes.setProperty(entry.getKey(), entry.getValue());
+        if (!entry.getValue().equals(previous)) {
+          changed = true;
+          invalidated |= previous != null;
+        }
+      }
+      if (invalidated) {
+        SonarLintLogger.get().debug("Compiler configuration changed, clearing the CFamily analysis cache " + cacheDir);
+        startNewGeneration(cacheDir, state);
+      }
+      if (changed) {
+        saveProbes(cacheDir, state.probes);
+      }
+      dataDir = dataDir(cacheDir, state.generation);
+      Files.createDirectories(dataDir);
+      state.usersByGeneration.merge(state.generation, 1, Integer::sum);
+      var now = System.currentTimeMillis();
+      checkSize = now - state.lastSizeCheck >= SIZE_CHECK_INTERVAL_MS;
+      if (checkSize) {
+        state.lastSizeCheck = now;
+      }
+    }
+    if (checkSize) {
+      sizeCheckScheduler.accept(() -> clearIfTooLarge(cacheDir, dataDir));
+    }
+    return dataDir;
+  }
+
+  /** Called once the analysis using a directory returned by {@link #prepare(Path, Map)} is completed */
+  synchronized void release(Path dataDir) {
+    var cacheDir = dataDir.getParent();
+    var state = cacheDir != null ? stateByCacheDir.get(cacheDir) : null;
+    var generation = generationOf(dataDir);
+    if (state == null || generation == null) {
+      return;
+    }
+    var users = state.usersByGeneration.merge(generation, -1, Integer::sum);
+    if (users <= 0) {
+      state.usersByGeneration.remove(generation);
+      if (generation != state.generation) {
+        deleteIfExists(dataDir);
+      }
+    }
+  }
+
+  synchronized void delete(Path cacheDir) {
+    stateByCacheDir.remove(cacheDir);
+    if (Files.isDirectory(cacheDir)) {
+      SonarLintLogger.get().debug("Deleting the CFamily analysis cache " + cacheDir);
+      FileUtils.deleteRecursively(cacheDir);
+    }
+  }
+
+  /** Not holding the lock while walking the directory, the analyses of the other projects are not waiting for it */
+  void clearIfTooLarge(Path cacheDir, Path dataDir) {
+    if (!Files.isDirectory(dataDir)) {
+      return;
+    }
+    var totalSize = 0L;
+    try (var files = Files.walk(dataDir)) {
+      for (var file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+        totalSize += sizeOf(file);
+      }
+    } catch (IOException | RuntimeException e) {
+      SonarLintLogger.get().debug("Unable to compute the size of the CFamily analysis cache " + dataDir + ": " + e.getMessage());
+      return;
+    }
+    if (totalSize > maxSizeBytes) {
+      synchronized (this) {
+        var state = stateByCacheDir.get(cacheDir);
+        if (state != null && dataDir.equals(dataDir(cacheDir, state.generation))) {
+          SonarLintLogger.get().debug("The CFamily analysis cache " + cacheDir + " grew over " + maxSizeBytes + " bytes, clearing it");
+          startNewGeneration(cacheDir, state);
+        }
+      }
+    }
+  }
+
+  /** The previous generation is deleted now if not used, or once released by the last analysis using it */
+  private static void startNewGeneration(Path cacheDir, CacheState state) {
+    var previous = state.generation;
+    state.generation++;
+    if (!state.usersByGeneration.containsKey(previous)) {
+      deleteIfExists(dataDir(cacheDir, previous));
+    }
+  }
+
+  private static void deleteIfExists(Path dir) {
+    if (Files.exists(dir)) {
+      FileUtils.deleteRecursively(dir);
+    }
+  }
+
+  private static Path dataDir(Path cacheDir, long generation) {
+    return cacheDir.resolve(DATA_DIR_PREFIX + generation);
+  }
+
+  @Nullable
+  private static Long generationOf(Path dataDir) {
+    var name = dataDir.getFileName().toString();
+    if (!name.startsWith(DATA_DIR_PREFIX)) {
+      return null;
+    }
+    try {
+      return Long.parseLong(name.substring(DATA_DIR_PREFIX.length()));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static long sizeOf(Path file) {
+    try {
+      return Files.size(file);
+    } catch (IOException e) {
+      // Removed in the meantime
+      return 0;
+    }
+  }
+
+  /** Only the latest generation is kept, the other ones are not used by any analysis yet */
+  private static CacheState loadState(Path cacheDir) {
+    var state = new CacheState();
+    var generations = new HashMap<Path, Long>();
+    if (Files.isDirectory(cacheDir)) {
+      try (var children = Files.list(cacheDir)) {
+        children.forEach(child -> {
+          var generation = generationOf(child);
+          if (generation != null) {
+            generations.put(child, generation);
+          }
+        });
+      } catch (IOException e) {
+        SonarLintLogger.get().debug("Unable to list " + cacheDir + ": " + e.getMessage());
+      }
+    }
+    state.generation = generations.values().stream().max(Long::compare).orElse(0L);
+    if (!loadProbes(cacheDir, state.probes)) {
+      // The data cannot be trusted without knowing the configuration it was computed with
+      state.generation++;
+    }
+    generations.forEach((dir, generation) -> {
+      if (generation != state.generation) {
+        FileUtils.deleteRecursively(dir);
+      }
+    });
+    deleteIfExists(cacheDir.resolve(LEGACY_DATA_DIR));
+    return state;
+  }
+
+  /** @return false if the probes were not readable */
+  private static boolean loadProbes(Path cacheDir, Properties probes) {
+    var probesFile = cacheDir.resolve(PROBES_FILENAME);
+    if (Files.isRegularFile(probesFile)) {
+      try (var in = Files.newInputStream(probesFile)) {
+        probes.load(in);
+      } catch (IOException e) {
+        SonarLintLogger.get().debug("Unable to read " + probesFile + ": " + e.getMessage());
+        probes.clear();
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void saveProbes(Path cacheDir, Properties probes) throws IOException {
+    Files.createDirectories(cacheDir);
+    var tempFile = Files.createTempFile(cacheDir, PROBES_FILENAME, ".tmp");
+    try {
+      try (var out = Files.newOutputStream(tempFile)) {
+        probes.store(out, null);
+      }
+      Files.move(tempFile, cacheDir.resolve(PROBES_FILENAME), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  private static void scheduleInBackground(Runnable sizeCheck) {
+    var job = new Job("Check the size of the CFamily analysis cache") {
+      @Override
+      protected IStatus run(IProgressMonitor monitor) {
+        sizeCheck.run();
+        return Status.OK_STATUS;
+      }
+    };
+    job.setSystem(true);
+    job.schedule();
+  }
+
+  private static class CacheState {
+    /** Compiler probe fingerprint per file path */
+    private final Properties probes = new Properties();
+    private long generation;
+    /** Number of the running analyses using each generation */
+    private final Map<Long, Integer> usersByGeneration = new HashMap<>();
+    private long lastSizeCheck;
+  }
+}
@@ -39,6 +39,7 @@ import org.eclipse.ui.IEditorPart;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.analysis.IAnalysisConfigurator;
 import org.sonarlint.eclipse.core.analysis.IFileLanguageProvider;
+import org.sonarlint.eclipse.core.analysis.IPostAnalysisContext;
 import org.sonarlint.eclipse.core.analysis.IPreAnalysisContext;
 import org.sonarlint.eclipse.core.analysis.SonarLintLanguage;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
@@ -102,6 +103,13 @@ public class CProjectConfiguratorExtension implements IAnalysisConfigurator, IFi
     cdtUtils.configure(context, monitor);
   }
 
+  @Override
+  public void analysisComplete(IPostAnalysisContext context, IProgressMonitor monitor) {
+    if (cdtUtils != null) {
+      cdtUtils.analysisComplete(context);
+    }
+  }
+
   @Nullable
   @Override
   public SonarLintLanguage language(ISonarLintFile file) {
@@ -24,9 +24,13 @@ import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -38,26 +42,35 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.analysis.IPostAnalysisContext;
 import org.sonarlint.eclipse.core.analysis.IPreAnalysisContext;
 import org.sonarlint.eclipse.core.analysis.SonarLintLanguage;
+import org.sonarlint.eclipse.core.internal.StoragePathManager;
 import org.sonarlint.eclipse.core.internal.jobs.DefaultPreAnalysisContext;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
 public class CdtUtils {
   private static final String CFAMILY_USE_CACHE = "sonar.cfamily.useCache";
+  private static final String CFAMILY_CACHE_PATH = "sonar.cfamily.cache.path";
   private static final String BUILD_WRAPPER_OUTPUT_PROP = "sonar.cfamily.build-wrapper-output";
   private static final String BUILD_WRAPPER_OUTPUT_FILENAME = "build-wrapper-dump.json";
   private static final Charset BUILD_WRAPPER_OUTPUT_CHARSET = StandardCharsets.UTF_8;
+  private static final String BUILD_WRAPPER_CACHE_DIR = "build-wrapper";
+  private static final int MAX_CACHED_BUILD_WRAPPER_OUTPUTS = 8;
   private final BuildWrapperJsonFactory jsonFactory;
   private final CCorePlugin cCorePlugin;
   private final Predicate<IFile> fileValidator;
   private final SonarLintLogger logger;
   private final BiFunction<IProject, String, IContentType> contentTypeResolver;
+  private final ScannerInfoCache scannerInfoCache;
+  private final CFamilyAnalysisCache analysisCache;
 
   public CdtUtils() {
     this(new BuildWrapperJsonFactory(), CCorePlugin.getDefault(), CoreModel::isTranslationUnit,
       CCorePlugin::getContentType, SonarLintLogger.get());
+    scannerInfoCache.installListeners();
+    analysisCache.installListeners();
   }
 
   public CdtUtils(BuildWrapperJsonFactory jsonFactory, CCorePlugin cCorePlugin, Predicate<IFile> fileValidator,
@@ -67,6 +80,8 @@ public class CdtUtils {
     this.fileValidator = fileValidator;
     this.logger = logger;
     this.contentTypeResolver = contentTypeResolver;
+    this.scannerInfoCache = new ScannerInfoCache();
+    this.analysisCache = new CFamilyAnalysisCache();
   }
 
   public void configure(IPreAnalysisContext context, IProgressMonitor monitor) {
@@ -79,25 +94,33 @@ public class CdtUtils {
       var configuredFiles = configureCProject(context, context.getProject(), filesToAnalyze);
       var jsonPath = writeJson(context, context.getProject(), configuredFiles);
       logger.debug("Wrote build info to: " + jsonPath.toString());
-      context.setAnalysisProperty(CFAMILY_USE_CACHE, Boolean.FALSE.toString());
+      configureAnalysisCache(context, configuredFiles);
       context.setAnalysisProperty(BUILD_WRAPPER_OUTPUT_PROP, jsonPath.getParent().toString());
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
     }
   }
 
+  public void analysisComplete(IPostAnalysisContext context) {
+    var cacheDir = context.getAnalysisProperties().get(CFAMILY_CACHE_PATH);
+    if (cacheDir != null) {
+      analysisCache.release(Paths.get(cacheDir));
+    }
+  }
+
   private Collection<ConfiguredFile> configureCProject(IPreAnalysisContext context, ISonarLintProject project, Collection<ISonarLintFile> filesToAnalyze) {
-    var files = new LinkedList<ConfiguredFile>();
-    var infoProvider = cCorePlugin.getScannerInfoProvider((IProject) project.getResource());
+    var files = new ArrayList<ConfiguredFile>(filesToAnalyze.size());
+    var iProject = (IProject) project.getResource();
+    var infoProvider = cCorePlugin.getScannerInfoProvider(iProject);
 
     for (ISonarLintFile file : filesToAnalyze) {
       var builder = new ConfiguredFile.Builder((IFile) file.getResource());
 
       var path = ((DefaultPreAnalysisContext) context).getLocalPath(file);
-      var fileInfo = infoProvider.getScannerInformation(file.getResource());
+      var fileInfo = scannerInfoCache.get(infoProvider, iProject, file.getResource());
 
-      builder.includes(fileInfo.getIncludePaths() != null ? fileInfo.getIncludePaths() : new String[0])
-        .symbols(fileInfo.getDefinedSymbols() != null ? fileInfo.getDefinedSymbols() : Collections.emptyMap())
+      builder.includes(fileInfo.includes())
+        .symbols(fileInfo.symbols())
         .path(path);
 
       files.add(builder.build());
@@ -106,19 +129,80 @@ public class CdtUtils {
 
   }
 
+  private void configureAnalysisCache(IPreAnalysisContext context, Collection<ConfiguredFile> files) {
+    var probeFingerprintByFile = new HashMap<String, String>();
+    for (var file : files) {
+      probeFingerprintByFile.put(file.file().getProjectRelativePath().toString(), BuildWrapperJsonFactory.probeFingerprint(file));
+    }
+    try {
+      var cacheDir = analysisCache.prepare(StoragePathManager.getCFamilyCacheDir(context.getProject()), probeFingerprintByFile);
+      context.setAnalysisProperty(CFAMILY_USE_CACHE, Boolean.TRUE.toString());
+      context.setAnalysisProperty(CFAMILY_CACHE_PATH, cacheDir.toString());
+    } catch (IOException e) {
+      logger.debug("Unable to prepare the CFamily analysis cache, analyzing without it: " + e.getMessage());
+      context.setAnalysisProperty(CFAMILY_USE_CACHE, Boolean.FALSE.toString());
+    }
+  }
+
+  /**
+   *  The JSON file is written once per distinct input (files and their configuration) to the working directory of the
+   *  project, then linked into the analysis folder: analyzing the same files again with unchanged settings doesn't
+   *  generate it again.
+   */
   private Path writeJson(IPreAnalysisContext context, ISonarLintProject project, Collection<ConfiguredFile> files) throws IOException {
-    var json = jsonFactory.create(files, getBaseDir(context, project));
-    return createJsonFile(context.getAnalysisTemporaryFolder(), json);
+    var baseDir = getBaseDir(project);
+    var cacheDir = project.getWorkingDir().resolve(BUILD_WRAPPER_CACHE_DIR);
+    var cachedJson = cacheDir.resolve(BuildWrapperJsonFactory.fingerprint(files, baseDir) + ".json");
+    if (Files.isRegularFile(cachedJson)) {
+      logger.debug("Build info unchanged, re-using " + cachedJson);
+      Files.setLastModifiedTime(cachedJson, FileTime.fromMillis(System.currentTimeMillis()));
+    } else {
+      Files.createDirectories(cacheDir);
+      var tempFile = Files.createTempFile(cacheDir, "build-wrapper-dump", ".tmp");
+      try {
+        try (var writer = Files.newBufferedWriter(tempFile, BUILD_WRAPPER_OUTPUT_CHARSET)) {
+          jsonFactory.write(files, baseDir, writer);
+        }
+        Files.move(tempFile, cachedJson, StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+      deleteLeastRecentlyUsed(cacheDir);
+    }
+    return linkJsonFile(context.getAnalysisTemporaryFolder(), cachedJson);
+  }
+
+  /** Keep only the most recently used files, e.g. the ones of the file being edited and the whole project */
+  private void deleteLeastRecentlyUsed(Path cacheDir) {
+    try (var cachedFiles = Files.list(cacheDir)) {
+      var jsonFiles = cachedFiles
+        .filter(f -> f.getFileName().toString().endsWith(".json"))
+        .sorted(Comparator.comparing(CdtUtils::lastModified).reversed())
+        .collect(Collectors.toList());
+      for (var staleFile : jsonFiles.subList(Math.min(MAX_CACHED_BUILD_WRAPPER_OUTPUTS, jsonFiles.size()), jsonFiles.size())) {
+        Files.deleteIfExists(staleFile);
+      }
+    } catch (IOException e) {
+      logger.debug("Unable to clean up the build info cache: " + e.getMessage());
+    }
+  }
+
+  private static FileTime lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
   }
 
-  private static String getBaseDir(IPreAnalysisContext context, ISonarLintProject project) {
+  private static String getBaseDir(ISonarLintProject project) {
     var projectLocation = project.getResource().getLocation();
     if (projectLocation != null) {
       return projectLocation.toFile().toString();
     }
     // In some unfrequent cases the project may be virtual and don't have physical location
-    // so fallback to use analysis work dir (where physical file copy should be created anyway)
-    return context.getAnalysisTemporaryFolder().toString();
+    // so fallback to the input mirror of the project, where the physical file copies are created
+    return StoragePathManager.getInputMirrorDir(project).toString();
   }
 
   @Nullable
@@ -145,10 +229,16 @@ public class CdtUtils {
     }
   }
 
-  private static Path createJsonFile(Path workDir, String content) throws IOException {
+  /** The cached file is never modified, so a hard link is enough. Not all file systems support them though */
+  private static Path linkJsonFile(Path workDir, Path cachedJson) throws IOException {
     var jsonFilePath = workDir.resolve(BUILD_WRAPPER_OUTPUT_FILENAME);
     Files.createDirectories(workDir);
-    Files.write(jsonFilePath, content.getBytes(BUILD_WRAPPER_OUTPUT_CHARSET));
+    Files.deleteIfExists(jsonFilePath);
+    try {
+      Files.createLink(jsonFilePath, cachedJson);
+    } catch (IOException | UnsupportedOperationException e) {
+      Files.copy(cachedJson, jsonFilePath);
+    }
     return jsonFilePath;
   }
 
@@ -0,0 +1,97 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.cdt.internal;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.cdt.core.language.settings.providers.LanguageSettingsManager;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.parser.IScannerInfoProvider;
+import org.eclipse.cdt.core.settings.model.CProjectDescriptionEvent;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+
+/**
+ *  Scanner information (include paths and macros) of the files, per project. Getting it from CDT is costly and it was
+ *  asked for every file of every analysis, while it only changes with the project settings: the entries of a project
+ *  are dropped when its description or the entries of its language settings providers change, or when it is closed.
+ */
+class ScannerInfoCache {
+  private final Map<String, Map<IResource, ScannerInfo>> infoByProject = new ConcurrentHashMap<>();
+
+  /** Only done for the actual CDT, not when running with mocks */
+  void installListeners() {
+    CoreModel.getDefault().addCProjectDescriptionListener(event -> {
+      var project = event.getProject();
+      if (project != null) {
+        invalidate(project.getName());
+      }
+    }, CProjectDescriptionEvent.APPLIED);
+    LanguageSettingsManager.registerLanguageSettingsChangeListener(event -> invalidate(event.getProjectName()));
+    ResourcesPlugin.getWorkspace().addResourceChangeListener(event -> {
+      var resource = event.getResource();
+      if (resource != null) {
+        invalidate(resource.getName());
+      }
+    }, IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+  }
+
+  ScannerInfo get(IScannerInfoProvider infoProvider, IProject project, IResource resource) {
+    // When the project is invalidated while loading, the result goes to the dropped map and is not used next time
+    var projectInfos = infoByProject.computeIfAbsent(project.getName(), k -> new ConcurrentHashMap<>());
+    var info = projectInfos.get(resource);
+    if (info == null) {
+      var fileInfo = infoProvider.getScannerInformation(resource);
+      info = new ScannerInfo(fileInfo != null ? fileInfo.getIncludePaths() : null, fileInfo != null ? fileInfo.getDefinedSymbols() : null);
+      projectInfos.put(resource, info);
+    }
+    return info;
+  }
+
+  void invalidate(@Nullable String projectName) {
+    if (projectName != null && infoByProject.remove(projectName) != null) {
+      SonarLintLogger.get().debug("Scanner information of project '" + projectName + "' changed");
+    }
+  }
+
+  static class ScannerInfo {
+    private final String[] includes;
+    private final Map<String, String> symbols;
+
+    private ScannerInfo(@Nullable String[] includes, @Nullable Map<String, String> symbols) {
+      this.includes = includes != null ? includes.clone() : new String[0];
+      this.symbols = symbols != null ? Collections.unmodifiableMap(new LinkedHashMap<>(symbols)) : Collections.emptyMap();
+    }
+
+    String[] includes() {
+      return includes;
+    }
+
+    Map<String, String> symbols() {
+      return symbols;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import org.openjdk.jmh.results.RunResult;
+
+/**
+ * Primary scores of a benchmark run, stored as a properties file that can be used as baseline of a later run. All the
+ * benchmarks measure an average time, so a lower score is better.
+ */
+public class BenchmarkScores {
+
+  private final Map<String, Double> scoresByKey;
+
+  private BenchmarkScores(Map<String, Double> scoresByKey) {
+    this.scoresByKey = scoresByKey;
+  }
+
+  public static BenchmarkScores of(Collection<RunResult> results) {
+    var scores = new TreeMap<String, Double>();
+    for (var result : results) {
+      var params = result.getParams();
+      var key = new StringBuilder(params.getBenchmark());
+      var paramKeys = params.getParamsKeys();
+      if (!paramKeys.isEmpty()) {
+        key.append('[');
+        var first = true;
+        for (var paramKey : paramKeys) {
+          if (!first) {
+            key.append(',');
+          }
+          key.append(paramKey).append('=').append(params.getParam(paramKey));
+          first = false;
+        }
+        key.append(']');
+      }
+      scores.put(key.toString(), result.getPrimaryResult().getScore());
+    }
+    return new BenchmarkScores(scores);
+  }
+
+  public static BenchmarkScores load(Path file) throws IOException {
+    var properties = new Properties();
+    try (var reader = Files.newBufferedReader(file)) {
+      properties.load(reader);
+    }
+    var scores = new TreeMap<String, Double>();
+    for (var key : properties.stringPropertyNames()) {
+      scores.put(key, Double.valueOf(properties.getProperty(key)));
+    }
+    return new BenchmarkScores(scores);
+  }
+
+  public void store(Path file) throws IOException {
+    var properties = new Properties();
+    scoresByKey.forEach((key, score) -> properties.setProperty(key, Double.toString(score)));
+    try (var writer = Files.newBufferedWriter(file)) {
+      properties.store(writer, "Benchmark scores, to be used as baseline with -Dsonarlint.benchmarks.baseline");
+    }
+  }
+
+  /**
+   * Compare with the scores of a baseline run, benchmarks missing from one of the runs are ignored.
+   *
+   * @param report receives one line per benchmark present in both runs
+   * @return the benchmarks slower than the baseline by more than the given tolerance (in percent)
+   */
+  public List<String> compareTo(BenchmarkScores baseline, double tolerance, List<String> report) {
+    var regressions = new ArrayList<String>();
+    for (var entry : scoresByKey.entrySet()) {
+      var baselineScore = baseline.scoresByKey.get(entry.getKey());
+      if (baselineScore == null || baselineScore == 0) {
+        continue;
+      }
+      var delta = (entry.getValue() - baselineScore) * 100 / baselineScore;
+      var line = String.format(Locale.US, "%s: %.3f -> %.3f (%+.1f%%)", entry.getKey(), baselineScore, entry.getValue(), delta);
+      report.add(line);
+      if (delta > tolerance) {
+        regressions.add(line);
+      }
+    }
+    return regressions;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import org.junit.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.junit.Assert.fail;
+
+/**
+ * Entry point of the benchmarks, run as a test so that they have access to the OSGi runtime and the workspace. Results
+ * are written in the output directory as JMH JSON (jmh-result.json) and as scores to be used as baseline of a later run
+ * (jmh-scores.properties). When a baseline is given, the run fails if a benchmark is slower than the tolerance allows.
+ */
+public class BenchmarksRunner {
+
+  private static final String OUTPUT_PROPERTY = "sonarlint.benchmarks.output";
+  private static final String INCLUDE_PROPERTY = "sonarlint.benchmarks.include";
+  private static final String BASELINE_PROPERTY = "sonarlint.benchmarks.baseline";
+  private static final String TOLERANCE_PROPERTY = "sonarlint.benchmarks.tolerance";
+
+  @Test
+  public void run_benchmarks() throws Exception {
+    var outputDirectory = Paths.get(System.getProperty(OUTPUT_PROPERTY, "target/benchmarks"));
+    Files.createDirectories(outputDirectory);
+
+    var options = new OptionsBuilder()
+      .include(System.getProperty(INCLUDE_PROPERTY, ".*"))
+      // Benchmarks can only run inside the OSGi runtime started by the test harness
+      .forks(0)
+      .warmupIterations(3)
+      .warmupTime(TimeValue.seconds(1))
+      .measurementIterations(5)
+      .measurementTime(TimeValue.seconds(1))
+      .resultFormat(ResultFormatType.JSON)
+      .result(outputDirectory.resolve("jmh-result.json").toString())
+      .build();
+    var scores = BenchmarkScores.of(new Runner(options).run());
+    scores.store(outputDirectory.resolve("jmh-scores.properties"));
+
+    var baseline = System.getProperty(BASELINE_PROPERTY);
+    if (baseline == null || baseline.isBlank()) {
+      return;
+    }
+    var tolerance = Double.parseDouble(System.getProperty(TOLERANCE_PROPERTY, "10"));
+    var report = new ArrayList<String>();
+    var regressions = scores.compareTo(BenchmarkScores.load(Paths.get(baseline)), tolerance, report);
+    Files.write(outputDirectory.resolve("jmh-comparison.txt"), report);
+    report.forEach(System.out::println);
+    if (!regressions.isEmpty()) {
+      fail("Benchmarks slower than the baseline by more than " + tolerance + "%:\n" + String.join("\n", regressions));
+    }
+  }
+}
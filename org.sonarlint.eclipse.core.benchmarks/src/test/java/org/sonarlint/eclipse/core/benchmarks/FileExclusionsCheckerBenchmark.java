@@ -0,0 +1,97 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+import org.sonarlint.eclipse.core.internal.resources.ExclusionItem;
+import org.sonarlint.eclipse.core.internal.resources.ExclusionItem.Type;
+import org.sonarlint.eclipse.core.internal.utils.FileExclusionsChecker;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileExclusionsCheckerBenchmark {
+
+  @Param({"1", "10", "50"})
+  public int exclusions;
+
+  private IProject project;
+  private List<ISonarLintFile> files;
+  private FileExclusionsChecker checker;
+  private final NullProgressMonitor monitor = new NullProgressMonitor();
+
+  @Setup
+  public void setup() throws CoreException {
+    project = SyntheticWorkspace.createProject("exclusions", 20, 50, 10);
+    var slProject = new DefaultSonarLintProjectAdapter(project);
+    var config = SonarLintCorePlugin.loadConfig(slProject);
+    var items = new ArrayList<ExclusionItem>();
+    for (var i = 0; i < exclusions; i++) {
+      switch (i % 3) {
+        case 0:
+          items.add(new ExclusionItem(Type.GLOB, "**/pkg" + i + "/*Test.java"));
+          break;
+        case 1:
+          items.add(new ExclusionItem(Type.DIRECTORY, "src/main/java/org/example/pkg" + i));
+          break;
+        default:
+          items.add(new ExclusionItem(Type.FILE, "src/main/java/org/example/pkg" + i + "/Class" + i + ".java"));
+      }
+    }
+    config.getFileExclusions().clear();
+    config.getFileExclusions().addAll(items);
+    SonarLintCorePlugin.saveConfig(slProject, config);
+    files = new ArrayList<>(slProject.files());
+    checker = new FileExclusionsChecker(slProject);
+  }
+
+  @TearDown
+  public void tearDown() throws CoreException {
+    SyntheticWorkspace.deleteProject(project);
+  }
+
+  @Benchmark
+  public int isExcluded() {
+    var excluded = 0;
+    for (var file : files) {
+      if (checker.isExcluded(file, false, monitor)) {
+        excluded++;
+      }
+    }
+    return excluded;
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sonarlint.eclipse.core.internal.jobs.SonarLintMarkerUpdater;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintFileAdapter;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.issue.RaisedIssueDto;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MarkerUpdaterBenchmark {
+
+  private static final int LINES = 1000;
+
+  @Param({"10", "100", "1000"})
+  public int issueCount;
+
+  private IProject project;
+  private ISonarLintFile file;
+  private List<RaisedIssueDto> issues;
+  private List<RaisedIssueDto> otherIssues;
+
+  @Setup
+  public void setup() throws CoreException {
+    project = SyntheticWorkspace.createProject("markers", 1, 1, LINES);
+    var slProject = new DefaultSonarLintProjectAdapter(project);
+    file = new DefaultSonarLintFileAdapter(slProject, project.getFile("src/main/java/org/example/pkg0/Class0.java"));
+    issues = SyntheticIssues.generate(issueCount, LINES, 1);
+    otherIssues = SyntheticIssues.generate(issueCount, LINES, 2);
+  }
+
+  @TearDown
+  public void tearDown() throws CoreException {
+    SyntheticWorkspace.deleteProject(project);
+  }
+
+  /**
+   * Markers of a previous analysis are all replaced by the ones of new issues.
+   */
+  @State(Scope.Benchmark)
+  public static class WithPreviousMarkers {
+    @Setup(Level.Invocation)
+    public void createMarkers(MarkerUpdaterBenchmark benchmark) {
+      SonarLintMarkerUpdater.createOrUpdateMarkers(benchmark.file, benchmark.otherIssues, true, false, false, false);
+    }
+  }
+
+  /**
+   * Markers of a previous analysis of the same issues, so they are updated in place.
+   */
+  @State(Scope.Benchmark)
+  public static class WithSameMarkers {
+    @Setup(Level.Trial)
+    public void createMarkers(MarkerUpdaterBenchmark benchmark) {
+      SonarLintMarkerUpdater.createOrUpdateMarkers(benchmark.file, benchmark.issues, true, false, false, false);
+    }
+  }
+
+  @Benchmark
+  public void createOrUpdateMarkersReplacingAll(WithPreviousMarkers previous) {
+    SonarLintMarkerUpdater.createOrUpdateMarkers(file, issues, true, false, false, false);
+  }
+
+  @Benchmark
+  public void createOrUpdateMarkersUnchanged(WithSameMarkers same) {
+    SonarLintMarkerUpdater.createOrUpdateMarkers(file, issues, true, false, false, false);
+  }
+}
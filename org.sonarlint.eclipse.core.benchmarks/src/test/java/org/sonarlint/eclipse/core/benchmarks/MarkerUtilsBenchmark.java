@@ -0,0 +1,70 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonarlint.eclipse.core.internal.markers.MarkerUtils;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.rules.ImpactDto;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MarkerUtilsBenchmark {
+
+  private static final int SAMPLES = 64;
+
+  private final List<List<ImpactDto>> impacts = new ArrayList<>(SAMPLES);
+  private final List<String> encodedImpacts = new ArrayList<>(SAMPLES);
+
+  @Setup
+  public void setup() {
+    var random = new Random(SAMPLES);
+    for (var i = 0; i < SAMPLES; i++) {
+      var sample = SyntheticIssues.impacts(random);
+      impacts.add(sample);
+      encodedImpacts.add(MarkerUtils.encodeImpacts(sample));
+    }
+  }
+
+  @Benchmark
+  public void encodeImpacts(Blackhole blackhole) {
+    for (var sample : impacts) {
+      blackhole.consume(MarkerUtils.encodeImpacts(sample));
+    }
+  }
+
+  @Benchmark
+  public void decodeImpacts(Blackhole blackhole) {
+    for (var encoded : encodedImpacts) {
+      blackhole.consume(MarkerUtils.decodeImpacts(encoded));
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectFilesBenchmark {
+
+  /**
+   * Number of source folders, each containing 100 files (and 10 test files)
+   */
+  @Param({"10", "100"})
+  public int folders;
+
+  private IProject project;
+  private DefaultSonarLintProjectAdapter slProject;
+
+  @Setup
+  public void setup() throws CoreException {
+    project = SyntheticWorkspace.createProject("files", folders, 100, 1);
+    slProject = new DefaultSonarLintProjectAdapter(project);
+  }
+
+  @TearDown
+  public void tearDown() throws CoreException {
+    SyntheticWorkspace.deleteProject(project);
+  }
+
+  @Benchmark
+  public int files() {
+    return slProject.files().size();
+  }
+}
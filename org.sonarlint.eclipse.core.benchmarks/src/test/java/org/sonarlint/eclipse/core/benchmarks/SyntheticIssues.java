@@ -0,0 +1,91 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.rules.ImpactDto;
+import org.sonarsource.sonarlint.core.rpc.protocol.client.issue.RaisedIssueDto;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.CleanCodeAttribute;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.ImpactSeverity;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.IssueSeverity;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.RuleType;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.SoftwareQuality;
+import org.sonarsource.sonarlint.core.rpc.protocol.common.TextRangeDto;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Generates raised issues, the same way the backend would report them after an analysis. The generation is
+ * deterministic for a given seed, so that runs can be compared.
+ */
+public final class SyntheticIssues {
+
+  private static final IssueSeverity[] SEVERITIES = IssueSeverity.values();
+  private static final RuleType[] TYPES = {RuleType.CODE_SMELL, RuleType.BUG, RuleType.VULNERABILITY};
+  private static final SoftwareQuality[] QUALITIES = SoftwareQuality.values();
+  private static final ImpactSeverity[] IMPACT_SEVERITIES = ImpactSeverity.values();
+
+  private SyntheticIssues() {
+    // utility class
+  }
+
+  /**
+   * Issues spread over the first <code>lines</code> lines of a file. The DTOs are stub-only mocks, as their
+   * constructor changes between versions of the backend, but they are created once outside of the measurements.
+   */
+  public static List<RaisedIssueDto> generate(int count, int lines, long seed) {
+    var random = new Random(seed);
+    var issues = new ArrayList<RaisedIssueDto>(count);
+    for (var i = 0; i < count; i++) {
+      var issue = mock(RaisedIssueDto.class, withSettings().stubOnly());
+      var line = 3 + random.nextInt(Math.max(1, lines - 3));
+      when(issue.getId()).thenReturn(new UUID(seed, i));
+      when(issue.getRuleKey()).thenReturn("java:S" + (100 + random.nextInt(5000)));
+      when(issue.getPrimaryMessage()).thenReturn("Synthetic issue number " + i);
+      when(issue.getSeverity()).thenReturn(SEVERITIES[random.nextInt(SEVERITIES.length)]);
+      when(issue.getType()).thenReturn(TYPES[random.nextInt(TYPES.length)]);
+      when(issue.getCleanCodeAttribute()).thenReturn(CleanCodeAttribute.CONVENTIONAL);
+      when(issue.getImpacts()).thenReturn(impacts(random));
+      when(issue.getTextRange()).thenReturn(new TextRangeDto(line, 0, line, 1 + random.nextInt(20)));
+      when(issue.getIntroductionDate()).thenReturn(Instant.ofEpochMilli(seed + i));
+      when(issue.isOnNewCode()).thenReturn(random.nextBoolean());
+      issues.add(issue);
+    }
+    return issues;
+  }
+
+  /**
+   * Between one and all the software qualities, each with a random severity.
+   */
+  public static List<ImpactDto> impacts(Random random) {
+    var count = 1 + random.nextInt(QUALITIES.length);
+    var impacts = new ArrayList<ImpactDto>(count);
+    for (var i = 0; i < count; i++) {
+      impacts.add(new ImpactDto(QUALITIES[i], IMPACT_SEVERITIES[random.nextInt(IMPACT_SEVERITIES.length)]));
+    }
+    return impacts;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Generates workspace projects of a given shape, filled with Java-like sources, so benchmarks do not depend on the
+ * content of the test projects.
+ */
+public final class SyntheticWorkspace {
+
+  private SyntheticWorkspace() {
+    // utility class
+  }
+
+  /**
+   * Create (or re-create) a project with <code>folders</code> source folders of <code>filesPerFolder</code> files each,
+   * plus a test folder with one file in ten. All the resources are created in one workspace operation.
+   */
+  public static IProject createProject(String name, int folders, int filesPerFolder, int linesPerFile) throws CoreException {
+    var workspace = ResourcesPlugin.getWorkspace();
+    var project = workspace.getRoot().getProject(name);
+    var monitor = new NullProgressMonitor();
+    workspace.run(m -> {
+      if (project.exists()) {
+        project.delete(true, true, m);
+      }
+      project.create(m);
+      project.open(m);
+      var random = new Random(name.hashCode());
+      for (var i = 0; i < folders; i++) {
+        var mainFolder = createFolders(project, "src/main/java/org/example/pkg" + i);
+        var testFolder = createFolders(project, "src/test/java/org/example/pkg" + i);
+        for (var j = 0; j < filesPerFolder; j++) {
+          var className = "Class" + j;
+          mainFolder.getFile(className + ".java").create(content(javaSource(i, className, linesPerFile, random)), true, m);
+          if (j % 10 == 0) {
+            testFolder.getFile(className + "Test.java").create(content(javaSource(i, className + "Test", linesPerFile, random)), true, m);
+          }
+        }
+      }
+    }, monitor);
+    return project;
+  }
+
+  public static void deleteProject(IProject project) throws CoreException {
+    project.delete(true, true, new NullProgressMonitor());
+  }
+
+  /**
+   * Java-like source code of approximately <code>lines</code> lines, with a mix of indentation and blank lines.
+   */
+  public static String javaSource(int packageIndex, String className, int lines, Random random) {
+    var source = new StringBuilder();
+    source.append("package org.example.pkg").append(packageIndex).append(";\n\n");
+    source.append("public class ").append(className).append(" {\n");
+    for (var i = 0; i < lines; i++) {
+      switch (random.nextInt(4)) {
+        case 0:
+          source.append('\n');
+          break;
+        case 1:
+          source.append("  private int field").append(i).append(" = ").append(random.nextInt(1000)).append(";\n");
+          break;
+        case 2:
+          source.append("\t// Comment with some text, number ").append(i).append('\n');
+          break;
+        default:
+          source.append("  public void method").append(i).append("() { System.out.println(\"").append(i).append("\"); }\n");
+      }
+    }
+    source.append("}\n");
+    return source.toString();
+  }
+
+  private static IFolder createFolders(IProject project, String path) throws CoreException {
+    IFolder folder = null;
+    var current = new StringBuilder();
+    for (var segment : path.split("/")) {
+      if (current.length() > 0) {
+        current.append('/');
+      }
+      current.append(segment);
+      folder = project.getFolder(current.toString());
+      if (!folder.exists()) {
+        folder.create(true, true, null);
+      }
+    }
+    return folder;
+  }
+
+  private static ByteArrayInputStream content(String source) {
+    return new ByteArrayInputStream(source.getBytes(UTF_8));
+  }
+}
@@ -26,6 +26,8 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.eclipse.core.resources.IFile;
 import org.junit.Before;
 import org.junit.Test;
@@ -70,6 +72,49 @@ public class BuildWrapperJsonFactoryTest {
 
   }
 
+  @Test
+  public void should_fingerprint_inputs() {
+    var file1 = configuredFile("path/to/file1", new String[] {"/include1"}, Map.of("MACRO1", "V1"));
+    var file2 = configuredFile("path/to/file2", new String[] {"/include1"}, Map.of("MACRO1", "V1"));
+    var file2OtherProbe = configuredFile("path/to/file2", new String[] {"/include1", "/include2"}, Map.of("MACRO1", "V1"));
+
+    var fingerprint = BuildWrapperJsonFactory.fingerprint(List.of(file1, file2), "/baseDir");
+
+    // Not depending on the instances
+    assertThat(BuildWrapperJsonFactory.fingerprint(List.of(file1, configuredFile("path/to/file2", new String[] {"/include1"}, Map.of("MACRO1", "V1"))), "/baseDir"))
+      .isEqualTo(fingerprint);
+    assertThat(BuildWrapperJsonFactory.fingerprint(List.of(file1, file2OtherProbe), "/baseDir")).isNotEqualTo(fingerprint);
+    assertThat(BuildWrapperJsonFactory.fingerprint(List.of(file1, file2), "/otherBaseDir")).isNotEqualTo(fingerprint);
+    assertThat(BuildWrapperJsonFactory.fingerprint(List.of(file1), "/baseDir")).isNotEqualTo(fingerprint);
+    // An include path cannot be confused with a macro
+    assertThat(BuildWrapperJsonFactory.fingerprint(List.of(configuredFile("path/to/file1", new String[] {"A", "B"}, Map.of())), "/baseDir"))
+      .isNotEqualTo(BuildWrapperJsonFactory.fingerprint(List.of(configuredFile("path/to/file1", new String[] {"A"}, Map.of("B", ""))), "/baseDir"));
+  }
+
+  @Test
+  public void should_render_shared_probes_for_each_file() {
+    var file1 = configuredFile("path/to/file1", new String[] {"/include1"}, Map.of("MACRO1", "V1"));
+    var file2 = configuredFile("path/to/file2", new String[] {"/include1"}, Map.of("MACRO1", "V1"));
+    var file3 = configuredFile("path/to/file3", new String[] {"/include2"}, Map.of("MACRO1", "V1"));
+
+    var json = writer.create(List.of(file1, file2, file3), "/baseDir");
+
+    // Two compiler probes per file, the first two files sharing the same one
+    assertThat(json.split("#define MACRO1 V1", -1)).hasSize(7);
+    assertThat(json.split(" /include1\\\\n", -1)).hasSize(5);
+    assertThat(json.split(" /include2\\\\n", -1)).hasSize(3);
+    assertThat(BuildWrapperJsonFactory.probeFingerprint(file1)).isEqualTo(BuildWrapperJsonFactory.probeFingerprint(file2))
+      .isNotEqualTo(BuildWrapperJsonFactory.probeFingerprint(file3));
+  }
+
+  private static ConfiguredFile configuredFile(String path, String[] includes, Map<String, String> symbols) {
+    return new ConfiguredFile.Builder(mock(IFile.class))
+      .includes(includes)
+      .symbols(symbols)
+      .path(path)
+      .build();
+  }
+
   private String loadExpected() throws IOException, URISyntaxException {
     var str = new String(Files.readAllBytes(Paths.get("src", "test", "resources", "expected.json")), StandardCharsets.UTF_8);
     return str.replace("\n", "").replace("\r", "");
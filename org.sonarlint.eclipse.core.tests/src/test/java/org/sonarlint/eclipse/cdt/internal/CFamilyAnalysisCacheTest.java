@@ -0,0 +1,133 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.cdt.internal;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CFamilyAnalysisCacheTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void should_keep_cache_while_probes_unchanged() throws Exception {
+    var cacheDir = temp.newFolder().toPath();
+    var underTest = new CFamilyAnalysisCache(1024, Runnable::run);
+
+    var dataDir = underTest.prepare(cacheDir, Map.of("file1.c", "probe1"));
+    Files.writeString(dataDir.resolve("entry"), "cached");
+    underTest.release(dataDir);
+
+    // Other files or same probe
+    assertThat(underTest.prepare(cacheDir, Map.of("file1.c", "probe1", "file2.c", "probe2"))).isEqualTo(dataDir);
+    assertThat(dataDir.resolve("entry")).hasContent("cached");
+
+    // Re-loaded from disk
+    assertThat(new CFamilyAnalysisCache(1024, Runnable::run).prepare(cacheDir, Map.of("file2.c", "probe2"))).isEqualTo(dataDir);
+    assertThat(dataDir.resolve("entry")).hasContent("cached");
+  }
+
+  @Test
+  public void should_clear_cache_when_probe_changed() throws Exception {
+    var cacheDir = temp.newFolder().toPath();
+    var underTest = new CFamilyAnalysisCache(1024, Runnable::run);
+
+    var dataDir = underTest.prepare(cacheDir, Map.of("file1.c", "probe1"));
+    Files.writeString(dataDir.resolve("entry"), "cached");
+
+    var newDataDir = new CFamilyAnalysisCache(1024, Runnable::run).prepare(cacheDir, Map.of("file1.c", "probe1-with-new-macro"));
+    assertThat(newDataDir).isNotEqualTo(dataDir).isEmptyDirectory();
+    assertThat(dataDir).doesNotExist();
+  }
+
+  @Test
+  public void should_keep_cleared_cache_until_released() throws Exception {
+    var cacheDir = temp.newFolder().toPath();
+    var underTest = new CFamilyAnalysisCache(1024, Runnable::run);
+
+    var dataDir = underTest.prepare(cacheDir, Map.of("file1.c", "probe1"));
+    Files.writeString(dataDir.resolve("entry"), "cached");
+
+    // The first analysis is still running
+    var newDataDir = underTest.prepare(cacheDir, Map.of("file1.c", "probe1-with-new-macro"));
+    assertThat(newDataDir).isNotEqualTo(dataDir).isEmptyDirectory();
+    assertThat(dataDir.resolve("entry")).hasContent("cached");
+
+    underTest.release(dataDir);
+    assertThat(dataDir).doesNotExist();
+    underTest.release(newDataDir);
+    assertThat(newDataDir).isDirectory();
+  }
+
+  @Test
+  public void should_clear_cache_when_too_large() throws Exception {
+    var cacheDir = temp.newFolder().toPath();
+    var underTest = new CFamilyAnalysisCache(1000, Runnable::run);
+    var dataDir = underTest.prepare(cacheDir, Map.of());
+    for (var i = 0; i < 3; i++) {
+      Files.write(dataDir.resolve("entry" + i), new byte[300]);
+    }
+
+    underTest.clearIfTooLarge(cacheDir, dataDir);
+    assertThat(underTest.prepare(cacheDir, Map.of())).isEqualTo(dataDir);
+    assertThat(dataDir.resolve("entry0")).exists();
+
+    Files.write(dataDir.resolve("entry3"), new byte[300]);
+    underTest.clearIfTooLarge(cacheDir, dataDir);
+    var newDataDir = underTest.prepare(cacheDir, Map.of());
+    assertThat(newDataDir).isNotEqualTo(dataDir).isEmptyDirectory();
+
+    underTest.release(dataDir);
+    assertThat(dataDir).exists();
+    underTest.release(dataDir);
+    assertThat(dataDir).doesNotExist();
+  }
+
+  @Test
+  public void should_check_size_in_background_from_time_to_time() throws Exception {
+    var cacheDir = temp.newFolder().toPath();
+    var scheduledChecks = new ArrayList<Runnable>();
+    var underTest = new CFamilyAnalysisCache(1000, scheduledChecks::add);
+
+    underTest.prepare(cacheDir, Map.of());
+    underTest.prepare(cacheDir, Map.of());
+
+    assertThat(scheduledChecks).hasSize(1);
+  }
+
+  @Test
+  public void should_delete_cache() throws Exception {
+    var cacheDir = temp.newFolder().toPath();
+    var underTest = new CFamilyAnalysisCache(1024, Runnable::run);
+    underTest.prepare(cacheDir, Map.of("file1.c", "probe1"));
+
+    underTest.delete(cacheDir);
+
+    assertThat(cacheDir).doesNotExist();
+  }
+
+}
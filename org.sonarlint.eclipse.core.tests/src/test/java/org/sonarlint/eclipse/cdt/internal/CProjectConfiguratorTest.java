@@ -19,8 +19,10 @@
  */
 package org.sonarlint.eclipse.cdt.internal;
 
+import java.io.Writer;
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.Map;
 import java.util.function.Predicate;
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.parser.IScannerInfo;
@@ -36,15 +38,20 @@ import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentMatchers;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.analysis.IPreAnalysisContext;
+import org.sonarlint.eclipse.core.internal.jobs.DefaultPreAnalysisContext;
 import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -71,6 +78,7 @@ public class CProjectConfiguratorTest {
   @Test
   public void should_configure() throws Exception {
     var projectBaseDir = temp.newFolder().toPath();
+    var workingDir = temp.newFolder().toPath();
     var project = mock(IProject.class);
     var file = mock(IFile.class);
     when(file.getProject()).thenReturn(project);
@@ -80,9 +88,13 @@ public class CProjectConfiguratorTest {
 
     when(cCorePlugin.getScannerInfoProvider(project)).thenReturn(infoProvider);
     when(project.getLocation()).thenReturn(Path.fromOSString(projectBaseDir.toString()));
+    when(project.getWorkingLocation(anyString())).thenReturn(Path.fromOSString(workingDir.toString()));
     when(infoProvider.getScannerInformation(file)).thenReturn(info);
     when(fileValidator.test(file)).thenReturn(true);
-    when(jsonFactory.create(anyCollection(), anyString())).thenReturn("json");
+    doAnswer(invocation -> {
+      invocation.getArgument(2, Writer.class).write("json");
+      return null;
+    }).when(jsonFactory).write(anyCollection(), anyString(), any(Writer.class));
 
     var context = mock(IPreAnalysisContext.class);
     var slProject = new DefaultSonarLintProjectAdapter(project);
@@ -95,18 +107,109 @@ public class CProjectConfiguratorTest {
     configurator.configure(context, monitor);
 
     // json created
-    verify(jsonFactory).create(anyCollection(), eq(projectBaseDir.toAbsolutePath().toString()));
+    verify(jsonFactory).write(anyCollection(), eq(projectBaseDir.toAbsolutePath().toString()), any(Writer.class));
 
     // json written
     assertThat(temp.getRoot().toPath().resolve("build-wrapper-dump.json")).hasContent("json");
 
     // property created
     verify(context).setAnalysisProperty("sonar.cfamily.build-wrapper-output", temp.getRoot().toPath().toString());
-    verify(context).setAnalysisProperty("sonar.cfamily.useCache", "false");
+    verify(context).setAnalysisProperty("sonar.cfamily.useCache", "true");
+    verify(context).setAnalysisProperty("sonar.cfamily.cache.path", workingDir.resolve("cfamily-cache").resolve("data-0").toString());
+    assertThat(workingDir.resolve("cfamily-cache").resolve("data-0")).isDirectory();
 
     // no errors
     verify(logger, never()).error(ArgumentMatchers.any(), ArgumentMatchers.any());
     verify(logger, never()).error(ArgumentMatchers.any());
   }
 
+  @Test
+  public void should_reuse_json_when_inputs_unchanged() throws Exception {
+    var projectBaseDir = temp.newFolder().toPath();
+    var workingDir = temp.newFolder().toPath();
+    var project = mock(IProject.class);
+    var file = mock(IFile.class);
+    when(file.getProject()).thenReturn(project);
+    when(file.getProjectRelativePath()).thenReturn(Path.fromPortableString("file1.c"));
+    var infoProvider = mock(IScannerInfoProvider.class);
+    var info = mock(IScannerInfo.class);
+    when(info.getIncludePaths()).thenReturn(new String[] {"/usr/include"});
+    when(info.getDefinedSymbols()).thenReturn(Map.of("DEBUG", "1"));
+
+    when(cCorePlugin.getScannerInfoProvider(project)).thenReturn(infoProvider);
+    when(project.getLocation()).thenReturn(Path.fromOSString(projectBaseDir.toString()));
+    when(project.getName()).thenReturn("project");
+    when(project.getWorkingLocation(anyString())).thenReturn(Path.fromOSString(workingDir.toString()));
+    when(infoProvider.getScannerInformation(file)).thenReturn(info);
+    when(fileValidator.test(file)).thenReturn(true);
+    doAnswer(invocation -> {
+      invocation.getArgument(2, Writer.class).write("json");
+      return null;
+    }).when(jsonFactory).write(anyCollection(), anyString(), any(Writer.class));
+
+    var slProject = new DefaultSonarLintProjectAdapter(project);
+    var slFile = mock(ISonarLintFile.class);
+    when(slFile.getResource()).thenReturn(file);
+    var analysisFolder1 = temp.newFolder().toPath();
+    var analysisFolder2 = temp.newFolder().toPath();
+
+    configurator.configure(mockContext(slProject, slFile, projectBaseDir.resolve("file1.c"), analysisFolder1), mock(IProgressMonitor.class));
+    configurator.configure(mockContext(slProject, slFile, projectBaseDir.resolve("file1.c"), analysisFolder2), mock(IProgressMonitor.class));
+
+    // scanner information and JSON only computed once
+    verify(infoProvider, times(1)).getScannerInformation(file);
+    verify(jsonFactory, times(1)).write(anyCollection(), anyString(), any(Writer.class));
+    assertThat(analysisFolder1.resolve("build-wrapper-dump.json")).hasContent("json");
+    assertThat(analysisFolder2.resolve("build-wrapper-dump.json")).hasContent("json");
+    verify(logger, never()).error(ArgumentMatchers.any(), ArgumentMatchers.any());
+  }
+
+  @Test
+  public void should_use_input_mirror_as_base_dir_of_project_without_location() throws Exception {
+    var workingDir = temp.newFolder().toPath();
+    var project = mock(IProject.class);
+    var file = mock(IFile.class);
+    when(file.getProject()).thenReturn(project);
+    when(file.getProjectRelativePath()).thenReturn(Path.fromPortableString("file1.c"));
+    var infoProvider = mock(IScannerInfoProvider.class);
+    var info = mock(IScannerInfo.class);
+
+    when(cCorePlugin.getScannerInfoProvider(project)).thenReturn(infoProvider);
+    when(project.getLocation()).thenReturn(null);
+    when(project.getName()).thenReturn("project");
+    when(project.getWorkingLocation(anyString())).thenReturn(Path.fromOSString(workingDir.toString()));
+    when(infoProvider.getScannerInformation(file)).thenReturn(info);
+    when(fileValidator.test(file)).thenReturn(true);
+    doAnswer(invocation -> {
+      invocation.getArgument(2, Writer.class).write("json");
+      return null;
+    }).when(jsonFactory).write(anyCollection(), anyString(), any(Writer.class));
+
+    var slProject = new DefaultSonarLintProjectAdapter(project);
+    var slFile = mock(ISonarLintFile.class);
+    when(slFile.getResource()).thenReturn(file);
+    var inputMirror = workingDir.resolve("input-mirror");
+    var analysisFolder1 = temp.newFolder().toPath();
+    var analysisFolder2 = temp.newFolder().toPath();
+
+    configurator.configure(mockContext(slProject, slFile, inputMirror.resolve("file1.c"), analysisFolder1), mock(IProgressMonitor.class));
+    configurator.configure(mockContext(slProject, slFile, inputMirror.resolve("file1.c"), analysisFolder2), mock(IProgressMonitor.class));
+
+    // the copies of the files are in the input mirror, and the JSON is re-used
+    verify(jsonFactory, times(1)).write(anyCollection(), eq(inputMirror.toString()), any(Writer.class));
+    assertThat(analysisFolder1.resolve("build-wrapper-dump.json")).hasContent("json");
+    assertThat(analysisFolder2.resolve("build-wrapper-dump.json")).hasContent("json");
+    verify(logger, never()).error(ArgumentMatchers.any(), ArgumentMatchers.any());
+  }
+
+  private static IPreAnalysisContext mockContext(ISonarLintProject project, ISonarLintFile file, java.nio.file.Path localPath,
+    java.nio.file.Path analysisFolder) {
+    var context = mock(DefaultPreAnalysisContext.class);
+    when(context.getProject()).thenReturn(project);
+    when(context.getFilesToAnalyze()).thenReturn(Collections.singleton(file));
+    when(context.getLocalPath(file)).thenReturn(localPath.toString());
+    when(context.getAnalysisTemporaryFolder()).thenReturn(analysisFolder);
+    return context;
+  }
+
 }
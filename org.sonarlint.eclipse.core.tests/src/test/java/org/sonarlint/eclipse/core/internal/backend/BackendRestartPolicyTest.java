@@ -0,0 +1,61 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.backend;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BackendRestartPolicyTest {
+
+  @Test
+  public void should_double_the_delay_up_to_the_maximum() {
+    var policy = new BackendRestartPolicy(1_000, 5_000, 10, 60_000);
+
+    assertThat(policy.onCrash(0)).isEqualTo(1_000);
+    assertThat(policy.onCrash(1)).isEqualTo(2_000);
+    assertThat(policy.onCrash(2)).isEqualTo(4_000);
+    assertThat(policy.onCrash(3)).isEqualTo(5_000);
+    assertThat(policy.isCircuitOpen()).isFalse();
+  }
+
+  @Test
+  public void should_forget_crashes_outside_of_the_window() {
+    var policy = new BackendRestartPolicy(1_000, 60_000, 2, 10_000);
+
+    assertThat(policy.onCrash(0)).isEqualTo(1_000);
+    assertThat(policy.onCrash(5_000)).isEqualTo(2_000);
+    assertThat(policy.onCrash(20_000)).isEqualTo(1_000);
+    assertThat(policy.isCircuitOpen()).isFalse();
+  }
+
+  @Test
+  public void should_open_the_circuit_on_crash_loop() {
+    var policy = new BackendRestartPolicy(1_000, 60_000, 2, 10_000);
+
+    policy.onCrash(0);
+    policy.onCrash(1);
+
+    assertThat(policy.onCrash(2)).isEqualTo(BackendRestartPolicy.NO_RESTART);
+    assertThat(policy.isCircuitOpen()).isTrue();
+    // Once open, it stays open
+    assertThat(policy.onCrash(1_000_000)).isEqualTo(BackendRestartPolicy.NO_RESTART);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.backend;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmbeddedPluginCacheTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private Path cacheDir;
+
+  @Before
+  public void prepare() throws IOException {
+    cacheDir = temp.newFolder("cache").toPath();
+  }
+
+  @Test
+  public void should_only_extract_once_per_bundle_version() throws IOException {
+    var pluginUrl = createPlugin("bundle1.jar", "content");
+
+    var firstPath = new EmbeddedPluginCache(cacheDir, "1.0").resolve(List.of(pluginUrl)).get(0);
+    assertThat(firstPath).startsWith(cacheDir).hasFileName("sonar-foo-plugin-1.0.jar");
+    assertThat(Files.readString(firstPath)).isEqualTo("content");
+    var lastModified = FileTime.fromMillis(0);
+    Files.setLastModifiedTime(firstPath, lastModified);
+
+    var secondPath = new EmbeddedPluginCache(cacheDir, "1.0").resolve(List.of(pluginUrl)).get(0);
+    assertThat(secondPath).isEqualTo(firstPath);
+    assertThat(Files.getLastModifiedTime(secondPath)).isEqualTo(lastModified);
+  }
+
+  @Test
+  public void should_delete_entries_of_versions_not_used_anymore() throws IOException {
+    var oldPath = new EmbeddedPluginCache(cacheDir, "1.0").resolve(List.of(createPlugin("bundle1.jar", "old"))).get(0);
+
+    var newPath = new EmbeddedPluginCache(cacheDir, "2.0").resolve(List.of(createPlugin("bundle2.jar", "new"))).get(0);
+
+    assertThat(Files.readString(newPath)).isEqualTo("new");
+    assertThat(oldPath.getParent()).doesNotExist();
+    assertThat(cacheDir.resolve("index-1.0.properties")).doesNotExist();
+    assertThat(cacheDir.resolve("index-2.0.properties")).exists();
+  }
+
+  @Test
+  public void should_keep_entries_unchanged_between_versions() throws IOException {
+    var oldPath = new EmbeddedPluginCache(cacheDir, "1.0").resolve(List.of(createPlugin("bundle1.jar", "same"))).get(0);
+
+    var newPath = new EmbeddedPluginCache(cacheDir, "2.0").resolve(List.of(createPlugin("bundle2.jar", "same"))).get(0);
+
+    assertThat(newPath).isEqualTo(oldPath);
+    assertThat(Files.readString(newPath)).isEqualTo("same");
+    assertThat(cacheDir.resolve("index-1.0.properties")).doesNotExist();
+  }
+
+  @Test
+  public void should_extract_again_corrupted_entries() throws IOException {
+    var pluginUrl = createPlugin("bundle1.jar", "content");
+    var path = new EmbeddedPluginCache(cacheDir, "1.0").resolve(List.of(pluginUrl)).get(0);
+    // Same size, only the content verification can detect it
+    Files.writeString(path, "CONTENT");
+
+    var cache = new EmbeddedPluginCache(cacheDir, "1.0");
+    var evictions = new AtomicInteger();
+    cache.addEvictionListener(evictions::incrementAndGet);
+    assertThat(cache.resolve(List.of(pluginUrl))).containsExactly(path);
+    assertThat(cache.verifyBlobs()).isFalse();
+    assertThat(evictions).hasValue(1);
+    // The running backend got this path, it is only replaced when extracted again
+    assertThat(path).exists();
+
+    var extractedAgain = new EmbeddedPluginCache(cacheDir, "1.0").resolve(List.of(pluginUrl)).get(0);
+    assertThat(extractedAgain).isEqualTo(path);
+    assertThat(Files.readString(extractedAgain)).isEqualTo("content");
+  }
+
+  private URL createPlugin(String bundleName, String content) throws IOException {
+    var bundle = temp.getRoot().toPath().resolve(bundleName);
+    try (var out = new ZipOutputStream(Files.newOutputStream(bundle))) {
+      out.putNextEntry(new ZipEntry("plugins/sonar-foo-plugin-1.0.jar"));
+      out.write(content.getBytes(StandardCharsets.UTF_8));
+      out.closeEntry();
+    }
+    return new URL("jar:" + bundle.toUri() + "!/plugins/sonar-foo-plugin-1.0.jar");
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.backend;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.After;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.internal.TriggerType;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisState;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RunningAnalysesTrackerTest {
+
+  private static final URI FILE_A = URI.create("file:/project/A.java");
+  private static final URI FILE_B = URI.create("file:/project/B.java");
+  private static final URI FILE_C = URI.create("file:/project/C.java");
+
+  private final ISonarLintProject project = project("file:/project");
+  private final List<AnalysisState> tracked = new ArrayList<>();
+  private final RunningAnalysesTracker underTest = RunningAnalysesTracker.get();
+
+  @After
+  public void finishAll() {
+    tracked.forEach(underTest::finish);
+  }
+
+  @Test
+  public void should_cancel_on_the_fly_analyses_on_a_subset_of_the_files() {
+    var running = track(project, TriggerType.EDITOR_CHANGE, FILE_A);
+
+    underTest.cancelSuperseded(project, Set.of(FILE_A, FILE_B), TriggerType.EDITOR_CHANGE);
+
+    assertThat(running.isCanceled()).isTrue();
+  }
+
+  @Test
+  public void should_not_cancel_analyses_of_other_files() {
+    var running = track(project, TriggerType.EDITOR_CHANGE, FILE_A, FILE_C);
+
+    underTest.cancelSuperseded(project, Set.of(FILE_A, FILE_B), TriggerType.EDITOR_CHANGE);
+
+    assertThat(running.isCanceled()).isFalse();
+  }
+
+  @Test
+  public void should_not_cancel_analyses_of_other_projects() {
+    var running = track(project("file:/other"), TriggerType.EDITOR_CHANGE, FILE_A);
+
+    underTest.cancelSuperseded(project, Set.of(FILE_A), TriggerType.EDITOR_CHANGE);
+
+    assertThat(running.isCanceled()).isFalse();
+  }
+
+  @Test
+  public void should_only_cancel_analyses_fetching_server_issues_by_one_fetching_them_too() {
+    var fetching = track(project, TriggerType.EDITOR_OPEN, FILE_A);
+    var notFetching = track(project, TriggerType.EDITOR_CHANGE, FILE_B);
+
+    underTest.cancelSuperseded(project, Set.of(FILE_A, FILE_B), TriggerType.QUICK_FIX);
+
+    assertThat(fetching.isCanceled()).isFalse();
+    assertThat(notFetching.isCanceled()).isTrue();
+
+    underTest.cancelSuperseded(project, Set.of(FILE_A), TriggerType.ANALYSIS_READY);
+
+    assertThat(fetching.isCanceled()).isTrue();
+  }
+
+  @Test
+  public void should_never_cancel_or_be_cancelled_by_manual_analyses() {
+    var manual = track(project, TriggerType.MANUAL, FILE_A);
+    var onTheFly = track(project, TriggerType.EDITOR_CHANGE, FILE_B);
+
+    underTest.cancelSuperseded(project, Set.of(FILE_A, FILE_B), TriggerType.MANUAL);
+
+    assertThat(onTheFly.isCanceled()).isFalse();
+
+    underTest.cancelSuperseded(project, Set.of(FILE_A, FILE_B), TriggerType.EDITOR_OPEN);
+
+    assertThat(manual.isCanceled()).isFalse();
+    assertThat(onTheFly.isCanceled()).isTrue();
+  }
+
+  private NullProgressMonitor track(ISonarLintProject analyzedProject, TriggerType triggerType, URI... fileURIs) {
+    var monitor = new NullProgressMonitor();
+    var analysisState = new AnalysisState(UUID.randomUUID(), ConfigScopeSynchronizer.getConfigScopeId(analyzedProject), List.of(fileURIs),
+      triggerType, monitor);
+    tracked.add(analysisState);
+    underTest.track(analysisState);
+    return monitor;
+  }
+
+  private static ISonarLintProject project(String location) {
+    var resource = mock(IProject.class);
+    when(resource.getLocationURI()).thenReturn(URI.create(location));
+    var project = mock(ISonarLintProject.class);
+    when(project.getResource()).thenReturn(resource);
+    return project;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.backend;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.tracking.TaintVulnerabilityDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TaintVulnerabilitiesIndexTest {
+
+  private final ISonarLintProject project = project("file:/project");
+  private final ISonarLintFile fileA = file(project, "src/A.java");
+  private final ISonarLintFile fileB = file(project, "src/B.java");
+  private final TaintVulnerabilityDto taintA1 = taint("src/A.java");
+  private final TaintVulnerabilityDto taintA2 = taint("src/A.java");
+  private final TaintVulnerabilityDto taintB = taint("src/B.java");
+  private final AtomicInteger fetches = new AtomicInteger();
+
+  @Test
+  public void should_fetch_once_per_project_and_index_by_file() throws Exception {
+    var underTest = new TaintVulnerabilitiesIndex(p -> {
+      fetches.incrementAndGet();
+      return CompletableFuture.completedFuture(List.of(taintA1, taintB, taintA2));
+    });
+
+    assertThat(underTest.getTaintVulnerabilities(fileA, new NullProgressMonitor())).containsExactly(taintA1, taintA2);
+    assertThat(underTest.getTaintVulnerabilities(fileB, new NullProgressMonitor())).containsExactly(taintB);
+    assertThat(underTest.getTaintVulnerabilities(file(project, "src/C.java"), new NullProgressMonitor())).isEmpty();
+    assertThat(fetches).hasValue(1);
+  }
+
+  @Test
+  public void should_apply_changes_to_fetched_projects() throws Exception {
+    var underTest = new TaintVulnerabilitiesIndex(p -> CompletableFuture.completedFuture(List.of(taintA1, taintA2)));
+    underTest.getTaintVulnerabilities(fileA, new NullProgressMonitor());
+    var movedToB = taint(taintA2.getId(), "src/B.java");
+
+    underTest.didChangeTaintVulnerabilities(ConfigScopeSynchronizer.getConfigScopeId(project), Set.of(taintA1.getId()), List.of(taintB),
+      List.of(movedToB));
+
+    assertThat(underTest.getTaintVulnerabilities(fileA, new NullProgressMonitor())).isEmpty();
+    assertThat(underTest.getTaintVulnerabilities(fileB, new NullProgressMonitor())).containsOnly(taintB, movedToB);
+  }
+
+  @Test
+  public void should_not_fetch_on_changes_of_projects_not_fetched_yet() throws Exception {
+    var underTest = new TaintVulnerabilitiesIndex(p -> {
+      fetches.incrementAndGet();
+      return CompletableFuture.completedFuture(List.of(taintA1));
+    });
+
+    underTest.didChangeTaintVulnerabilities(ConfigScopeSynchronizer.getConfigScopeId(project), Set.of(), List.of(taintA2), List.of());
+
+    assertThat(fetches).hasValue(0);
+    assertThat(underTest.getTaintVulnerabilities(fileA, new NullProgressMonitor())).containsExactly(taintA1);
+  }
+
+  @Test
+  public void should_fetch_again_once_invalidated() throws Exception {
+    var underTest = new TaintVulnerabilitiesIndex(p -> fetches.incrementAndGet() == 1
+      ? CompletableFuture.completedFuture(List.of(taintA1))
+      : CompletableFuture.completedFuture(List.of(taintA2)));
+    underTest.getTaintVulnerabilities(fileA, new NullProgressMonitor());
+
+    underTest.invalidate(ConfigScopeSynchronizer.getConfigScopeId(project));
+
+    assertThat(underTest.getTaintVulnerabilities(fileA, new NullProgressMonitor())).containsExactly(taintA2);
+    assertThat(fetches).hasValue(2);
+  }
+
+  @Test
+  public void should_not_keep_failed_fetch() throws Exception {
+    var underTest = new TaintVulnerabilitiesIndex(p -> fetches.incrementAndGet() == 1
+      ? CompletableFuture.failedFuture(new IllegalStateException("Backend not available"))
+      : CompletableFuture.completedFuture(List.of(taintA1)));
+
+    assertThatThrownBy(() -> underTest.getTaintVulnerabilities(fileA, new NullProgressMonitor()))
+      .isInstanceOf(ExecutionException.class)
+      .hasCauseInstanceOf(IllegalStateException.class);
+
+    assertThat(underTest.getTaintVulnerabilities(fileA, new NullProgressMonitor())).containsExactly(taintA1);
+    assertThat(fetches).hasValue(2);
+  }
+
+  private static ISonarLintProject project(String location) {
+    var resource = mock(IProject.class);
+    when(resource.getLocationURI()).thenReturn(URI.create(location));
+    var project = mock(ISonarLintProject.class);
+    when(project.getResource()).thenReturn(resource);
+    return project;
+  }
+
+  private static ISonarLintFile file(ISonarLintProject project, String relativePath) {
+    var file = mock(ISonarLintFile.class);
+    when(file.getProject()).thenReturn(project);
+    when(file.getProjectRelativePath()).thenReturn(relativePath);
+    return file;
+  }
+
+  private static TaintVulnerabilityDto taint(String ideFilePath) {
+    return taint(UUID.randomUUID(), ideFilePath);
+  }
+
+  private static TaintVulnerabilityDto taint(UUID id, String ideFilePath) {
+    var taint = mock(TaintVulnerabilityDto.class);
+    when(taint.getId()).thenReturn(id);
+    when(taint.getIdeFilePath()).thenReturn(Paths.get(ideFilePath));
+    return taint;
+  }
+}
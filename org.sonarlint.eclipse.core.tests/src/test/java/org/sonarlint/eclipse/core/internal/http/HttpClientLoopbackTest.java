@@ -0,0 +1,167 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.http;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.initialize.HttpConfigurationDto;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.initialize.SslConfigurationDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HttpClientLoopbackTest {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private HttpStub stub;
+  private HttpClient client;
+
+  @Before
+  public void prepare() throws IOException {
+    stub = new HttpStub();
+    client = new HttpClient(
+      new HttpConfigurationDto(new SslConfigurationDto(null, null, null, null, null, null), null, null, null, null),
+      new HttpResponseCache(temp.newFolder().toPath()));
+  }
+
+  @After
+  public void cleanup() throws IOException {
+    stub.close();
+  }
+
+  @Test
+  public void should_reuse_the_connection() {
+    assertThat(client.getWebsiteContent(stub.url())).isEqualTo("content");
+    assertThat(client.getWebsiteContent(stub.url())).isEqualTo("content");
+
+    assertThat(stub.requests).hasSize(2);
+    assertThat(stub.connections.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void should_answer_not_modified_from_the_cache() {
+    stub.etag = "\"v1\"";
+
+    assertThat(client.getWebsiteContent(stub.url())).isEqualTo("content");
+    assertThat(client.getWebsiteContent(stub.url())).isEqualTo("content");
+
+    assertThat(stub.requests.get(0)).doesNotContainKey("if-none-match");
+    assertThat(stub.requests.get(1)).containsEntry("if-none-match", "\"v1\"");
+    assertThat(stub.notModifiedResponses.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void should_not_cache_responses_without_validators() {
+    assertThat(client.getWebsiteContent(stub.url())).isEqualTo("content");
+    stub.body = "new content";
+    assertThat(client.getWebsiteContent(stub.url())).isEqualTo("new content");
+
+    assertThat(stub.requests.get(1)).doesNotContainKey("if-none-match").doesNotContainKey("if-modified-since");
+  }
+
+  /** Minimal HTTP/1.1 server answering every request of a kept alive connection with the configured body */
+  private static class HttpStub implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final List<Map<String, String>> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private volatile String body = "content";
+    private volatile String etag;
+
+    private HttpStub() throws IOException {
+      serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+      var acceptor = new Thread(this::accept, "HTTP stub");
+      acceptor.setDaemon(true);
+      acceptor.start();
+    }
+
+    private String url() {
+      return "http://localhost:" + serverSocket.getLocalPort() + "/compositeContent.xml";
+    }
+
+    private void accept() {
+      while (!serverSocket.isClosed()) {
+        try {
+          var socket = serverSocket.accept();
+          connections.incrementAndGet();
+          var handler = new Thread(() -> handle(socket), "HTTP stub connection");
+          handler.setDaemon(true);
+          handler.start();
+        } catch (IOException e) {
+          // closed
+        }
+      }
+    }
+
+    private void handle(Socket socket) {
+      try (socket) {
+        var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+        var out = socket.getOutputStream();
+        String requestLine;
+        while ((requestLine = reader.readLine()) != null && !requestLine.isEmpty()) {
+          var headers = new HashMap<String, String>();
+          String line;
+          while ((line = reader.readLine()) != null && !line.isEmpty()) {
+            var separator = line.indexOf(':');
+            headers.put(line.substring(0, separator).trim().toLowerCase(), line.substring(separator + 1).trim());
+          }
+          requests.add(headers);
+
+          var currentEtag = etag;
+          String response;
+          if (currentEtag != null && currentEtag.equals(headers.get("if-none-match"))) {
+            notModifiedResponses.incrementAndGet();
+            response = "HTTP/1.1 304 Not Modified\r\nETag: " + currentEtag + "\r\nContent-Length: 0\r\n\r\n";
+          } else {
+            var bytes = body.getBytes(StandardCharsets.UTF_8);
+            response = "HTTP/1.1 200 OK\r\n"
+              + (currentEtag != null ? ("ETag: " + currentEtag + "\r\n") : "")
+              + "Content-Type: text/xml; charset=UTF-8\r\nContent-Length: " + bytes.length + "\r\n\r\n" + body;
+          }
+          out.write(response.getBytes(StandardCharsets.UTF_8));
+          out.flush();
+        }
+      } catch (IOException e) {
+        // connection closed by the client
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      serverSocket.close();
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.LogListener;
+import org.sonarlint.eclipse.core.internal.TriggerType;
+import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest.FileWithDocument;
+import org.sonarlint.eclipse.core.internal.resources.DefaultSonarLintProjectAdapter;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+import org.sonarlint.eclipse.tests.common.SonarTestCase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AnalysisRequestSchedulerTest extends SonarTestCase {
+
+  private static ISonarLintProject slProject;
+  private final List<String> debugs = new CopyOnWriteArrayList<>();
+  private final LogListener listener = new LogListener() {
+    @Override
+    public void info(String msg, boolean fromAnalyzer) {
+    }
+
+    @Override
+    public void error(String msg, boolean fromAnalyzer) {
+    }
+
+    @Override
+    public void debug(String msg, boolean fromAnalyzer) {
+      debugs.add(msg);
+    }
+
+    @Override
+    public void traceIdeMessage(@Nullable String msg) {
+      // INFO: We ignore Eclipse-specific tracing in UTs
+    }
+  };
+
+  @BeforeClass
+  public static void importProject() throws Exception {
+    slProject = new DefaultSonarLintProjectAdapter(importEclipseProject("SimpleProject"));
+  }
+
+  @Before
+  public void addLogListener() {
+    SonarLintLogger.get().addLogListener(listener);
+  }
+
+  @After
+  public void removeLogListener() {
+    SonarLintLogger.get().removeLogListener(listener);
+  }
+
+  @Test
+  public void server_issues_fetching_trigger_wins_when_merging() {
+    assertThat(AnalysisRequestScheduler.mergeTriggerTypes(TriggerType.EDITOR_CHANGE, TriggerType.BINDING_CHANGE)).isEqualTo(TriggerType.BINDING_CHANGE);
+    assertThat(AnalysisRequestScheduler.mergeTriggerTypes(TriggerType.BINDING_CHANGE, TriggerType.EDITOR_CHANGE)).isEqualTo(TriggerType.BINDING_CHANGE);
+    assertThat(AnalysisRequestScheduler.mergeTriggerTypes(TriggerType.QUICK_FIX, TriggerType.ANALYSIS_READY)).isEqualTo(TriggerType.ANALYSIS_READY);
+  }
+
+  @Test
+  public void interactive_trigger_wins_when_merging() {
+    assertThat(AnalysisRequestScheduler.mergeTriggerTypes(TriggerType.ANALYSIS_READY, TriggerType.EDITOR_OPEN)).isEqualTo(TriggerType.EDITOR_OPEN);
+    assertThat(AnalysisRequestScheduler.mergeTriggerTypes(TriggerType.STANDALONE_CONFIG_CHANGE, TriggerType.QUICK_FIX)).isEqualTo(TriggerType.QUICK_FIX);
+    assertThat(AnalysisRequestScheduler.mergeTriggerTypes(TriggerType.EDITOR_CHANGE, TriggerType.AFTER_RESOLVE)).isEqualTo(TriggerType.EDITOR_CHANGE);
+    assertThat(AnalysisRequestScheduler.mergeTriggerTypes(TriggerType.BINDING_CHANGE, TriggerType.ANALYSIS_READY)).isEqualTo(TriggerType.BINDING_CHANGE);
+  }
+
+  @Test
+  public void analyses_of_interactive_triggers_come_first() {
+    assertThat(jobPriority(TriggerType.EDITOR_CHANGE)).isEqualTo(Job.SHORT);
+    assertThat(jobPriority(TriggerType.EDITOR_OPEN)).isEqualTo(Job.SHORT);
+    assertThat(jobPriority(TriggerType.STANDALONE_CONFIG_CHANGE)).isEqualTo(Job.DECORATE);
+    assertThat(jobPriority(TriggerType.MANUAL)).isEqualTo(Job.LONG);
+  }
+
+  @Test
+  public void should_coalesce_requests_on_the_same_project() throws Exception {
+    var project = closedProject("coalesced");
+    var file1 = mock(ISonarLintFile.class);
+    var file2 = mock(ISonarLintFile.class);
+
+    AnalysisRequestScheduler.get().schedule(request(project, TriggerType.EDITOR_OPEN, file1));
+    AnalysisRequestScheduler.get().schedule(request(project, TriggerType.EDITOR_CHANGE, file2));
+    AnalysisRequestScheduler.get().schedule(request(project, TriggerType.EDITOR_CHANGE, file1));
+    Job.getJobManager().join("org.sonarlint.eclipse.projectJob", null);
+
+    assertThat(debugs).containsOnlyOnce("Coalesced analysis requests of project 'coalesced' on 2 files");
+  }
+
+  @Test
+  public void should_not_coalesce_on_the_fly_and_manual_requests() throws Exception {
+    var project = closedProject("not-coalesced");
+
+    AnalysisRequestScheduler.get().schedule(request(project, TriggerType.EDITOR_CHANGE, mock(ISonarLintFile.class)));
+    AnalysisRequestScheduler.get().schedule(request(project, TriggerType.MANUAL, mock(ISonarLintFile.class)));
+    Job.getJobManager().join("org.sonarlint.eclipse.projectJob", null);
+
+    assertThat(debugs).noneMatch(msg -> msg.startsWith("Coalesced analysis requests of project 'not-coalesced'"));
+  }
+
+  private static int jobPriority(TriggerType triggerType) {
+    return new AnalyzeProjectJob(new AnalyzeProjectRequest(slProject, List.of(), triggerType, false)).getPriority();
+  }
+
+  /** The analysis is not started on closed projects, only the requests are coalesced */
+  private static ISonarLintProject closedProject(String name) {
+    var project = mock(ISonarLintProject.class);
+    when(project.getName()).thenReturn(name);
+    when(project.isOpen()).thenReturn(false);
+    return project;
+  }
+
+  private static AnalyzeProjectRequest request(ISonarLintProject project, TriggerType triggerType, ISonarLintFile file) {
+    return new AnalyzeProjectRequest(project, List.of(new FileWithDocument(file, null)), triggerType, false);
+  }
+}
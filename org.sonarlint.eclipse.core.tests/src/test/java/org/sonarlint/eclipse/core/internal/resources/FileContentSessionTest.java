@@ -0,0 +1,72 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.resources;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IProject;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sonarlint.eclipse.tests.common.SonarTestCase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileContentSessionTest extends SonarTestCase {
+
+  private static IProject project;
+
+  @BeforeClass
+  public static void importProject() throws Exception {
+    project = importEclipseProject("SimpleProject");
+  }
+
+  @Test
+  public void should_keep_buffer_connected_while_session_is_open() {
+    var iFile = project.getFile("src/main/java/ViolationOnFile.java");
+    var file = new DefaultSonarLintFileAdapter(new DefaultSonarLintProjectAdapter(project), iFile);
+    var bufferManager = FileBuffers.getTextFileBufferManager();
+
+    try (var session = FileContentSession.open()) {
+      var document = file.getDocument();
+      assertThat(file.getDocument()).isSameAs(document);
+      assertThat(bufferManager.getTextFileBuffer(iFile.getFullPath(), LocationKind.IFILE)).isNotNull();
+
+      // Nested sessions join the current one
+      try (var nestedSession = FileContentSession.open()) {
+        assertThat(file.getDocument()).isSameAs(document);
+      }
+      assertThat(bufferManager.getTextFileBuffer(iFile.getFullPath(), LocationKind.IFILE)).isNotNull();
+      assertThat(file.getCharset()).isSameAs(file.getCharset());
+    }
+
+    assertThat(bufferManager.getTextFileBuffer(iFile.getFullPath(), LocationKind.IFILE)).isNull();
+  }
+
+  @Test
+  public void should_disconnect_buffer_without_session() {
+    var iFile = project.getFile("src/main/java/ViolationOnFile.java");
+    var file = new DefaultSonarLintFileAdapter(new DefaultSonarLintProjectAdapter(project), iFile);
+
+    assertThat(file.getDocument().get()).contains("class");
+
+    assertThat(FileBuffers.getTextFileBufferManager().getTextFileBuffer(iFile.getFullPath(), LocationKind.IFILE)).isNull();
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.resources;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.Path;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.tests.common.SonarTestCase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProjectFileIndexTest extends SonarTestCase {
+
+  private static IProject project;
+
+  @BeforeClass
+  public static void importProject() throws Exception {
+    project = importEclipseProject("SimpleProject");
+  }
+
+  @Test
+  public void should_update_index_with_deltas() {
+    var scans = new AtomicInteger();
+    var fileA = mock(ISonarLintFile.class);
+    var fileB = mock(ISonarLintFile.class);
+    var index = new ProjectFileIndex((p, exclusions) -> {
+      scans.incrementAndGet();
+      return new HashMap<>(Map.of("src/A.java", fileA, "src/B.java", fileB));
+    });
+
+    assertThat(index.files(project, Set.of())).containsOnly(fileA, fileB);
+    index.processDelta(removedFileDelta("src/A.java"));
+
+    assertThat(index.files(project, Set.of())).containsOnly(fileB);
+    assertThat(scans).hasValue(1);
+  }
+
+  @Test
+  public void should_not_keep_index_when_project_changed_while_scanning() {
+    var scans = new AtomicInteger();
+    var fileA = mock(ISonarLintFile.class);
+    var fileB = mock(ISonarLintFile.class);
+    var indexHolder = new ProjectFileIndex[1];
+    indexHolder[0] = new ProjectFileIndex((p, exclusions) -> {
+      if (scans.incrementAndGet() == 1) {
+        // The file was visited, then deleted before the visit of the project completed
+        indexHolder[0].processDelta(removedFileDelta("src/A.java"));
+        return new HashMap<>(Map.of("src/A.java", fileA, "src/B.java", fileB));
+      }
+      return new HashMap<>(Map.of("src/B.java", fileB));
+    });
+    var index = indexHolder[0];
+
+    index.files(project, Set.of());
+
+    assertThat(index.files(project, Set.of())).containsOnly(fileB);
+    assertThat(scans).hasValue(2);
+    assertThat(index.files(project, Set.of())).containsOnly(fileB);
+    assertThat(scans).hasValue(2);
+  }
+
+  private static IResourceDelta removedFileDelta(String relativePath) {
+    var file = mock(IFile.class);
+    when(file.getProject()).thenReturn(project);
+    when(file.getType()).thenReturn(IResource.FILE);
+    when(file.getProjectRelativePath()).thenReturn(Path.fromPortableString(relativePath));
+    var delta = mock(IResourceDelta.class);
+    when(delta.getResource()).thenReturn(file);
+    when(delta.getKind()).thenReturn(IResourceDelta.REMOVED);
+    return delta;
+  }
+}
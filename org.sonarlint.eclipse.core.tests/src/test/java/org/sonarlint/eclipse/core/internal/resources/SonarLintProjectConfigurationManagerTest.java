@@ -87,4 +87,52 @@ public class SonarLintProjectConfigurationManagerTest extends SonarTestCase {
     SonarLintCorePlugin.getInstance().getProjectConfigManager().save(projectScope, configuration);
     assertThat(projectScope.getLocation().append("org.sonarlint.eclipse.core.prefs").toFile()).exists();
   }
+
+  @Test
+  public void loaded_configuration_is_refreshed_after_changes() throws IOException, CoreException {
+    var project = importEclipseProject("SimpleProject");
+    var projectScope = new ProjectScope(project);
+    var manager = SonarLintCorePlugin.getInstance().getProjectConfigManager();
+
+    var configuration = manager.load(projectScope, "SimpleProject");
+    assertThat(configuration.isAutoEnabled()).isTrue();
+
+    // Changing the loaded configuration without saving it must not leak into the next load
+    configuration.setAutoEnabled(false);
+    assertThat(manager.load(projectScope, "SimpleProject").isAutoEnabled()).isTrue();
+
+    manager.save(projectScope, configuration);
+    assertThat(manager.load(projectScope, "SimpleProject").isAutoEnabled()).isFalse();
+
+    // Changes done directly on the preferences, e.g. when the settings file is updated by a VCS
+    projectScope.getNode(SonarLintCorePlugin.PLUGIN_ID).putBoolean("autoEnabled", true);
+    assertThat(manager.load(projectScope, "SimpleProject").isAutoEnabled()).isTrue();
+  }
+
+  @Test
+  public void edited_properties_of_loaded_configuration_are_not_leaking_into_next_load() throws IOException, CoreException {
+    var project = importEclipseProject("SimpleProject");
+    var projectScope = new ProjectScope(project);
+    var manager = SonarLintCorePlugin.getInstance().getProjectConfigManager();
+    var configuration = manager.load(projectScope, "SimpleProject");
+    configuration.getExtraProperties().add(new SonarLintProperty("sonar.foo", "bar"));
+    manager.save(projectScope, configuration);
+
+    // e.g. edited in the preference page, then cancelled
+    manager.load(projectScope, "SimpleProject").getExtraProperties().get(0).setValue("edited");
+
+    assertThat(manager.load(projectScope, "SimpleProject").getExtraProperties()).containsExactly(new SonarLintProperty("sonar.foo", "bar"));
+  }
+
+  @Test
+  public void forgotten_configuration_is_read_again() throws IOException, CoreException {
+    var project = importEclipseProject("SimpleProject");
+    var projectScope = new ProjectScope(project);
+    var manager = SonarLintCorePlugin.getInstance().getProjectConfigManager();
+    assertThat(manager.load(projectScope, "SimpleProject").isAutoEnabled()).isTrue();
+
+    manager.forget(projectScope);
+    projectScope.getNode(SonarLintCorePlugin.PLUGIN_ID).putBoolean("autoEnabled", false);
+    assertThat(manager.load(projectScope, "SimpleProject").isAutoEnabled()).isFalse();
+  }
 }
@@ -0,0 +1,100 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.utils;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.junit.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DigestUtilsTest {
+  private static final String CODE = "public class Foo {\n\tString s = \"\u00e9\u20ac \ud83d\ude00\";\r\n  \u000B\f}\n";
+
+  @Test
+  public void should_ignore_whitespaces_like_regular_expression() throws Exception {
+    assertThat(DigestUtils.digest(CODE)).isEqualTo(referenceDigest(CODE));
+    assertThat(DigestUtils.digest("")).isEqualTo(referenceDigest(""));
+    assertThat(DigestUtils.digest("a b\tc")).isEqualTo(DigestUtils.digest("abc"));
+  }
+
+  @Test
+  public void should_replace_unpaired_surrogates_like_string_encoding() throws Exception {
+    var unpaired = "a\ud83d b\ude00 \ud83d";
+    assertThat(DigestUtils.digest(unpaired)).isEqualTo(referenceDigest(unpaired));
+  }
+
+  @Test
+  public void should_digest_document_region() throws Exception {
+    var document = new Document("prefix" + CODE + "suffix");
+
+    assertThat(DigestUtils.digest(document, 6, CODE.length())).isEqualTo(DigestUtils.digest(CODE));
+    assertThatThrownBy(() -> DigestUtils.digest(document, 6, document.getLength())).isInstanceOf(BadLocationException.class);
+  }
+
+  @Test
+  public void should_not_be_affected_by_previous_failure() throws Exception {
+    var document = new Document("prefix \ud83d" + CODE) {
+      @Override
+      public char getChar(int pos) throws BadLocationException {
+        if (pos == 8) {
+          // E.g. the document changed concurrently
+          throw new BadLocationException();
+        }
+        return super.getChar(pos);
+      }
+    };
+
+    assertThatThrownBy(() -> DigestUtils.digest(document, 0, document.getLength())).isInstanceOf(BadLocationException.class);
+    assertThat(DigestUtils.digest(CODE)).isEqualTo(referenceDigest(CODE));
+  }
+
+  @Test
+  public void should_be_thread_safe() throws Exception {
+    var expected = referenceDigest(CODE.repeat(100));
+    var executor = Executors.newFixedThreadPool(4);
+    try {
+      var tasks = new ArrayList<Callable<String>>();
+      for (var i = 0; i < 200; i++) {
+        tasks.add(() -> DigestUtils.digest(CODE.repeat(100)));
+      }
+      for (var result : executor.invokeAll(tasks)) {
+        assertThat(result.get()).isEqualTo(expected);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static String referenceDigest(String content) throws Exception {
+    var bytes = MessageDigest.getInstance("MD5").digest(content.replaceAll("[\\s]", "").getBytes(UTF_8));
+    var hex = new StringBuilder();
+    for (var b : bytes) {
+      hex.append(String.format("%02x", b));
+    }
+    return hex.toString();
+  }
+}
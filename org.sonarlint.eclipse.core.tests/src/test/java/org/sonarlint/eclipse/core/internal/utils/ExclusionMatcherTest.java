@@ -0,0 +1,97 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.utils;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+import org.sonarlint.eclipse.core.internal.resources.ExclusionItem;
+import org.sonarlint.eclipse.core.internal.resources.ExclusionItem.Type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExclusionMatcherTest {
+
+  @Test
+  public void should_match_file_and_directory_exclusions_on_segments() {
+    var matcher = ExclusionMatcher.compile(List.of(
+      new ExclusionItem(Type.FILE, "src/main/java/Foo.java"),
+      new ExclusionItem(Type.DIRECTORY, "src/gen")));
+
+    assertThat(matcher.test("src/main/java/Foo.java")).isTrue();
+    assertThat(matcher.test("src/main/java/Foo.javax")).isFalse();
+    assertThat(matcher.test("src/main/java")).isFalse();
+    assertThat(matcher.test("src/gen/Bar.java")).isTrue();
+    assertThat(matcher.test("src/gen/deep/Bar.java")).isTrue();
+    assertThat(matcher.test("src/generated/Bar.java")).isFalse();
+  }
+
+  @Test
+  public void should_match_globs_like_jdk_path_matchers() {
+    var globs = List.of("**/*Test.java", "*.txt", "src/?ar/{a,b}.js", "lib/[!x]*.jar", "**/gen/**");
+    var paths = List.of("FooTest.java", "src/FooTest.java", "a/b/FooTest.java", "README.txt", "doc/README.txt",
+      "src/bar/a.js", "src/bar/c.js", "src/ba/a.js", "lib/a.jar", "lib/x.jar", "gen/A.java", "src/gen/A.java", "src/gen/b/A.java");
+
+    for (var glob : globs) {
+      var matcher = ExclusionMatcher.compile(List.of(new ExclusionItem(Type.GLOB, glob)));
+      var jdkMatcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+      for (var path : paths) {
+        assertThat(matcher.test(path)).as(glob + " on " + path).isEqualTo(jdkMatcher.matches(Paths.get(path)));
+      }
+    }
+  }
+
+  @Test
+  public void should_match_globs_ignoring_case_like_windows_path_matchers() {
+    var exclusions = List.of(new ExclusionItem(Type.GLOB, "**/Generated/**"), new ExclusionItem(Type.GLOB, "*.TXT"));
+
+    var caseInsensitive = ExclusionMatcher.compile(exclusions, true);
+    assertThat(caseInsensitive.test("src/generated/A.java")).isTrue();
+    assertThat(caseInsensitive.test("src/GENERATED/A.java")).isTrue();
+    assertThat(caseInsensitive.test("readme.txt")).isTrue();
+    assertThat(caseInsensitive.test("src/generator/A.java")).isFalse();
+
+    var caseSensitive = ExclusionMatcher.compile(exclusions, false);
+    assertThat(caseSensitive.test("src/generated/A.java")).isFalse();
+    assertThat(caseSensitive.test("src/Generated/A.java")).isTrue();
+    assertThat(caseSensitive.test("readme.txt")).isFalse();
+  }
+
+  @Test
+  public void should_ignore_invalid_globs() {
+    var matcher = ExclusionMatcher.compile(List.of(new ExclusionItem(Type.GLOB, "{a"), new ExclusionItem(Type.GLOB, "*.txt")));
+
+    assertThat(matcher.test("a")).isFalse();
+    assertThat(matcher.test("README.txt")).isTrue();
+  }
+
+  @Test
+  public void should_match_children_of_directories() {
+    var matcher = ExclusionMatcher.compileDirectories(Set.of(new Path("/project/target"), new Path("/project/bin")));
+
+    assertThat(matcher.test(new Path("/project/target/classes/A.class"))).isTrue();
+    assertThat(matcher.test(new Path("/project/bin/A.class"))).isTrue();
+    assertThat(matcher.test(new Path("/project/binary/A.class"))).isFalse();
+    assertThat(matcher.test(new Path("/other/target/A.class"))).isFalse();
+  }
+}
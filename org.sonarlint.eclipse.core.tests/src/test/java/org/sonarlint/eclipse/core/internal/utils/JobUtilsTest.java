@@ -0,0 +1,72 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.utils;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.Test;
+import org.sonarsource.sonarlint.core.commons.api.progress.CanceledException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JobUtilsTest {
+
+  @Test
+  public void should_return_result_once_completed() throws Exception {
+    var future = new CompletableFuture<String>();
+    CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> future.complete("result"));
+
+    assertThat(JobUtils.waitForFuture(new NullProgressMonitor(), future)).isEqualTo("result");
+    assertNoMoreWatches();
+  }
+
+  @Test
+  public void should_cancel_future_when_monitor_is_cancelled() throws Exception {
+    var monitor = new NullProgressMonitor();
+    var future = new CompletableFuture<String>();
+    CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> monitor.setCanceled(true));
+
+    assertThatThrownBy(() -> JobUtils.waitForFuture(monitor, future)).isInstanceOf(CancellationException.class);
+    assertThat(future).isCancelled();
+    assertNoMoreWatches();
+  }
+
+  @Test
+  public void should_throw_canceled_exception_in_job() {
+    var monitor = new NullProgressMonitor();
+    monitor.setCanceled(true);
+    var future = new CompletableFuture<String>();
+
+    assertThatThrownBy(() -> JobUtils.waitForFutureInJob(monitor, future)).isInstanceOf(CanceledException.class);
+    assertThat(future).isCancelled();
+  }
+
+  private static void assertNoMoreWatches() throws InterruptedException {
+    // The watch is removed by a completion callback that can run after the waiting thread is woken up
+    var deadline = System.currentTimeMillis() + 5_000;
+    while (MonitorCancellationWatcher.getWatchCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(MonitorCancellationWatcher.getWatchCount()).isZero();
+  }
+}
@@ -41,7 +41,7 @@ public interface IPreAnalysisContext {
   Collection<ISonarLintFile> getFilesToAnalyze();
 
   /**
-   * A temporary location that will be cleaned after the analysis.
+   * A temporary location that will be cleaned after the analysis. It is only created when asked for.
    */
   Path getAnalysisTemporaryFolder();
 
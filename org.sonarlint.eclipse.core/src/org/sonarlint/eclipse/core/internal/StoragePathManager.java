@@ -51,11 +51,36 @@ public class StoragePathManager {
     return getSonarLintUserHome().resolve("storage");
   }
 
+  /** Get the directory of the extracted embedded plug-ins */
+  public static Path getPluginCacheDir() {
+    return getSonarLintUserHome().resolve("plugin-cache");
+  }
+
+  /** Get the directory of the cached HTTP responses */
+  public static Path getHttpCacheDir() {
+    return getSonarLintUserHome().resolve("http-cache");
+  }
+
+  /** Get the directory of the persisted project file indexes */
+  public static Path getFileIndexDir() {
+    return getSonarLintUserHome().resolve("file-index");
+  }
+
   /** Get the project issues directory */
   public static Path getIssuesDir(ISonarLintProject project) {
     return project.getWorkingDir().resolve("issues");
   }
 
+  /** Get the project directory of the CFamily analyzer cache */
+  public static Path getCFamilyCacheDir(ISonarLintProject project) {
+    return project.getWorkingDir().resolve("cfamily-cache");
+  }
+
+  /** Get the project directory of the local copies of the files not on the local file system */
+  public static Path getInputMirrorDir(ISonarLintProject project) {
+    return project.getWorkingDir().resolve("input-mirror");
+  }
+
   /** Get the project notifications directory */
   public static Path getNotificationsDir(ISonarLintProject project) {
     return project.getWorkingDir().resolve("notifications");
@@ -0,0 +1,77 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.backend;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ *  Decides whether and when a crashed backend is restarted: the delay is doubled with every crash within the window
+ *  (exponential backoff), and once there were too many of them within the window the circuit breaker opens and the
+ *  backend is not restarted anymore, as it is most likely going to crash again (e.g. not enough memory).
+ */
+class BackendRestartPolicy {
+  /** Returned by {@link #onCrash(long)} when the backend should not be restarted anymore */
+  static final long NO_RESTART = -1;
+
+  private final long initialDelayMs;
+  private final long maxDelayMs;
+  private final int maxCrashes;
+  private final long crashWindowMs;
+  private final Deque<Long> crashTimestamps = new ArrayDeque<>();
+  private boolean circuitOpen;
+
+  BackendRestartPolicy(long initialDelayMs, long maxDelayMs, int maxCrashes, long crashWindowMs) {
+    this.initialDelayMs = initialDelayMs;
+    this.maxDelayMs = maxDelayMs;
+    this.maxCrashes = maxCrashes;
+    this.crashWindowMs = crashWindowMs;
+  }
+
+  /** The delays and limits can be configured via system properties */
+  static BackendRestartPolicy fromSystemProperties() {
+    return new BackendRestartPolicy(
+      Long.getLong("sonarlint.backend.restart.initialDelay", 1_000),
+      Long.getLong("sonarlint.backend.restart.maxDelay", 60_000),
+      Integer.getInteger("sonarlint.backend.restart.maxCrashes", 5),
+      Long.getLong("sonarlint.backend.restart.crashWindow", 10 * 60_000L));
+  }
+
+  /** @return the delay (in milliseconds) before restarting the backend, or {@link #NO_RESTART} */
+  synchronized long onCrash(long nowMs) {
+    if (circuitOpen) {
+      return NO_RESTART;
+    }
+    while (!crashTimestamps.isEmpty() && nowMs - crashTimestamps.peekFirst() > crashWindowMs) {
+      crashTimestamps.removeFirst();
+    }
+    crashTimestamps.addLast(nowMs);
+    if (crashTimestamps.size() > maxCrashes) {
+      circuitOpen = true;
+      return NO_RESTART;
+    }
+    var delay = initialDelayMs << Math.min(crashTimestamps.size() - 1, 30);
+    return delay < 0 ? maxDelayMs : Math.min(delay, maxDelayMs);
+  }
+
+  synchronized boolean isCircuitOpen() {
+    return circuitOpen;
+  }
+}
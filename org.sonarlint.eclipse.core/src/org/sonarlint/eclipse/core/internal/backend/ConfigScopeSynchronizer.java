@@ -20,6 +20,7 @@
 package org.sonarlint.eclipse.core.internal.backend;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
@@ -27,6 +28,7 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.jobs.InputMirror;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfigurationManager;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
@@ -42,7 +44,7 @@ import static java.util.stream.Collectors.toList;
 
 public class ConfigScopeSynchronizer implements IResourceChangeListener {
 
-  private final SonarLintRpcServer backend;
+  private volatile SonarLintRpcServer backend;
 
   ConfigScopeSynchronizer(SonarLintRpcServer backend) {
     this.backend = backend;
@@ -70,6 +72,10 @@ public class ConfigScopeSynchronizer implements IResourceChangeListener {
         SonarLintLogger.get().debug("Project about to be closed: " + project.getName());
         backend.getConfigurationService()
           .didRemoveConfigurationScope(new DidRemoveConfigurationScopeParams(getConfigScopeId(project)));
+        TaintVulnerabilitiesIndex.get().invalidate(getConfigScopeId(project));
+        ServerCapabilitiesCache.get().invalidate(getConfigScopeId(project));
+        InputMirror.delete(project);
+        SonarLintCorePlugin.getInstance().getProjectConfigManager().forget(project.getScopeContext());
       }
     } else if (event.getType() == IResourceChangeEvent.PRE_DELETE) {
       var project = SonarLintUtils.adapt(event.getResource(), ISonarLintProject.class,
@@ -79,6 +85,10 @@ public class ConfigScopeSynchronizer implements IResourceChangeListener {
         SonarLintLogger.get().debug("Project about to be deleted: " + project.getName());
         backend.getConfigurationService()
           .didRemoveConfigurationScope(new DidRemoveConfigurationScopeParams(getConfigScopeId(project)));
+        TaintVulnerabilitiesIndex.get().invalidate(getConfigScopeId(project));
+        ServerCapabilitiesCache.get().invalidate(getConfigScopeId(project));
+        InputMirror.delete(project);
+        SonarLintCorePlugin.getInstance().getProjectConfigManager().forget(project.getScopeContext());
       }
     }
   }
@@ -99,18 +109,30 @@ public class ConfigScopeSynchronizer implements IResourceChangeListener {
 
   public void init() {
     var allProjects = SonarLintUtils.allProjects();
-    var initialConfigScopes = allProjects.stream()
-      .filter(ISonarLintProject::isOpen)
-      .map(ConfigScopeSynchronizer::toConfigScopeDto)
-      .collect(toList());
-    backend.getConfigurationService().didAddConfigurationScopes(new DidAddConfigurationScopesParams(initialConfigScopes));
+    addConfigScopes(allProjects);
     allProjects.forEach(p -> {
       SonarLintProjectConfigurationManager.registerPreferenceChangeListenerForBindingProperties(p, this::projectPreferencesChanged);
     });
   }
 
+  /** After a restart of the backend, the configuration scopes of all the open projects have to be added again */
+  void backendRestarted(SonarLintRpcServer newBackend) {
+    this.backend = newBackend;
+    addConfigScopes(SonarLintUtils.allProjects());
+  }
+
+  private void addConfigScopes(Collection<ISonarLintProject> allProjects) {
+    var configScopes = allProjects.stream()
+      .filter(ISonarLintProject::isOpen)
+      .map(ConfigScopeSynchronizer::toConfigScopeDto)
+      .collect(toList());
+    backend.getConfigurationService().didAddConfigurationScopes(new DidAddConfigurationScopesParams(configScopes));
+  }
+
   private void projectPreferencesChanged(ISonarLintProject project) {
     SonarLintLogger.get().debug("Project binding preferences changed: " + project.getName());
+    TaintVulnerabilitiesIndex.get().invalidate(getConfigScopeId(project));
+    ServerCapabilitiesCache.get().invalidate(getConfigScopeId(project));
     backend.getConfigurationService()
       .didUpdateBinding(new DidUpdateBindingParams(getConfigScopeId(project), toBindingDto(project)));
   }
@@ -32,7 +32,7 @@ import static java.util.stream.Collectors.toList;
 
 class ConnectionSynchronizer implements IConnectionManagerListener {
 
-  private final SonarLintRpcServer backend;
+  private volatile SonarLintRpcServer backend;
 
   public ConnectionSynchronizer(SonarLintRpcServer backend) {
     this.backend = backend;
@@ -53,7 +53,13 @@ class ConnectionSynchronizer implements IConnectionManagerListener {
     didUpdateConnections();
   }
 
+  /** The connections are already part of the initialization parameters of the new backend */
+  void backendRestarted(SonarLintRpcServer newBackend) {
+    this.backend = newBackend;
+  }
+
   private void didUpdateConnections() {
+    ServerCapabilitiesCache.get().invalidateAll();
     var sqConnections = buildSqConnectionDtos();
     var scConnections = buildScConnectionDtos();
     backend.getConnectionService().didUpdateConnections(new DidUpdateConnectionsParams(sqConnections, scConnections));
@@ -0,0 +1,395 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.StoragePathManager;
+import org.sonarlint.eclipse.core.internal.utils.FileUtils;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toCollection;
+
+/**
+ *  Content-addressed copy of the analyzer plug-ins embedded in this bundle. Getting them via
+ *  {@link FileLocator#toFileURL(URL)} extracts them into the OSGi cache, which is done again after every upgrade or
+ *  clean of that cache, and that is on the critical path of the backend startup.
+ *
+ *  The plug-ins are stored once per content hash ("blobs/<hash>/<jar name>") and an index per bundle version maps the
+ *  jar names to their hash and size. When the bundle didn't change, resolving the plug-ins only checks the size of the
+ *  stored files: their content is verified later in the background.
+ *
+ *  The cache is stored in the workspace, that only one IDE instance can use at a time: the indexes of the other bundle
+ *  versions are deleted as soon as the index of this version is saved, with the blobs that this index doesn't
+ *  reference. The blobs handed out in this session are kept, as the running backend might use them.
+ */
+public class EmbeddedPluginCache {
+  private static final String BLOBS_DIR = "blobs";
+  private static final String INDEX_PREFIX = "index-";
+  private static final String INDEX_SUFFIX = ".properties";
+  private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+  @Nullable
+  private static EmbeddedPluginCache instance;
+
+  private final Path cacheDir;
+  private final Path indexFile;
+  private final Properties index = new Properties();
+  private final Map<String, Path> resolvedByName = new ConcurrentHashMap<>();
+  /** The stored blobs used without checking their content, verified in the background */
+  private final Set<String> unverifiedNames = ConcurrentHashMap.newKeySet();
+  /** Hashes of the blobs whose path was handed out in this session, they might be used by the running backend */
+  private final Set<String> handedOutHashes = ConcurrentHashMap.newKeySet();
+  private boolean indexLoaded;
+  private volatile boolean indexChanged;
+  private final List<Runnable> evictionListeners = new CopyOnWriteArrayList<>();
+
+  EmbeddedPluginCache(Path cacheDir, String bundleVersion) {
+    this.cacheDir = cacheDir;
+    this.indexFile = cacheDir.resolve(INDEX_PREFIX + bundleVersion + INDEX_SUFFIX);
+  }
+
+  public static synchronized EmbeddedPluginCache get() {
+    var cache = instance;
+    if (cache == null) {
+      cache = new EmbeddedPluginCache(StoragePathManager.getPluginCacheDir(),
+        SonarLintCorePlugin.getInstance().getBundle().getVersion().toString());
+      instance = cache;
+    }
+    return cache;
+  }
+
+  /** Resolve all the plug-ins in parallel, then persist the index and delete the stale entries if it changed */
+  public List<Path> resolve(List<URL> bundleEntries) {
+    var paths = bundleEntries.parallelStream()
+      .map(this::resolve)
+      .filter(Objects::nonNull)
+      .collect(toList());
+    if (indexChanged) {
+      saveIndexAndCollectGarbage();
+    }
+    if (!unverifiedNames.isEmpty()) {
+      new VerifyBlobsJob().schedule(30_000);
+    }
+    return paths;
+  }
+
+  /** Called when a plug-in handed out before is removed from the cache, the paths resolved before must not be used anymore */
+  public void addEvictionListener(Runnable listener) {
+    evictionListeners.add(listener);
+  }
+
+  public void removeEvictionListener(Runnable listener) {
+    evictionListeners.remove(listener);
+  }
+
+  /** @return the local path of the plug-in, or null if it couldn't be extracted at all */
+  @Nullable
+  public Path resolve(URL bundleEntry) {
+    var name = new File(bundleEntry.getPath()).getName();
+    return resolvedByName.computeIfAbsent(name, k -> {
+      try {
+        var resolvedEntry = FileLocator.resolve(bundleEntry);
+        if ("file".equals(resolvedEntry.getProtocol())) {
+          // Bundle installed as a directory (e.g. when running from the IDE), there is nothing to extract
+          return new File(resolvedEntry.getFile()).toPath();
+        }
+        var stored = getStoredBlob(name);
+        if (stored != null) {
+          unverifiedNames.add(name);
+        } else {
+          stored = store(resolvedEntry, name);
+        }
+        handedOutHashes.add(stored.getParent().getFileName().toString());
+        return stored;
+      } catch (Exception e) {
+        SonarLintLogger.get().error("Unable to store plugin " + bundleEntry + " in the cache, falling back to the OSGi cache", e);
+        return PluginPathHelper.toPath(bundleEntry);
+      }
+    });
+  }
+
+  @Nullable
+  private Path getStoredBlob(String name) {
+    var entry = getIndexEntry(name);
+    if (entry == null) {
+      return null;
+    }
+    var blob = blobPath(entry.hash, name);
+    try {
+      if (Files.isRegularFile(blob) && Files.size(blob) == entry.size) {
+        return blob;
+      }
+    } catch (IOException e) {
+      // Extracted again below
+    }
+    return null;
+  }
+
+  private Path store(URL resolvedEntry, String name) throws IOException {
+    var blobsDir = cacheDir.resolve(BLOBS_DIR);
+    FileUtils.mkdirs(blobsDir);
+    var tempFile = Files.createTempFile(blobsDir, name, ".tmp");
+    try {
+      var digest = sha256();
+      long size;
+      try (var in = new DigestInputStream(resolvedEntry.openStream(), digest)) {
+        size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+      var hash = encodeHexString(digest.digest());
+      var blob = blobPath(hash, name);
+      // A blob with the same size but not the same content was detected as corrupted before
+      if (!Files.isRegularFile(blob) || Files.size(blob) != size || !hash.equals(hashOf(blob))) {
+        FileUtils.mkdirs(blob.getParent());
+        moveAtomically(tempFile, blob);
+      }
+      putIndexEntry(name, new IndexEntry(hash, size));
+      SonarLintLogger.get().debug("Plugin " + name + " stored in " + blob);
+      return blob;
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  private Path blobPath(String hash, String name) {
+    return cacheDir.resolve(BLOBS_DIR).resolve(hash).resolve(name);
+  }
+
+  @Nullable
+  private synchronized IndexEntry getIndexEntry(String name) {
+    if (!indexLoaded) {
+      indexLoaded = true;
+      if (Files.isRegularFile(indexFile)) {
+        try (var in = Files.newInputStream(indexFile)) {
+          index.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+          SonarLintLogger.get().debug("Unable to read the plugin cache index, plugins will be extracted again: " + e.getMessage());
+          index.clear();
+        }
+      }
+    }
+    return IndexEntry.parse(index.getProperty(name));
+  }
+
+  private synchronized void putIndexEntry(String name, IndexEntry entry) {
+    index.setProperty(name, entry.toString());
+    indexChanged = true;
+  }
+
+  private synchronized void removeIndexEntry(String name) {
+    if (index.remove(name) != null) {
+      indexChanged = true;
+    }
+  }
+
+  synchronized void saveIndexAndCollectGarbage() {
+    try {
+      FileUtils.mkdirs(cacheDir);
+      var tempFile = Files.createTempFile(cacheDir, INDEX_PREFIX, ".tmp");
+      try {
+        try (var out = Files.newOutputStream(tempFile)) {
+          index.store(out, null);
+        }
+        moveAtomically(tempFile, indexFile);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+      indexChanged = false;
+      collectGarbage();
+    } catch (IOException e) {
+      SonarLintLogger.get().error("Unable to save the plugin cache index", e);
+    }
+  }
+
+  /** Deletes the indexes of the other bundle versions, and the blobs neither referenced by this index nor handed out */
+  private void collectGarbage() throws IOException {
+    var referencedHashes = hashesOf(index);
+    referencedHashes.addAll(handedOutHashes);
+    try (var files = Files.list(cacheDir)) {
+      for (var otherIndexFile : files.filter(this::isOtherIndex).collect(toList())) {
+        SonarLintLogger.get().debug("Deleting unused plugin cache index " + otherIndexFile);
+        deleteQuietly(otherIndexFile);
+      }
+    }
+    var blobsDir = cacheDir.resolve(BLOBS_DIR);
+    if (Files.isDirectory(blobsDir)) {
+      try (var blobDirs = Files.list(blobsDir)) {
+        blobDirs
+          .filter(d -> Files.isDirectory(d) && !referencedHashes.contains(d.getFileName().toString()))
+          .forEach(d -> {
+            SonarLintLogger.get().debug("Deleting stale plugin cache entry " + d);
+            FileUtils.deleteRecursively(d);
+          });
+      }
+    }
+  }
+
+  private boolean isOtherIndex(Path file) {
+    var fileName = file.getFileName().toString();
+    return fileName.startsWith(INDEX_PREFIX) && fileName.endsWith(INDEX_SUFFIX) && !file.equals(indexFile);
+  }
+
+  private static Set<String> hashesOf(Properties index) {
+    return index.values().stream()
+      .map(value -> IndexEntry.parse((String) value))
+      .filter(Objects::nonNull)
+      .map(entry -> entry.hash)
+      .collect(toCollection(HashSet::new));
+  }
+
+  /**
+   *  Content of the blobs used without being checked. A corrupted one is removed from the index so that it is
+   *  extracted again on the next start of the backend. It is not deleted, as the running backend got its path.
+   */
+  boolean verifyBlobs() {
+    var allValid = true;
+    for (var name : List.copyOf(unverifiedNames)) {
+      unverifiedNames.remove(name);
+      var entry = getIndexEntry(name);
+      if (entry == null) {
+        continue;
+      }
+      var blob = blobPath(entry.hash, name);
+      if (!entry.hash.equals(hashOf(blob))) {
+        SonarLintLogger.get().error("Plugin " + name + " is corrupted in the cache, it will be extracted again on next start");
+        allValid = false;
+        resolvedByName.remove(name);
+        removeIndexEntry(name);
+      }
+    }
+    if (!allValid) {
+      saveIndexAndCollectGarbage();
+      evictionListeners.forEach(Runnable::run);
+    }
+    return allValid;
+  }
+
+  @Nullable
+  private static String hashOf(Path file) {
+    try (var in = new DigestInputStream(Files.newInputStream(file), sha256())) {
+      in.transferTo(OutputStream.nullOutputStream());
+      return encodeHexString(in.getMessageDigest().digest());
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private static void moveAtomically(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      SonarLintLogger.get().debug("Unable to delete " + file + ": " + e.getMessage());
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String encodeHexString(byte[] data) {
+    var out = new char[data.length << 1];
+    for (int i = 0, j = 0; i < data.length; ++i, j += 2) {
+      out[j] = DIGITS[(240 & data[i]) >>> 4];
+      out[j + 1] = DIGITS[15 & data[i]];
+    }
+    return new String(out);
+  }
+
+  private static class IndexEntry {
+    private final String hash;
+    private final long size;
+
+    private IndexEntry(String hash, long size) {
+      this.hash = hash;
+      this.size = size;
+    }
+
+    @Nullable
+    private static IndexEntry parse(@Nullable String value) {
+      if (value == null) {
+        return null;
+      }
+      var separator = value.indexOf(':');
+      if (separator <= 0) {
+        return null;
+      }
+      try {
+        return new IndexEntry(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public String toString() {
+      return hash + ":" + size;
+    }
+  }
+
+  private class VerifyBlobsJob extends Job {
+    private VerifyBlobsJob() {
+      super("Verify SonarLint plugin cache");
+      setSystem(true);
+      setPriority(DECORATE);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      verifyBlobs();
+      return Status.OK_STATUS;
+    }
+  }
+}
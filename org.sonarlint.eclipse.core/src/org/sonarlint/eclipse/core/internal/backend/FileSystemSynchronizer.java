@@ -25,9 +25,14 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.resources.IProject;
@@ -43,10 +48,13 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.analysis.SonarLintLanguage;
-import org.sonarlint.eclipse.core.internal.cache.DefaultSonarLintProjectAdapterCache;
 import org.sonarlint.eclipse.core.internal.cache.IProjectScopeProviderCache;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
+import org.sonarlint.eclipse.core.internal.jobs.InputMirror;
 import org.sonarlint.eclipse.core.internal.jobs.TestFileClassifier;
+import org.sonarlint.eclipse.core.internal.resources.FileContentSession;
+import org.sonarlint.eclipse.core.internal.resources.ProjectFileIndex;
+import org.sonarlint.eclipse.core.internal.utils.ExclusionMatcher;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
@@ -65,18 +73,50 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
   public static final String SONARLINT_CONFIG_FILE = "connectedMode.json";
   public static final Pattern SONARLINT_JSON_REGEX = Pattern.compile("^\\" + SONARLINT_FOLDER + "/.*\\.json$", Pattern.CASE_INSENSITIVE);
 
-  private final SonarLintRpcServer backend;
+  /**
+   *  Changes are accumulated over this period of time and then sent all at once, e.g. a VCS checkout or a clean build
+   *  would otherwise send one request per resource change event.
+   */
+  private static final long SYNC_WINDOW_MS = Long.getLong("sonarlint.fileSystemSync.window", 200);
+
+  /** Compiled form of the exclusions of {@link IProjectScopeProviderCache}, per configuration scope */
+  private static final Map<String, CompiledProjectScopeExclusions> compiledProjectScopeExclusions = new ConcurrentHashMap<>();
+
+  private volatile SonarLintRpcServer backend;
+  private final Object pendingChangesLock = new Object();
+  /** All added or changed files since the last synchronization, keyed by URI */
+  private Map<URI, ISonarLintFile> pendingChangedOrAddedFiles = new LinkedHashMap<>();
+  /** All removed files since the last synchronization */
+  private Set<URI> pendingRemovedFiles = new LinkedHashSet<>();
+  /** The files added since the last synchronization, when removed again SLCORE never has to know about them */
+  private Set<URI> pendingAddedFiles = new HashSet<>();
+  private final Job synchronizationJob = new Job("SonarLint - Propagate FileSystem changes") {
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      try (var fileContentSession = FileContentSession.open()) {
+        synchronizePendingChanges(monitor);
+      }
+      return Status.OK_STATUS;
+    }
+  };
 
   FileSystemSynchronizer(SonarLintRpcServer backend) {
     this.backend = backend;
+    synchronizationJob.setSystem(true);
+  }
+
+  /** The changes made while the backend was down are not replayed, the files are listed again for the new one */
+  void backendRestarted(SonarLintRpcServer newBackend) {
+    this.backend = newBackend;
   }
 
   @Override
   public void resourceChanged(IResourceChangeEvent event) {
     var changedOrAddedFiles = new ArrayList<ISonarLintFile>();
+    var addedFiles = new HashSet<URI>();
     var removedFiles = new ArrayList<URI>();
     try {
-      event.getDelta().accept(delta -> visitDeltaPostChange(delta, changedOrAddedFiles, removedFiles));
+      event.getDelta().accept(delta -> visitDeltaPostChange(delta, changedOrAddedFiles, addedFiles, removedFiles));
     } catch (CoreException e) {
       SonarLintLogger.get().error(e.getMessage(), e);
     }
@@ -86,64 +126,73 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
       return;
     }
 
-    // In order to not intervene with the DefaultSonarLintProjectAdapter we have to invalidate the cache as early as
-    // possible! Otherwise "importing a project", then "analyzing whole project" wouldn't work because the initial
-    // "DefaultSonarLintProjectAdapter#files()" call will always include no files after an import, they have to be
-    // "added" first and that is done the first time this is called!
-    final ISonarLintProject project;
-    if (!changedOrAddedFiles.isEmpty()) {
-      project = changedOrAddedFiles.get(0).getProject();
-
-      // Invalidate cache if files were added, or changed as otherwise importing another related hierarchical project
-      // as well as manually selecting multiple projects for analysis would be affected and could potentially lead to
-      // incorrect results!
-      DefaultSonarLintProjectAdapterCache.INSTANCE.removeEntry(
-        ConfigScopeSynchronizer.getConfigScopeId(project));
-    } else {
-      // The variable has to be "final" to be usable in the thread spawned by the job, therefore we set it here
-      // to null in order to not have it in a "unitialized" state as it doesn't default to "null"!
-      project = null;
+    synchronized (pendingChangesLock) {
+      for (var removedFile : removedFiles) {
+        pendingChangedOrAddedFiles.remove(removedFile);
+        if (!pendingAddedFiles.remove(removedFile)) {
+          pendingRemovedFiles.add(removedFile);
+        }
+      }
+      for (var file : changedOrAddedFiles) {
+        var fileUri = file.uri();
+        // Removed and added again in the same window is just a change for SLCORE
+        var wasRemoved = pendingRemovedFiles.remove(fileUri);
+        if (!wasRemoved && addedFiles.contains(fileUri)) {
+          pendingAddedFiles.add(fileUri);
+        }
+        pendingChangedOrAddedFiles.put(fileUri, file);
+      }
     }
 
-    var job = new Job("SonarLint - Propagate FileSystem changes") {
-      @Override
-      protected IStatus run(IProgressMonitor monitor) {
-        // For added files this won't include SonarLint configuration files in order to not suggest connections twice
-        // after a project import (everything after an import is also considered "added"). In case of changes done
-        // either inside or outside the IDE, the files will be included.
-        var changedOrAddedDto = changedOrAddedFiles.stream()
-          .map(f -> FileSystemSynchronizer.toFileDto(f, monitor))
-          .collect(toList());
-
-        // In order to add additional "changes" for informing the sub-projects we have to make the list modifiable!
-        var allChangedOrAddedDtos = new ArrayList<>(changedOrAddedDto);
-
-        var changedOrAddedSonarLintDto = allChangedOrAddedDtos.stream()
-          .filter(dto -> SONARLINT_JSON_REGEX.matcher(dto.getIdeRelativePath().toString()).find())
-          .collect(toList());
-
-        // Only if there were actual changes to SonarLint configuration files we want to do the hussle and check for
-        // sub-projects and inform them as well!
-        if (!changedOrAddedSonarLintDto.isEmpty()) {
-          // INFO: "project" cannot be null in this case!
-          for (var subProject : getSubProjects(project)) {
-            var changedOrAddedSubProjectDto = changedOrAddedSonarLintDto.stream()
-              .map(dto -> toSubProjectFileDto(subProject, dto))
-              .collect(toList());
-            allChangedOrAddedDtos.addAll(changedOrAddedSubProjectDto);
-          }
-        }
+    // Not delaying the job again when it is already waiting, otherwise constant changes would delay it forever
+    var state = synchronizationJob.getState();
+    if (state != Job.SLEEPING && state != Job.WAITING) {
+      synchronizationJob.schedule(SYNC_WINDOW_MS);
+    }
+  }
+
+  private void synchronizePendingChanges(IProgressMonitor monitor) {
+    Collection<ISonarLintFile> changedOrAddedFiles;
+    List<URI> removedFiles;
+    synchronized (pendingChangesLock) {
+      changedOrAddedFiles = pendingChangedOrAddedFiles.values();
+      removedFiles = new ArrayList<>(pendingRemovedFiles);
+      pendingChangedOrAddedFiles = new LinkedHashMap<>();
+      pendingRemovedFiles = new LinkedHashSet<>();
+      pendingAddedFiles = new HashSet<>();
+    }
+    if (changedOrAddedFiles.isEmpty() && removedFiles.isEmpty()) {
+      return;
+    }
 
-        backend.getFileService().didUpdateFileSystem(new DidUpdateFileSystemParams(removedFiles, allChangedOrAddedDtos));
-        return Status.OK_STATUS;
+    // For added files this won't include SonarLint configuration files in order to not suggest connections twice
+    // after a project import (everything after an import is also considered "added"). In case of changes done
+    // either inside or outside the IDE, the files will be included.
+    var changedOrAddedDtos = new ArrayList<ClientFileDto>();
+    var changedOrAddedSonarLintDtosByProject = new HashMap<ISonarLintProject, List<ClientFileDto>>();
+    for (var file : changedOrAddedFiles) {
+      var dto = toFileDto(file, monitor);
+      changedOrAddedDtos.add(dto);
+      if (SONARLINT_JSON_REGEX.matcher(dto.getIdeRelativePath().toString()).find()) {
+        changedOrAddedSonarLintDtosByProject.computeIfAbsent(file.getProject(), k -> new ArrayList<>()).add(dto);
       }
-    };
+    }
 
-    job.setSystem(true);
-    job.schedule();
+    // Only if there were actual changes to SonarLint configuration files we want to do the hussle and check for
+    // sub-projects and inform them as well!
+    for (var entry : changedOrAddedSonarLintDtosByProject.entrySet()) {
+      for (var subProject : getSubProjects(entry.getKey())) {
+        entry.getValue().stream()
+          .map(dto -> toSubProjectFileDto(subProject, dto))
+          .forEach(changedOrAddedDtos::add);
+      }
+    }
+
+    backend.getFileService().didUpdateFileSystem(new DidUpdateFileSystemParams(removedFiles, changedOrAddedDtos));
   }
 
-  private static boolean visitDeltaPostChange(IResourceDelta delta, List<ISonarLintFile> changedOrAddedFiles, List<URI> removedFiles) {
+  private static boolean visitDeltaPostChange(IResourceDelta delta, List<ISonarLintFile> changedOrAddedFiles, Set<URI> addedFiles,
+    List<URI> removedFiles) {
     var res = delta.getResource();
     var fullPath = res.getFullPath();
 
@@ -153,6 +202,9 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
       return false;
     }
 
+    // Keep the index of the project files up to date, it is used instead of visiting the whole project every time!
+    ProjectFileIndex.INSTANCE.processDelta(delta);
+
     if (delta.getKind() == IResourceDelta.REMOVED) {
       // When something got removed, we don't care for exclusions and the adaption to ISonarLintFile. This happens not
       // as often as adding or changing files to we will just let SLCORE handle it and don't "care" anymore about it.
@@ -161,6 +213,7 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
         removedFiles.add(fileUri);
         SonarLintLogger.get().debug("File removed: " + fileUri);
       }
+      InputMirror.resourceRemoved(res);
       return true;
     }
 
@@ -175,26 +228,17 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
       return true;
     }
 
-    var project = slFile.getProject();
-    var configScopeId = ConfigScopeSynchronizer.getConfigScopeId(project);
-    var exclusions = IProjectScopeProviderCache.INSTANCE.getEntry(configScopeId);
-    if (exclusions == null) {
-      exclusions = getExclusions((IProject) project.getResource());
-      IProjectScopeProviderCache.INSTANCE.putEntry(configScopeId, exclusions);
-    }
-
     // Compared to "DefaultSonarLintProjectAdapter#files" this is only on a resource delta, therefore we won't visit
-    // the folders containing the files that were added / changed. And therefore we have to iterate over the exclusions
-    // instead of just checking whether the "whole" path is in there (as it would be the case for a folder).
-    for (var exclusion : exclusions) {
-      if (SonarLintUtils.isChild(fullPath, exclusion)) {
-        return false;
-      }
+    // the folders containing the files that were added / changed. And therefore we have to check the exclusions for
+    // the "whole" path of the file instead of just checking whether the path is in there (as it would be for a folder).
+    if (getProjectScopeExclusions(slFile.getProject()).test(fullPath)) {
+      return false;
     }
 
     if (delta.getKind() == IResourceDelta.ADDED) {
       SonarLintLogger.get().debug("File added: " + slFile.getName());
       changedOrAddedFiles.add(slFile);
+      addedFiles.add(slFile.uri());
     } else if (delta.getKind() == IResourceDelta.CHANGED) {
       var interestingChangeForSlBackend = false;
       var flags = delta.getFlags();
@@ -302,6 +346,22 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
     return language != null ? Language.valueOf(language.name()) : null;
   }
 
+  /** The exclusions of the project scope providers are compiled again only when the cached ones were recomputed */
+  private static ExclusionMatcher getProjectScopeExclusions(ISonarLintProject project) {
+    var configScopeId = ConfigScopeSynchronizer.getConfigScopeId(project);
+    var exclusions = IProjectScopeProviderCache.INSTANCE.getEntry(configScopeId);
+    if (exclusions == null) {
+      exclusions = getExclusions((IProject) project.getResource());
+      IProjectScopeProviderCache.INSTANCE.putEntry(configScopeId, exclusions);
+    }
+    var compiled = compiledProjectScopeExclusions.get(configScopeId);
+    if (compiled == null || compiled.exclusions != exclusions) {
+      compiled = new CompiledProjectScopeExclusions(exclusions);
+      compiledProjectScopeExclusions.put(configScopeId, compiled);
+    }
+    return compiled.matcher;
+  }
+
   private static Set<IPath> getExclusions(IProject project) {
     var exclusions = new HashSet<IPath>();
     for (var projectScopeProvider : SonarLintExtensionTracker.getInstance().getProjectScopeProviders()) {
@@ -309,4 +369,14 @@ public class FileSystemSynchronizer implements IResourceChangeListener {
     }
     return exclusions;
   }
+
+  private static class CompiledProjectScopeExclusions {
+    private final Set<IPath> exclusions;
+    private final ExclusionMatcher matcher;
+
+    private CompiledProjectScopeExclusions(Set<IPath> exclusions) {
+      this.exclusions = exclusions;
+      this.matcher = ExclusionMatcher.compileDirectories(exclusions);
+    }
+  }
 }
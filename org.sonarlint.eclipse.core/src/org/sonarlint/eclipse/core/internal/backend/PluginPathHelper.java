@@ -24,23 +24,17 @@ import java.net.URL;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 
-import static java.util.stream.Collectors.toList;
-
 public class PluginPathHelper {
 
   public static List<Path> getEmbeddedPluginPaths() {
     var pluginEntriesEnum = SonarLintCorePlugin.getInstance().getBundle().findEntries("/plugins", "*.jar", false);
     if (pluginEntriesEnum != null) {
-      return Collections.list(pluginEntriesEnum).stream()
-        .map(PluginPathHelper::toPath)
-        .filter(Objects::nonNull)
-        .collect(toList());
+      return EmbeddedPluginCache.get().resolve(Collections.list(pluginEntriesEnum));
     } else {
       throw new IllegalStateException("Unable to find any embedded plugin");
     }
@@ -90,7 +84,8 @@ public class PluginPathHelper {
     if (pluginUrls.size() > 1) {
       throw new IllegalStateException("Multiple plugins found");
     }
-    return pluginUrls.size() == 1 ? toPath(pluginUrls.get(0)) : null;
+    // Already resolved together with all the other embedded plug-ins
+    return pluginUrls.size() == 1 ? EmbeddedPluginCache.get().resolve(pluginUrls.get(0)) : null;
   }
 
 }
@@ -19,11 +19,18 @@
  */
 package org.sonarlint.eclipse.core.internal.backend;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.TriggerType;
 import org.sonarlint.eclipse.core.internal.jobs.AnalysisState;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
 /**
  * The analysis state will be updated and queried from two different places
@@ -45,8 +52,40 @@ public class RunningAnalysesTracker {
     analysisStateById.remove(analysisState.getId());
   }
 
+  /** When the backend crashed, the analyses running on it won't finish: they are removed to be scheduled again */
+  public List<AnalysisState> removeAll() {
+    var analyses = new ArrayList<AnalysisState>();
+    for (var analysisState : analysisStateById.values()) {
+      if (analysisStateById.remove(analysisState.getId()) != null) {
+        analyses.add(analysisState);
+      }
+    }
+    return analyses;
+  }
+
   @Nullable
   public AnalysisState getById(UUID analysisId) {
     return analysisStateById.get(analysisId);
   }
+
+  /**
+   *  Cancel the on-the-fly analyses running on the project that will be made obsolete by a new one: All their files
+   *  are analyzed again and they would not fetch server issues the new one doesn't fetch.
+   */
+  public void cancelSuperseded(ISonarLintProject project, Set<URI> fileURIs, TriggerType triggerType) {
+    if (!triggerType.isOnTheFly()) {
+      return;
+    }
+    var configScopeId = ConfigScopeSynchronizer.getConfigScopeId(project);
+    for (var analysisState : analysisStateById.values()) {
+      var runningTrigger = analysisState.getTriggerType();
+      if (runningTrigger.isOnTheFly()
+        && configScopeId.equals(analysisState.getConfigScopeId())
+        && (triggerType.shouldFetch() || !runningTrigger.shouldFetch())
+        && fileURIs.containsAll(analysisState.getFileURIs())) {
+        SonarLintLogger.get().debug("Cancelling analysis " + analysisState.getId() + " superseded by a new one");
+        analysisState.cancel();
+      }
+    }
+  }
 }
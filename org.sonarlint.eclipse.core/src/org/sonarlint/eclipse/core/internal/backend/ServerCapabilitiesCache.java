@@ -0,0 +1,189 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.backend;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.core.resources.WorkspaceJob;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.markers.MarkerUtils;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+/**
+ *  Capabilities of the server a project is bound to, per configuration scope. They are fetched from SLCORE in the
+ *  background on first access and kept until the binding or the connections change. When the configuration scope is
+ *  synchronized they are refreshed in the background. Until they are known, the capabilities are considered not
+ *  supported, so that callers (e.g. marker updates) never wait for a round trip to the backend.
+ */
+public class ServerCapabilitiesCache {
+  private static final ServerCapabilitiesCache INSTANCE = new ServerCapabilitiesCache();
+
+  public static ServerCapabilitiesCache get() {
+    return INSTANCE;
+  }
+
+  private final Map<String, CompletableFuture<ServerCapabilities>> capabilitiesByConfigScopeId = new ConcurrentHashMap<>();
+
+  /** Never blocks, when the capabilities are not known yet they are fetched in the background */
+  public ServerCapabilities getCapabilities(ISonarLintProject project) {
+    if (!SonarLintCorePlugin.loadConfig(project).isBound()) {
+      return ServerCapabilities.NONE;
+    }
+    var configScopeId = ConfigScopeSynchronizer.getConfigScopeId(project);
+    var capabilities = capabilitiesByConfigScopeId.get(configScopeId);
+    if (capabilities == null) {
+      var fetching = new CompletableFuture<ServerCapabilities>();
+      capabilities = capabilitiesByConfigScopeId.putIfAbsent(configScopeId, fetching);
+      if (capabilities == null) {
+        capabilities = fetching;
+        fetch(project, configScopeId, fetching);
+      }
+    }
+    return capabilities.getNow(ServerCapabilities.NONE);
+  }
+
+  private void fetch(ISonarLintProject project, String configScopeId, CompletableFuture<ServerCapabilities> fetching) {
+    request(project).whenComplete((capabilities, error) -> {
+      if (error != null) {
+        SonarLintLogger.get().error("Could not check the capabilities of the server project '" + project.getName() + "' is bound to", error);
+        // Don't keep a failed request, the next access will try again
+        capabilitiesByConfigScopeId.remove(configScopeId, fetching);
+        fetching.complete(ServerCapabilities.NONE);
+        return;
+      }
+      fetching.complete(capabilities);
+      // Markers written in the meantime were written as if the capabilities were not supported
+      if (capabilitiesByConfigScopeId.get(configScopeId) == fetching && !capabilities.equals(ServerCapabilities.NONE)) {
+        new UpdateMarkersCapabilitiesJob(project, capabilities).schedule();
+      }
+    });
+  }
+
+  private static CompletableFuture<ServerCapabilities> request(ISonarLintProject project) {
+    return SonarLintBackendService.get().checkAnticipatedStatusChangeSupported(project)
+      .thenApply(response -> new ServerCapabilities(response.isSupported()));
+  }
+
+  /**
+   *  After the configuration scope was synchronized the capabilities are fetched again in the background, in the
+   *  meantime the known ones are still used. Markers are only updated when the capabilities actually changed.
+   */
+  public void refresh(String configScopeId) {
+    var current = capabilitiesByConfigScopeId.get(configScopeId);
+    if (current == null) {
+      // Will be fetched on next access
+      return;
+    }
+    if (!current.isDone()) {
+      // The ongoing request might have been answered before the synchronization
+      current.thenRun(() -> refresh(configScopeId));
+      return;
+    }
+    var projectOpt = SonarLintUtils.tryResolveProject(configScopeId);
+    if (projectOpt.isEmpty()) {
+      invalidate(configScopeId);
+      return;
+    }
+    var project = projectOpt.get();
+    var previous = current.getNow(ServerCapabilities.NONE);
+    request(project).whenComplete((capabilities, error) -> {
+      if (error != null) {
+        SonarLintLogger.get().debug("Could not refresh the capabilities of the server project '" + project.getName() + "' is bound to: " + error.getMessage());
+        return;
+      }
+      // Not replaced if invalidated (or refreshed) in the meantime
+      if (capabilitiesByConfigScopeId.replace(configScopeId, current, CompletableFuture.completedFuture(capabilities))
+        && !capabilities.equals(previous)) {
+        new UpdateMarkersCapabilitiesJob(project, capabilities).schedule();
+      }
+    });
+  }
+
+  /** When the binding changed or the configuration scope was removed */
+  public void invalidate(String configScopeId) {
+    capabilitiesByConfigScopeId.remove(configScopeId);
+  }
+
+  /** When the connections changed */
+  public void invalidateAll() {
+    capabilitiesByConfigScopeId.clear();
+  }
+
+  public static class ServerCapabilities {
+    /** Used for unbound projects and as long as the capabilities of the server are not known */
+    public static final ServerCapabilities NONE = new ServerCapabilities(false);
+
+    private final boolean anticipatedStatusChangeSupported;
+
+    ServerCapabilities(boolean anticipatedStatusChangeSupported) {
+      this.anticipatedStatusChangeSupported = anticipatedStatusChangeSupported;
+    }
+
+    /** SonarQube 10.2+ offers changing the status of issues not yet on the server */
+    public boolean isAnticipatedStatusChangeSupported() {
+      return anticipatedStatusChangeSupported;
+    }
+
+    @Override
+    public int hashCode() {
+      return Boolean.hashCode(anticipatedStatusChangeSupported);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if ((obj == null) || (getClass() != obj.getClass())) {
+        return false;
+      }
+      var other = (ServerCapabilities) obj;
+      return anticipatedStatusChangeSupported == other.anticipatedStatusChangeSupported;
+    }
+  }
+
+  private static class UpdateMarkersCapabilitiesJob extends WorkspaceJob {
+    private final ISonarLintProject project;
+    private final ServerCapabilities capabilities;
+
+    UpdateMarkersCapabilitiesJob(ISonarLintProject project, ServerCapabilities capabilities) {
+      super("Update SonarLint markers of project " + project.getName());
+      this.project = project;
+      this.capabilities = capabilities;
+      setSystem(true);
+      setRule(project.getResource());
+    }
+
+    @Override
+    public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
+      if (project.isOpen()) {
+        MarkerUtils.updateAnticipatedIssueAttribute(project.getResource(), capabilities.isAnticipatedStatusChangeSupported());
+      }
+      return Status.OK_STATUS;
+    }
+  }
+}
@@ -29,6 +29,7 @@ import java.nio.file.attribute.PosixFilePermission;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -47,7 +48,12 @@ import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.StoragePathManager;
 import org.sonarlint.eclipse.core.internal.engine.connected.ConnectionFacade;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisRequestScheduler;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisState;
+import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest;
+import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest.FileWithDocument;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
+import org.sonarlint.eclipse.core.internal.resources.ProjectFileIndex;
 import org.sonarlint.eclipse.core.internal.telemetry.SonarLintTelemetry;
 import org.sonarlint.eclipse.core.internal.utils.DurationUtils;
 import org.sonarlint.eclipse.core.internal.utils.JavaRuntimeUtils;
@@ -107,9 +113,19 @@ public class SonarLintBackendService {
   @Nullable
   private static FileSystemSynchronizer fileSystemSynchronizer;
   @Nullable
-  private SonarLintRpcServer backend;
+  private volatile SonarLintRpcServer backend;
 
   private Job initJob;
+  @Nullable
+  private Job restartJob;
+  private final BackendRestartPolicy restartPolicy = BackendRestartPolicy.fromSystemProperties();
+  private volatile boolean stopped;
+
+  @Nullable
+  private volatile Set<Path> embeddedPluginPaths;
+  @Nullable
+  private volatile Map<String, Path> embeddedPlugins;
+  private final Runnable pluginCacheEvictionListener = this::forgetEmbeddedPlugins;
 
   private SloopLauncher sloopLauncher;
   private HttpConfigurationDto httpConfiguration;
@@ -136,88 +152,27 @@ public class SonarLintBackendService {
       DurationUtils.getTimeoutProperty("sonarlint.http.connectionRequestTimeout"),
       DurationUtils.getTimeoutProperty("sonarlint.http.responseTimeout"));
 
+    EmbeddedPluginCache.get().addEvictionListener(pluginCacheEvictionListener);
+
     initJob = new Job("Backend initialization") {
       @Override
       protected IStatus run(IProgressMonitor monitor) {
         SonarLintLogger.get().debug("Initializing SonarLint backend...");
-        try {
-          var sloopJarUrls = SonarLintCorePlugin.getInstance().getBundle().findEntries("/sloop/lib", "sonarlint-core-*", false);
-          if (!sloopJarUrls.hasMoreElements()) {
-            throw new IllegalStateException("Unable to locate the Sloop installation");
-          }
-          var sloopJarUrl = FileLocator.toFileURL(sloopJarUrls.nextElement());
-          var sloopJarPath = new File(sloopJarUrl.getFile()).toPath();
-          SonarLintLogger.get().debug("SonarLint Core Jar archive located at " + sloopJarPath);
-          var sloopBasedir = sloopJarPath.getParent().getParent();
-          SonarLintLogger.get().debug("Sloop located in " + sloopBasedir);
-
-          var javaRuntimeInformation = JavaRuntimeUtils.getJavaRuntime();
-          var javaRuntimePath = javaRuntimeInformation.getPath();
-          switch (javaRuntimeInformation.getProvider()) {
-            case SELF_MANAGED:
-              SonarLintLogger.get().info("Using self-managed Java installation");
-              fixExecutablePermissions();
-              break;
-            case ECLIPSE_MANAGED:
-              SonarLintLogger.get().info("Using Java installation of Eclipse");
-              break;
-            case SONARLINT_BUNDLED:
-              SonarLintLogger.get().info("Using Java installation of SonarLint");
-          }
-
-          var sloop = sloopLauncher.start(sloopBasedir, javaRuntimePath);
-          sloop.onExit().thenAccept(SonarLintBackendService::onSloopExit);
-          backend = sloop.getRpcServer();
-
-          var embeddedPluginPaths = PluginPathHelper.getEmbeddedPluginPaths();
-          embeddedPluginPaths.stream().forEach(p -> SonarLintLogger.get().debug("  - " + p));
-
-          Map<String, Path> embeddedPlugins = new HashMap<>();
-          embeddedPlugins.put("javascript", requireNonNull(PluginPathHelper.findEmbeddedJsPlugin(), "JS/TS plugin not found"));
-          embeddedPlugins.put("web", requireNonNull(PluginPathHelper.findEmbeddedHtmlPlugin(), "HTML plugin not found"));
-          embeddedPlugins.put("xml", requireNonNull(PluginPathHelper.findEmbeddedXmlPlugin(), "XML plugin not found"));
-          embeddedPlugins.put("text", requireNonNull(PluginPathHelper.findEmbeddedSecretsPlugin(), "Secrets plugin not found"));
-
-          var sqConnections = ConnectionSynchronizer.buildSqConnectionDtos();
-          var scConnections = ConnectionSynchronizer.buildScConnectionDtos();
-
-          // Check if telemetry was disabled via system properties (e.g. in unit / integration tests)
-          var telemetryEnabled = !Boolean.parseBoolean(System.getProperty("sonarlint.telemetry.disabled", "false"));
-
-          backend.initialize(new InitializeParams(
-            new ClientConstantInfoDto(getIdeName(), "SonarLint Eclipse " + SonarLintUtils.getPluginVersion()),
-            new TelemetryClientConstantAttributesDto("eclipse", "SonarLint Eclipse", SonarLintUtils.getPluginVersion(), SonarLintTelemetry.ideVersionForTelemetry(),
-              Map.of()),
-            httpConfiguration,
-            getSonarCloudAlternativeEnvironment(),
-            new FeatureFlagsDto(true, true, true, true, false, true, true, true, telemetryEnabled, true),
-            StoragePathManager.getStorageDir(),
-            StoragePathManager.getDefaultWorkDir(),
-            Set.copyOf(embeddedPluginPaths),
-            embeddedPlugins,
-            SonarLintUtils.getStandaloneEnabledLanguages().stream().map(l -> Language.valueOf(l.name())).collect(Collectors.toSet()),
-            SonarLintUtils.getConnectedEnabledLanguages().stream().map(l -> Language.valueOf(l.name())).collect(Collectors.toSet()),
-            null,
-            sqConnections,
-            scConnections,
-            null,
-            SonarLintGlobalConfiguration.buildStandaloneRulesConfigDto(),
-            SonarLintGlobalConfiguration.issuesOnlyNewCode(),
-            new LanguageSpecificRequirements(SonarLintGlobalConfiguration.getNodejsPath(), null),
-            false,
-            null)).join();
-        } catch (IOException e) {
-          throw new IllegalStateException("Unable to initialize the SonarLint Backend", e);
+        var rpcServer = startAndInitialize();
+        if (rpcServer == null) {
+          return Status.CANCEL_STATUS;
         }
-        connectionSynchronizer = new ConnectionSynchronizer(backend);
+
+        connectionSynchronizer = new ConnectionSynchronizer(rpcServer);
         SonarLintCorePlugin.getConnectionManager().addConnectionManagerListener(connectionSynchronizer);
 
-        configScopeSynchronizer = new ConfigScopeSynchronizer(backend);
+        configScopeSynchronizer = new ConfigScopeSynchronizer(rpcServer);
         ResourcesPlugin.getWorkspace().addResourceChangeListener(configScopeSynchronizer);
         configScopeSynchronizer.init();
 
-        fileSystemSynchronizer = new FileSystemSynchronizer(backend);
+        fileSystemSynchronizer = new FileSystemSynchronizer(rpcServer);
         ResourcesPlugin.getWorkspace().addResourceChangeListener(fileSystemSynchronizer, IResourceChangeEvent.POST_CHANGE);
+        ProjectFileIndex.INSTANCE.install();
 
         VcsService.installBranchChangeListener();
 
@@ -225,32 +180,158 @@ public class SonarLintBackendService {
 
         return Status.OK_STATUS;
       }
+    };
+    initJob.schedule();
+
+  }
+
+  /**
+   *  Start a new Sloop process and initialize it, used for the initial start as well as when restarting it.
+   *
+   *  @return null if the service was stopped in the meantime, the new process is then shut down right away
+   */
+  @Nullable
+  private SonarLintRpcServer startAndInitialize() {
+    if (stopped) {
+      return null;
+    }
+    try {
+      var sloopJarUrls = SonarLintCorePlugin.getInstance().getBundle().findEntries("/sloop/lib", "sonarlint-core-*", false);
+      if (!sloopJarUrls.hasMoreElements()) {
+        throw new IllegalStateException("Unable to locate the Sloop installation");
+      }
+      var sloopJarUrl = FileLocator.toFileURL(sloopJarUrls.nextElement());
+      var sloopJarPath = new File(sloopJarUrl.getFile()).toPath();
+      SonarLintLogger.get().debug("SonarLint Core Jar archive located at " + sloopJarPath);
+      var sloopBasedir = sloopJarPath.getParent().getParent();
+      SonarLintLogger.get().debug("Sloop located in " + sloopBasedir);
+
+      var javaRuntimeInformation = JavaRuntimeUtils.getJavaRuntime();
+      var javaRuntimePath = javaRuntimeInformation.getPath();
+      switch (javaRuntimeInformation.getProvider()) {
+        case SELF_MANAGED:
+          SonarLintLogger.get().info("Using self-managed Java installation");
+          fixExecutablePermissions();
+          break;
+        case ECLIPSE_MANAGED:
+          SonarLintLogger.get().info("Using Java installation of Eclipse");
+          break;
+        case SONARLINT_BUNDLED:
+          SonarLintLogger.get().info("Using Java installation of SonarLint");
+      }
 
-      /**
-       * When running tests, Tycho does not execute p2 directives, so we have to manually fix the permissions of the sloop executables.
-       */
-      private void fixExecutablePermissions() throws IOException {
-        fixExecutablePermissions("/sloop/jre/bin", "java");
-        fixExecutablePermissions("/sloop/jre/lib", "jspawnhelper");
-        fixExecutablePermissions("/sloop/jre/lib", "jexec");
+      var sloop = sloopLauncher.start(sloopBasedir, javaRuntimePath);
+      var rpcServer = sloop.getRpcServer();
+
+      try {
+        // When Sloop dies while initializing, the response would never come in
+        var initialized = rpcServer.initialize(buildInitializeParams());
+        sloop.onExit().thenAccept(exitCode -> initialized.completeExceptionally(
+          new IllegalStateException("SonarLint backend exited during its initialization with exit code " + exitCode)));
+        initialized.join();
+      } catch (RuntimeException e) {
+        // Otherwise the process would stay around without anyone using it
+        if (!sloop.onExit().isDone()) {
+          sloop.destroyForcibly();
+        }
+        throw e;
       }
 
-      private void fixExecutablePermissions(String dir, String file) throws IOException {
-        var sloopShellScriptUrls = SonarLintCorePlugin.getInstance().getBundle().findEntries(dir, file, false);
-        if (sloopShellScriptUrls != null && sloopShellScriptUrls.hasMoreElements()) {
-          var jreBin = FileLocator.toFileURL(sloopShellScriptUrls.nextElement());
-          var jreBinPath = new File(jreBin.getFile()).toPath();
-          var existingPerm = Files.getPosixFilePermissions(jreBinPath);
-          if (!existingPerm.contains(PosixFilePermission.OWNER_EXECUTE)) {
-            existingPerm.add(PosixFilePermission.OWNER_EXECUTE);
-            Files.setPosixFilePermissions(jreBinPath, existingPerm);
-          }
+      synchronized (this) {
+        if (stopped) {
+          // Stopping does not wait for a (re-)start in progress
+          rpcServer.shutdown();
+          return null;
         }
+        backend = rpcServer;
       }
+      sloop.onExit().thenAccept(exitCode -> onSloopExit(rpcServer, exitCode));
+      return rpcServer;
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to initialize the SonarLint Backend", e);
+    }
+  }
 
-    };
-    initJob.schedule();
+  /** The plug-in cache removed a plug-in handed out before, it has to be looked up again on the next (re-)start */
+  private void forgetEmbeddedPlugins() {
+    embeddedPluginPaths = null;
+    embeddedPlugins = null;
+  }
+
+  /**
+   *  The embedded plug-ins are only looked up once (unless evicted from the cache), they don't change while the IDE is
+   *  running. Everything based on the preferences is read again, as it might have changed since the last (re-)start of
+   *  the backend.
+   */
+  private InitializeParams buildInitializeParams() {
+    var pluginPaths = embeddedPluginPaths;
+    var plugins = embeddedPlugins;
+    if (pluginPaths == null || plugins == null) {
+      var foundPluginPaths = PluginPathHelper.getEmbeddedPluginPaths();
+      foundPluginPaths.stream().forEach(p -> SonarLintLogger.get().debug("  - " + p));
+
+      Map<String, Path> foundPlugins = new HashMap<>();
+      foundPlugins.put("javascript", requireNonNull(PluginPathHelper.findEmbeddedJsPlugin(), "JS/TS plugin not found"));
+      foundPlugins.put("web", requireNonNull(PluginPathHelper.findEmbeddedHtmlPlugin(), "HTML plugin not found"));
+      foundPlugins.put("xml", requireNonNull(PluginPathHelper.findEmbeddedXmlPlugin(), "XML plugin not found"));
+      foundPlugins.put("text", requireNonNull(PluginPathHelper.findEmbeddedSecretsPlugin(), "Secrets plugin not found"));
+
+      pluginPaths = Set.copyOf(foundPluginPaths);
+      plugins = Map.copyOf(foundPlugins);
+      embeddedPluginPaths = pluginPaths;
+      embeddedPlugins = plugins;
+    }
+
+    var sqConnections = ConnectionSynchronizer.buildSqConnectionDtos();
+    var scConnections = ConnectionSynchronizer.buildScConnectionDtos();
+
+    // Check if telemetry was disabled via system properties (e.g. in unit / integration tests)
+    var telemetryEnabled = !Boolean.parseBoolean(System.getProperty("sonarlint.telemetry.disabled", "false"));
+
+    return new InitializeParams(
+      new ClientConstantInfoDto(getIdeName(), "SonarLint Eclipse " + SonarLintUtils.getPluginVersion()),
+      new TelemetryClientConstantAttributesDto("eclipse", "SonarLint Eclipse", SonarLintUtils.getPluginVersion(), SonarLintTelemetry.ideVersionForTelemetry(),
+        Map.of()),
+      httpConfiguration,
+      getSonarCloudAlternativeEnvironment(),
+      new FeatureFlagsDto(true, true, true, true, false, true, true, true, telemetryEnabled, true),
+      StoragePathManager.getStorageDir(),
+      StoragePathManager.getDefaultWorkDir(),
+      pluginPaths,
+      plugins,
+      SonarLintUtils.getStandaloneEnabledLanguages().stream().map(l -> Language.valueOf(l.name())).collect(Collectors.toSet()),
+      SonarLintUtils.getConnectedEnabledLanguages().stream().map(l -> Language.valueOf(l.name())).collect(Collectors.toSet()),
+      null,
+      sqConnections,
+      scConnections,
+      null,
+      SonarLintGlobalConfiguration.buildStandaloneRulesConfigDto(),
+      SonarLintGlobalConfiguration.issuesOnlyNewCode(),
+      new LanguageSpecificRequirements(SonarLintGlobalConfiguration.getNodejsPath(), null),
+      false,
+      null);
+  }
+
+  /**
+   * When running tests, Tycho does not execute p2 directives, so we have to manually fix the permissions of the sloop executables.
+   */
+  private static void fixExecutablePermissions() throws IOException {
+    fixExecutablePermissions("/sloop/jre/bin", "java");
+    fixExecutablePermissions("/sloop/jre/lib", "jspawnhelper");
+    fixExecutablePermissions("/sloop/jre/lib", "jexec");
+  }
 
+  private static void fixExecutablePermissions(String dir, String file) throws IOException {
+    var sloopShellScriptUrls = SonarLintCorePlugin.getInstance().getBundle().findEntries(dir, file, false);
+    if (sloopShellScriptUrls != null && sloopShellScriptUrls.hasMoreElements()) {
+      var jreBin = FileLocator.toFileURL(sloopShellScriptUrls.nextElement());
+      var jreBinPath = new File(jreBin.getFile()).toPath();
+      var existingPerm = Files.getPosixFilePermissions(jreBinPath);
+      if (!existingPerm.contains(PosixFilePermission.OWNER_EXECUTE)) {
+        existingPerm.add(PosixFilePermission.OWNER_EXECUTE);
+        Files.setPosixFilePermissions(jreBinPath, existingPerm);
+      }
+    }
   }
 
   @Nullable
@@ -269,12 +350,101 @@ public class SonarLintBackendService {
     return property == null ? null : Paths.get(property);
   }
 
-  private static void onSloopExit(int exitCode) {
-    if (exitCode != 0) {
-      // When the exit code is 0 we accept it as a normal shutdown of the RPC server.
-      SonarLintRpcClientSupportSynchronizer.setSloopAvailability(false);
+  private void onSloopExit(SonarLintRpcServer exitedBackend, int exitCode) {
+    // When the exit code is 0 we accept it as a normal shutdown of the RPC server.
+    if (exitCode == 0 || stopped || exitedBackend != backend) {
+      return;
+    }
+    SonarLintRpcClientSupportSynchronizer.setSloopAvailability(false);
+    SonarLintLogger.get().error("SonarLint backend exited unexpectedly with exit code " + exitCode);
+
+    // The analyses running on the crashed backend will never finish, they are scheduled again after the restart
+    scheduleRestart(RunningAnalysesTracker.get().removeAll());
+  }
+
+  private synchronized void scheduleRestart(List<AnalysisState> interruptedAnalyses) {
+    if (stopped) {
+      return;
+    }
+    var delay = restartPolicy.onCrash(System.currentTimeMillis());
+    if (delay == BackendRestartPolicy.NO_RESTART) {
+      SonarLintLogger.get().error("SonarLint backend crashed too many times in a row, it won't be restarted anymore. "
+        + "Please restart the IDE.");
+      return;
+    }
+    SonarLintLogger.get().info("Restarting SonarLint backend in " + delay + " ms...");
+    restartJob = new RestartJob(interruptedAnalyses);
+    restartJob.schedule(delay);
+  }
+
+  /**
+   *  Restarts the backend and brings it back to the state of the previous one: the configuration scopes are added
+   *  again and the analyses that were interrupted by the crash are scheduled again. Until then, calls to the backend
+   *  still fail like they did before the restart.
+   */
+  private class RestartJob extends Job {
+    private final List<AnalysisState> interruptedAnalyses;
+
+    private RestartJob(List<AnalysisState> interruptedAnalyses) {
+      super("Restart SonarLint backend");
+      this.interruptedAnalyses = interruptedAnalyses;
+      setSystem(true);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      SonarLintRpcServer rpcServer;
+      try {
+        rpcServer = startAndInitialize();
+      } catch (Exception e) {
+        SonarLintLogger.get().error("Unable to restart the SonarLint backend", e);
+        scheduleRestart(interruptedAnalyses);
+        return Status.OK_STATUS;
+      }
+      if (rpcServer == null) {
+        return Status.CANCEL_STATUS;
+      }
+
+      // Everything that was fetched from the previous backend might be outdated
+      TaintVulnerabilitiesIndex.get().invalidateAll();
+      ServerCapabilitiesCache.get().invalidateAll();
+
+      var connections = connectionSynchronizer;
+      if (connections != null) {
+        connections.backendRestarted(rpcServer);
+      }
+      var fileSystem = fileSystemSynchronizer;
+      if (fileSystem != null) {
+        fileSystem.backendRestarted(rpcServer);
+      }
+      var configScopes = configScopeSynchronizer;
+      if (configScopes != null) {
+        configScopes.backendRestarted(rpcServer);
+      }
+
+      SonarLintRpcClientSupportSynchronizer.setSloopAvailability(true);
+      SonarLintLogger.get().info("SonarLint backend restarted");
+
+      scheduleAgain(interruptedAnalyses);
+      return Status.OK_STATUS;
+    }
+  }
 
-      // INFO: With SLE-812 improve this to restart the backend / offer users the possibility to to so!
+  private static void scheduleAgain(List<AnalysisState> interruptedAnalyses) {
+    for (var analysisState : interruptedAnalyses) {
+      var projectOpt = SonarLintUtils.tryResolveProject(analysisState.getConfigScopeId());
+      if (projectOpt.isEmpty() || !projectOpt.get().isOpen()) {
+        continue;
+      }
+      var files = analysisState.getFileURIs().stream()
+        .map(SonarLintUtils::findFileFromUri)
+        .filter(Objects::nonNull)
+        .map(file -> new FileWithDocument(file, null))
+        .collect(Collectors.toList());
+      if (!files.isEmpty()) {
+        SonarLintLogger.get().debug("Scheduling again analysis " + analysisState.getId() + " interrupted by the backend crash");
+        AnalysisRequestScheduler.get().schedule(new AnalyzeProjectRequest(projectOpt.get(), files, analysisState.getTriggerType(), false));
+      }
     }
   }
 
@@ -346,8 +516,14 @@ public class SonarLintBackendService {
   }
 
   public synchronized void stop() {
+    stopped = true;
+    if (restartJob != null) {
+      restartJob.cancel();
+    }
+    EmbeddedPluginCache.get().removeEvictionListener(pluginCacheEvictionListener);
     VcsService.removeBranchChangeListener();
     if (fileSystemSynchronizer != null) {
+      ProjectFileIndex.INSTANCE.uninstall();
       ResourcesPlugin.getWorkspace().removeResourceChangeListener(fileSystemSynchronizer);
       fileSystemSynchronizer = null;
     }
@@ -168,6 +168,8 @@ public abstract class SonarLintEclipseHeadlessRpcClient implements SonarLintRpcC
 
   @Override
   public void didSynchronizeConfigurationScopes(Set<String> configurationScopeIds) {
+    configurationScopeIds.forEach(ServerCapabilitiesCache.get()::refresh);
+
     // After a sync happened on backend side, we can refresh the project list
     var allAffectedConnections = configurationScopeIds.stream()
       .map(SonarLintUtils::tryResolveProject)
@@ -0,0 +1,145 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.backend;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.sonarlint.eclipse.core.internal.utils.JobUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.tracking.ListAllResponse;
+import org.sonarsource.sonarlint.core.rpc.protocol.backend.tracking.TaintVulnerabilityDto;
+
+/**
+ *  Client side copy of the taint vulnerabilities known by SLCORE, per configuration scope and indexed by file. It is
+ *  fetched once per configuration scope and then kept up to date with the changes notified by SLCORE, so that
+ *  refreshing the markers of a single file doesn't require getting all the taint vulnerabilities of the project.
+ */
+public class TaintVulnerabilitiesIndex {
+  private static final TaintVulnerabilitiesIndex INSTANCE = new TaintVulnerabilitiesIndex();
+
+  public static TaintVulnerabilitiesIndex get() {
+    return INSTANCE;
+  }
+
+  private final Map<String, CompletableFuture<ProjectTaintVulnerabilities>> indexByConfigScopeId = new ConcurrentHashMap<>();
+  private final Function<ISonarLintProject, CompletableFuture<List<TaintVulnerabilityDto>>> fetcher;
+
+  private TaintVulnerabilitiesIndex() {
+    this(project -> SonarLintBackendService.get().listAllTaintVulnerabilities(project).thenApply(ListAllResponse::getTaintVulnerabilities));
+  }
+
+  TaintVulnerabilitiesIndex(Function<ISonarLintProject, CompletableFuture<List<TaintVulnerabilityDto>>> fetcher) {
+    this.fetcher = fetcher;
+  }
+
+  /** @return the taint vulnerabilities located in the file, based on its path relative to its project */
+  public List<TaintVulnerabilityDto> getTaintVulnerabilities(ISonarLintFile file, IProgressMonitor monitor)
+    throws InterruptedException, ExecutionException {
+    var project = file.getProject();
+    var configScopeId = ConfigScopeSynchronizer.getConfigScopeId(project);
+    var index = indexByConfigScopeId.computeIfAbsent(configScopeId,
+      k -> fetcher.apply(project).thenApply(ProjectTaintVulnerabilities::new));
+    index.whenComplete((result, error) -> {
+      if (error != null) {
+        // Don't keep a failed request, the next one will try again
+        indexByConfigScopeId.remove(configScopeId, index);
+      }
+    });
+    // Waiting on a copy, the one of the index must not be cancelled when the monitor is
+    return JobUtils.waitForFuture(monitor, index.copy()).getByFile(Paths.get(file.getProjectRelativePath()));
+  }
+
+  /**
+   *  Changes are only applied to already fetched configuration scopes, or once they are fetched. Applying them is
+   *  idempotent, so it doesn't matter whether the response of the fetch already contains them.
+   */
+  public void didChangeTaintVulnerabilities(String configScopeId, Set<UUID> closedTaintVulnerabilityIds,
+    List<TaintVulnerabilityDto> addedTaintVulnerabilities, List<TaintVulnerabilityDto> updatedTaintVulnerabilities) {
+    var index = indexByConfigScopeId.get(configScopeId);
+    if (index != null) {
+      index.thenAccept(taintVulnerabilities -> taintVulnerabilities.apply(closedTaintVulnerabilityIds, addedTaintVulnerabilities,
+        updatedTaintVulnerabilities));
+    }
+  }
+
+  /** When the binding changed or the configuration scope was removed */
+  public void invalidate(String configScopeId) {
+    indexByConfigScopeId.remove(configScopeId);
+  }
+
+  /** When the backend was restarted */
+  public void invalidateAll() {
+    indexByConfigScopeId.clear();
+  }
+
+  private static class ProjectTaintVulnerabilities {
+    private final Map<UUID, TaintVulnerabilityDto> byId = new HashMap<>();
+    private final Map<Path, Map<UUID, TaintVulnerabilityDto>> byFile = new HashMap<>();
+
+    private ProjectTaintVulnerabilities(Collection<TaintVulnerabilityDto> taintVulnerabilities) {
+      taintVulnerabilities.forEach(this::put);
+    }
+
+    private synchronized void apply(Set<UUID> closedIds, List<TaintVulnerabilityDto> added, List<TaintVulnerabilityDto> updated) {
+      closedIds.forEach(this::remove);
+      added.forEach(this::put);
+      updated.forEach(this::put);
+    }
+
+    private synchronized List<TaintVulnerabilityDto> getByFile(Path ideFilePath) {
+      var taintVulnerabilities = byFile.get(ideFilePath);
+      return taintVulnerabilities != null ? new ArrayList<>(taintVulnerabilities.values()) : List.of();
+    }
+
+    private void put(TaintVulnerabilityDto taintVulnerability) {
+      // An update might move the taint vulnerability to another file
+      remove(taintVulnerability.getId());
+      byId.put(taintVulnerability.getId(), taintVulnerability);
+      byFile.computeIfAbsent(taintVulnerability.getIdeFilePath(), k -> new LinkedHashMap<>()).put(taintVulnerability.getId(), taintVulnerability);
+    }
+
+    private void remove(UUID id) {
+      var previous = byId.remove(id);
+      if (previous != null) {
+        var ofFile = byFile.get(previous.getIdeFilePath());
+        if (ofFile != null) {
+          ofFile.remove(id);
+          if (ofFile.isEmpty()) {
+            byFile.remove(previous.getIdeFilePath());
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.http;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.core.net.proxy.IProxyData;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+
+/**
+ *  Proxies (and their credentials) as configured in the Eclipse preferences, queried on every request so that changes
+ *  to the settings are taken into account without re-creating the HTTP client. Same as what is provided to SLCORE.
+ */
+class EclipseProxySelector extends ProxySelector {
+
+  @Override
+  public List<Proxy> select(URI uri) {
+    var proxyService = SonarLintCorePlugin.getInstance().getProxyService();
+    if (proxyService == null) {
+      return List.of(Proxy.NO_PROXY);
+    }
+    var proxies = Arrays.stream(proxyService.select(uri))
+      .map(proxyData -> {
+        var proxyType = IProxyData.SOCKS_PROXY_TYPE.equals(proxyData.getType()) ? Proxy.Type.SOCKS : Proxy.Type.HTTP;
+        return new Proxy(proxyType, InetSocketAddress.createUnresolved(proxyData.getHost(), proxyData.getPort()));
+      })
+      .collect(Collectors.toList());
+    return proxies.isEmpty() ? List.of(Proxy.NO_PROXY) : proxies;
+  }
+
+  @Override
+  public void connectFailed(URI uri, SocketAddress sa, IOException ioe) {
+    SonarLintLogger.get().debug("Unable to connect to proxy " + sa + " for '" + uri + "': " + ioe.getMessage());
+  }
+
+  static class EclipseProxyAuthenticator extends Authenticator {
+    @Nullable
+    @Override
+    protected PasswordAuthentication getPasswordAuthentication() {
+      var proxyService = SonarLintCorePlugin.getInstance().getProxyService();
+      if (proxyService == null || getRequestorType() != RequestorType.PROXY) {
+        return null;
+      }
+      try {
+        return Arrays.stream(proxyService.select(getRequestingURL().toURI()))
+          .filter(proxyData -> proxyData.getUserId() != null && proxyData.getPassword() != null)
+          .findFirst()
+          .map(proxyData -> new PasswordAuthentication(proxyData.getUserId(), proxyData.getPassword().toCharArray()))
+          .orElse(null);
+      } catch (URISyntaxException e) {
+        SonarLintLogger.get().error("Invalid URL: " + getRequestingURL());
+        return null;
+      }
+    }
+  }
+}
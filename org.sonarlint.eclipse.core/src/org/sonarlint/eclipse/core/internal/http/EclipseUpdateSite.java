@@ -24,7 +24,6 @@ import java.util.Collections;
 import java.util.regex.Pattern;
 import org.eclipse.jdt.annotation.Nullable;
 import org.osgi.framework.Version;
-import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintVersion;
 
 /** Used to interact with the official SonarLint for Eclipse Update Site */
@@ -35,8 +34,6 @@ public class EclipseUpdateSite {
   private static final Pattern PATTERN_UPDATE_SITE = Pattern.compile("\\<child\\s+location\\=\\\"(.*?)\\\"\\/\\>", Pattern.CASE_INSENSITIVE);
   private static final Pattern PATTERN_VERSION = Pattern.compile("(\\d{1,2}\\.\\d{1,2}\\.\\d{1,2}\\.\\d{5,}?)", Pattern.CASE_INSENSITIVE);
 
-  private static HttpClient client = null;
-
   private EclipseUpdateSite() {
     // utility class
   }
@@ -56,15 +53,6 @@ public class EclipseUpdateSite {
     return parseXmlIntoSonarLintVersion(xml);
   }
 
-  /** This way the HTTP client is only created on demand and in that case only once */
-  private static HttpClient getClient() {
-    if (client == null) {
-      client = new HttpClient(SonarLintBackendService.get().getHttpConfiguration());
-    }
-
-    return client;
-  }
-
   /**
    *  Loads the content from the official SonarLint for Eclipse Update Site via either the compositeContent.xml or the
    *  compositeArtifacts.xml if the former is not available.
@@ -73,7 +61,7 @@ public class EclipseUpdateSite {
    */
   @Nullable
   public static String getEclipseUpdateSiteContent() {
-    var httpClient = getClient();
+    var httpClient = HttpClient.get();
 
     var response = httpClient.getWebsiteContent(COMPOSITE_CONTENT_XML);
     if (response != null) {
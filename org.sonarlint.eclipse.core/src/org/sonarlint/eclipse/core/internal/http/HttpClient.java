@@ -29,6 +29,9 @@ import java.security.KeyManagementException;
 import java.security.KeyStore;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
@@ -36,13 +39,27 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.StoragePathManager;
+import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarsource.sonarlint.core.rpc.protocol.backend.initialize.HttpConfigurationDto;
 
 /**
  *  Very bare bones implementation of a HTTP client that can work in the context of SonarLint both with a configurable
  *  key and trust store. Additionally, timeouts can be provided that will used the same way as SLCORE would use them.
+ *
+ *  The underlying client is created once and reused for all the requests, so that its connections are kept alive
+ *  between them, using the proxies configured in Eclipse and a bounded number of threads. Responses with validators
+ *  are cached on disk, the next requests for the same URI are made conditional.
  */
 public class HttpClient {
+  /** The threads are only kept alive while requests are made, the number can be configured via a system property */
+  private static final int MAX_THREADS = Integer.getInteger("sonarlint.http.maxThreads", 2);
+  private static final long THREAD_KEEP_ALIVE_SECONDS = 60;
+
+  @Nullable
+  private static HttpClient sharedInstance;
+
   @Nullable
   private SSLContext context;
 
@@ -50,8 +67,17 @@ public class HttpClient {
   private final Duration connectTimeout;
   @Nullable
   private final Duration connectRequestTimeout;
+  @Nullable
+  private final HttpResponseCache responseCache;
+  @Nullable
+  private java.net.http.HttpClient client;
 
   public HttpClient(HttpConfigurationDto config) {
+    this(config, null);
+  }
+
+  HttpClient(HttpConfigurationDto config, @Nullable HttpResponseCache responseCache) {
+    this.responseCache = responseCache;
     var sslConfig = config.getSslConfiguration();
     connectTimeout = config.getConnectTimeout();
     connectRequestTimeout = config.getConnectionRequestTimeout();
@@ -80,6 +106,41 @@ public class HttpClient {
     return context;
   }
 
+  /** The client shared by all the HTTP callers of the plug-in, created on demand based on the backend configuration */
+  public static synchronized HttpClient get() {
+    var instance = sharedInstance;
+    if (instance == null) {
+      instance = new HttpClient(SonarLintBackendService.get().getHttpConfiguration(),
+        new HttpResponseCache(StoragePathManager.getHttpCacheDir()));
+      sharedInstance = instance;
+    }
+    return instance;
+  }
+
+  private synchronized java.net.http.HttpClient getClient() {
+    var httpClient = client;
+    if (httpClient == null) {
+      var executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), SonarLintUtils.threadFactory("SonarLint HTTP client", true));
+      executor.allowCoreThreadTimeOut(true);
+
+      var clientBuilder = java.net.http.HttpClient.newBuilder()
+        .executor(executor)
+        .proxy(new EclipseProxySelector())
+        .authenticator(new EclipseProxySelector.EclipseProxyAuthenticator())
+        .followRedirects(java.net.http.HttpClient.Redirect.NORMAL);
+      if (context != null) {
+        clientBuilder = clientBuilder.sslContext(context);
+      }
+      if (connectTimeout != null) {
+        clientBuilder = clientBuilder.connectTimeout(connectTimeout);
+      }
+      httpClient = clientBuilder.build();
+      client = httpClient;
+    }
+    return httpClient;
+  }
+
   /**
    *  This makes a HTTP GET request to the specified website.
    *
@@ -89,28 +150,42 @@ public class HttpClient {
   @Nullable
   public String getWebsiteContent(String uri) {
     try {
-      var clientBuilder = java.net.http.HttpClient.newBuilder();
-      if (context != null) {
-        clientBuilder = clientBuilder.sslContext(context);
-      }
-      if (connectTimeout != null) {
-        clientBuilder = clientBuilder.connectTimeout(connectTimeout);
-      }
-      var client = clientBuilder.build();
-
-      var requestBuilder = HttpRequest.newBuilder().uri(new URI(uri));
+      var requestUri = new URI(uri);
+      var requestBuilder = HttpRequest.newBuilder().uri(requestUri);
       if (connectRequestTimeout != null) {
         requestBuilder = requestBuilder.timeout(connectRequestTimeout);
       }
+      var cached = responseCache != null ? responseCache.get(requestUri) : null;
+      if (cached != null) {
+        var etag = cached.getEtag();
+        if (etag != null) {
+          requestBuilder = requestBuilder.header("If-None-Match", etag);
+        }
+        var lastModified = cached.getLastModified();
+        if (lastModified != null) {
+          requestBuilder = requestBuilder.header("If-Modified-Since", lastModified);
+        }
+      }
       var request = requestBuilder.build();
 
-      var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+      var response = getClient().send(request, HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() == 304 && cached != null) {
+        SonarLintLogger.get().debug("Content of '" + uri + "' not modified, using the cached one");
+        return cached.getBody();
+      }
       if (response.statusCode() != 200) {
         SonarLintLogger.get().debug("Accessing '" + uri + "' returned the following status code: "
           + response.statusCode());
         return null;
       }
+      if (responseCache != null) {
+        responseCache.put(requestUri, response.headers().firstValue("ETag").orElse(null),
+          response.headers().firstValue("Last-Modified").orElse(null), response.body());
+      }
       return response.body();
+    } catch (InterruptedException err) {
+      Thread.currentThread().interrupt();
+      SonarLintLogger.get().error("Interrupted while making HTTP request to '" + uri + "'", err);
     } catch (Exception err) {
       SonarLintLogger.get().error("Unable to make HTTP request to '" + uri + "'", err);
     }
@@ -0,0 +1,127 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.UUID;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+
+/**
+ *  On-disk cache of the responses carrying an "ETag" or "Last-Modified" header, so that the next request for the same
+ *  URI can be made conditional and a "304 Not Modified" answered from the cache. Every entry is stored as two files
+ *  named after the URI: the body and its validators, the latter written last so that only complete entries are read.
+ */
+class HttpResponseCache {
+  private static final String ETAG = "etag";
+  private static final String LAST_MODIFIED = "lastModified";
+
+  private final Path cacheDir;
+
+  HttpResponseCache(Path cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  @Nullable
+  synchronized CachedResponse get(URI uri) {
+    var validatorsFile = validatorsFile(uri);
+    var bodyFile = bodyFile(uri);
+    if (!Files.isRegularFile(validatorsFile) || !Files.isRegularFile(bodyFile)) {
+      return null;
+    }
+    try (var in = Files.newInputStream(validatorsFile)) {
+      var validators = new Properties();
+      validators.load(in);
+      return new CachedResponse(validators.getProperty(ETAG), validators.getProperty(LAST_MODIFIED),
+        Files.readString(bodyFile, StandardCharsets.UTF_8));
+    } catch (IOException | IllegalArgumentException e) {
+      SonarLintLogger.get().debug("Unable to read cached response of '" + uri + "': " + e.getMessage());
+      return null;
+    }
+  }
+
+  synchronized void put(URI uri, @Nullable String etag, @Nullable String lastModified, String body) {
+    if (etag == null && lastModified == null) {
+      return;
+    }
+    var validators = new Properties();
+    if (etag != null) {
+      validators.setProperty(ETAG, etag);
+    }
+    if (lastModified != null) {
+      validators.setProperty(LAST_MODIFIED, lastModified);
+    }
+    try {
+      Files.createDirectories(cacheDir);
+      Files.deleteIfExists(validatorsFile(uri));
+      Files.writeString(bodyFile(uri), body, StandardCharsets.UTF_8);
+      try (var out = Files.newOutputStream(validatorsFile(uri))) {
+        validators.store(out, uri.toString());
+      }
+    } catch (IOException e) {
+      SonarLintLogger.get().debug("Unable to cache response of '" + uri + "': " + e.getMessage());
+    }
+  }
+
+  private Path validatorsFile(URI uri) {
+    return cacheDir.resolve(entryName(uri) + ".properties");
+  }
+
+  private Path bodyFile(URI uri) {
+    return cacheDir.resolve(entryName(uri) + ".body");
+  }
+
+  private static String entryName(URI uri) {
+    return UUID.nameUUIDFromBytes(uri.toString().getBytes(StandardCharsets.UTF_8)).toString();
+  }
+
+  static class CachedResponse {
+    @Nullable
+    private final String etag;
+    @Nullable
+    private final String lastModified;
+    private final String body;
+
+    private CachedResponse(@Nullable String etag, @Nullable String lastModified, String body) {
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.body = body;
+    }
+
+    @Nullable
+    String getEtag() {
+      return etag;
+    }
+
+    @Nullable
+    String getLastModified() {
+      return lastModified;
+    }
+
+    String getBody() {
+      return body;
+    }
+  }
+}
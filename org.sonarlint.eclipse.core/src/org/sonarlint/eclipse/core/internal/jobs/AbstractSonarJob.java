@@ -23,6 +23,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.jobs.Job;
+import org.sonarlint.eclipse.core.internal.resources.FileContentSession;
 
 /** Base class for all SonarLint jobs, for level specific jobs see subclasses */
 public abstract class AbstractSonarJob extends Job {
@@ -33,7 +34,7 @@ public abstract class AbstractSonarJob extends Job {
 
   @Override
   public final IStatus run(final IProgressMonitor monitor) {
-    try {
+    try (var fileContentSession = FileContentSession.open()) {
       return doRun(monitor);
     } catch (CoreException e) {
       return e.getStatus();
@@ -0,0 +1,209 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.TriggerType;
+import org.sonarlint.eclipse.core.internal.backend.RunningAnalysesTracker;
+import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest.FileWithDocument;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+/**
+ *  Automatic analyses are triggered from many places (editor opened, files saved, build finished, ...) and often many
+ *  times in a row for the same files, e.g. on "Save all" or after a refactoring. Instead of scheduling an analysis for
+ *  every one of them, the requests are coalesced per project: the files of all the requests received within a quiet
+ *  period are analyzed together, once no new request came in for this project.
+ *
+ *  On-the-fly and manual analyses are never merged together as their issues end up in different markers. Analyses of
+ *  the interactive triggers (e.g. editor opened / changed) are run with a higher priority than the other ones. When an
+ *  analysis is started, the ones still running on a subset of its files are cancelled as they became obsolete.
+ */
+public class AnalysisRequestScheduler {
+  /** The quiet period (in milliseconds) can be configured via a system property */
+  private static final long QUIET_PERIOD_MS = Long.getLong("sonarlint.analysis.quietPeriod", 300);
+  /** When requests keep coming in, we don't want to delay the analysis forever */
+  private static final long MAX_DELAY_MS = QUIET_PERIOD_MS * 5;
+  private static final Set<TriggerType> INTERACTIVE_TRIGGERS = EnumSet.of(TriggerType.EDITOR_OPEN, TriggerType.EDITOR_CHANGE,
+    TriggerType.QUICK_FIX, TriggerType.AFTER_RESOLVE);
+
+  private static final AnalysisRequestScheduler INSTANCE = new AnalysisRequestScheduler();
+
+  private final Map<PendingKey, PendingAnalysisJob> pendingAnalyses = new HashMap<>();
+
+  private AnalysisRequestScheduler() {
+  }
+
+  public static AnalysisRequestScheduler get() {
+    return INSTANCE;
+  }
+
+  public static boolean isInteractive(TriggerType triggerType) {
+    return INTERACTIVE_TRIGGERS.contains(triggerType);
+  }
+
+  /** Schedule the analysis after the quiet period, merged with the other requests on the same project */
+  public void schedule(AnalyzeProjectRequest request) {
+    var key = new PendingKey(request.getProject(), request.getTriggerType().isOnTheFly());
+    synchronized (pendingAnalyses) {
+      var pending = pendingAnalyses.get(key);
+      if (pending != null) {
+        pending.merge(request);
+        return;
+      }
+      pending = new PendingAnalysisJob(key, request);
+      pendingAnalyses.put(key, pending);
+      pending.schedule(QUIET_PERIOD_MS);
+    }
+  }
+
+  /**
+   *  When merging requests with different triggers, the one fetching server issues wins. Otherwise we prefer the
+   *  interactive one as it decides on the priority of the analysis.
+   */
+  static TriggerType mergeTriggerTypes(TriggerType current, TriggerType other) {
+    if (current.shouldFetch() != other.shouldFetch()) {
+      return current.shouldFetch() ? current : other;
+    }
+    if (!isInteractive(current) && isInteractive(other)) {
+      return other;
+    }
+    return current;
+  }
+
+  private void start(PendingAnalysisJob pending) {
+    var request = pending.toRequest();
+    if (!request.getProject().isOpen()) {
+      return;
+    }
+
+    var fileURIs = request.getFiles().stream()
+      .map(f -> f.getFile().getResource().getLocationURI())
+      .filter(Objects::nonNull)
+      .collect(Collectors.toSet());
+    RunningAnalysesTracker.get().cancelSuperseded(request.getProject(), fileURIs, request.getTriggerType());
+
+    AnalyzeProjectJob.create(request).schedule();
+  }
+
+  private static class PendingKey {
+    private final ISonarLintProject project;
+    private final boolean onTheFly;
+
+    PendingKey(ISonarLintProject project, boolean onTheFly) {
+      this.project = project;
+      this.onTheFly = onTheFly;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(project, onTheFly);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if ((obj == null) || (getClass() != obj.getClass())) {
+        return false;
+      }
+      var other = (PendingKey) obj;
+      return onTheFly == other.onTheFly && Objects.equals(project, other.project);
+    }
+  }
+
+  /** Sleeps until no new request was merged for the quiet period, then starts the actual analysis */
+  private class PendingAnalysisJob extends AbstractSonarJob {
+    private final PendingKey key;
+    private final LinkedHashMap<ISonarLintFile, FileWithDocument> files = new LinkedHashMap<>();
+    private TriggerType triggerType;
+    private boolean shouldClearReport;
+    private final long firstRequestTime;
+    private long lastRequestTime;
+
+    PendingAnalysisJob(PendingKey key, AnalyzeProjectRequest request) {
+      super("SonarLint analysis scheduling for project " + request.getProject().getName());
+      setSystem(true);
+      this.key = key;
+      this.triggerType = request.getTriggerType();
+      this.firstRequestTime = System.currentTimeMillis();
+      merge(request);
+    }
+
+    /** Has to be called while holding the lock on the pending analyses */
+    void merge(AnalyzeProjectRequest request) {
+      for (var fileWithDoc : request.getFiles()) {
+        var previous = files.get(fileWithDoc.getFile());
+        // Prefer the document of the editor, if there is one
+        if (previous == null || fileWithDoc.getDocument() != null) {
+          files.put(fileWithDoc.getFile(), fileWithDoc);
+        }
+      }
+      triggerType = mergeTriggerTypes(triggerType, request.getTriggerType());
+      shouldClearReport |= request.shouldClearReport();
+      lastRequestTime = System.currentTimeMillis();
+    }
+
+    /** Same family as the analysis itself, so that waiting for the analyses also waits for the pending ones */
+    @Override
+    public boolean belongsTo(Object family) {
+      return "org.sonarlint.eclipse.projectJob".equals(family);
+    }
+
+    AnalyzeProjectRequest toRequest() {
+      return new AnalyzeProjectRequest(key.project, List.copyOf(files.values()), triggerType, shouldClearReport);
+    }
+
+    @Override
+    protected IStatus doRun(IProgressMonitor monitor) {
+      synchronized (pendingAnalyses) {
+        var now = System.currentTimeMillis();
+        var remainingQuietPeriod = lastRequestTime + QUIET_PERIOD_MS - now;
+        var remainingMaxDelay = firstRequestTime + MAX_DELAY_MS - now;
+        if (remainingQuietPeriod > 0 && remainingMaxDelay > 0 && !monitor.isCanceled()) {
+          schedule(Math.min(remainingQuietPeriod, remainingMaxDelay));
+          return Status.OK_STATUS;
+        }
+        pendingAnalyses.remove(key, this);
+      }
+      if (monitor.isCanceled()) {
+        return Status.CANCEL_STATUS;
+      }
+
+      if (files.size() > 1) {
+        SonarLintLogger.get().debug("Coalesced analysis requests of project '" + key.project.getName() + "' on " + files.size() + " files");
+      }
+      start(this);
+      return Status.OK_STATUS;
+    }
+  }
+}
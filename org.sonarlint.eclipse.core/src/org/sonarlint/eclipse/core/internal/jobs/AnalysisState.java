@@ -22,17 +22,26 @@ package org.sonarlint.eclipse.core.internal.jobs;
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.sonarlint.eclipse.core.internal.TriggerType;
 
 public class AnalysisState {
   private final UUID id;
+  private final String configScopeId;
   private final List<URI> fileURIs;
   private final TriggerType triggerType;
+  private final IProgressMonitor monitor;
 
-  public AnalysisState(UUID analysisId, List<URI> fileURIs, TriggerType triggerType) {
+  public AnalysisState(UUID analysisId, String configScopeId, List<URI> fileURIs, TriggerType triggerType, IProgressMonitor monitor) {
     this.id = analysisId;
+    this.configScopeId = configScopeId;
     this.fileURIs = fileURIs;
     this.triggerType = triggerType;
+    this.monitor = monitor;
+  }
+
+  public String getConfigScopeId() {
+    return configScopeId;
   }
 
   public List<URI> getFileURIs() {
@@ -46,4 +55,9 @@ public class AnalysisState {
   public TriggerType getTriggerType() {
     return triggerType;
   }
+
+  /** The analysis job waiting for the backend will cancel the analysis on its side as well */
+  public void cancel() {
+    monitor.setCanceled(true);
+  }
 }
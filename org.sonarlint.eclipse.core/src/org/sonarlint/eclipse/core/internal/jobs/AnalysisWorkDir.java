@@ -0,0 +1,60 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.internal.utils.FileUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+/** Temporary folder of an analysis, only created when a configurator asks for it and deleted after the analysis */
+class AnalysisWorkDir implements Supplier<Path> {
+  private final ISonarLintProject project;
+  @Nullable
+  private Path dir;
+
+  AnalysisWorkDir(ISonarLintProject project) {
+    this.project = project;
+  }
+
+  @Override
+  public synchronized Path get() {
+    var currentDir = dir;
+    if (currentDir == null) {
+      try {
+        currentDir = Files.createTempDirectory(project.getWorkingDir(), "sonarlint");
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to create the analysis temporary folder", e);
+      }
+      dir = currentDir;
+    }
+    return currentDir;
+  }
+
+  synchronized void delete() {
+    if (dir != null) {
+      FileUtils.deleteRecursively(dir);
+      dir = null;
+    }
+  }
+}
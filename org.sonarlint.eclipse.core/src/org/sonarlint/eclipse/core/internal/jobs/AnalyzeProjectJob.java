@@ -19,7 +19,6 @@
  */
 package org.sonarlint.eclipse.core.internal.jobs;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -31,6 +30,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -39,6 +39,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.text.IDocument;
 import org.sonarlint.eclipse.core.SonarLintLogger;
@@ -47,6 +48,7 @@ import org.sonarlint.eclipse.core.analysis.IPostAnalysisContext;
 import org.sonarlint.eclipse.core.configurator.ProjectConfigurationRequest;
 import org.sonarlint.eclipse.core.configurator.ProjectConfigurator;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.StoragePathManager;
 import org.sonarlint.eclipse.core.internal.TriggerType;
 import org.sonarlint.eclipse.core.internal.backend.ConfigScopeSynchronizer;
 import org.sonarlint.eclipse.core.internal.backend.RunningAnalysesTracker;
@@ -56,7 +58,6 @@ import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest.FileWithDo
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
 import org.sonarlint.eclipse.core.internal.resources.SonarLintProperty;
 import org.sonarlint.eclipse.core.internal.utils.FileExclusionsChecker;
-import org.sonarlint.eclipse.core.internal.utils.FileUtils;
 import org.sonarlint.eclipse.core.internal.utils.JobUtils;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
@@ -80,12 +81,25 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
     this.files = request.getFiles();
     this.triggerType = request.getTriggerType();
     this.shouldClearReport = request.shouldClearReport();
+    setPriority(jobPriority(triggerType));
   }
 
   public static AbstractSonarProjectJob create(AnalyzeProjectRequest request) {
     return new AnalyzeProjectJob(request);
   }
 
+  int getFileCount() {
+    return files.size();
+  }
+
+  /** Analyses the user is waiting for in the editor should come first, manual ones on many files last */
+  private static int jobPriority(TriggerType triggerType) {
+    if (AnalysisRequestScheduler.isInteractive(triggerType)) {
+      return Job.SHORT;
+    }
+    return triggerType.isOnTheFly() ? Job.DECORATE : Job.LONG;
+  }
+
   private static String jobTitle(AnalyzeProjectRequest request) {
     if (request.getFiles().size() == 1) {
       return "SonarLint processing file " + request.getFiles().iterator().next().getFile().getName();
@@ -109,7 +123,7 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
     SonarLintLogger.get().debug("Analysis started with the engines being ready");
 
     var startTime = System.currentTimeMillis();
-    Path analysisWorkDir = null;
+    var analysisWorkDir = new AnalysisWorkDir(getProject());
     try {
       var excludedFiles = new ArrayList<ISonarLintFile>();
       var filesToAnalyze = new ArrayList<FileWithDocument>();
@@ -137,8 +151,7 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
       var mergedExtraProps = new LinkedHashMap<String, String>();
       var usedDeprecatedConfigurators = configureDeprecated(getProject(), filesToAnalyzeMap.keySet(), mergedExtraProps, monitor);
 
-      analysisWorkDir = Files.createTempDirectory(getProject().getWorkingDir(), "sonarlint");
-      var inputFiles = buildInputFiles(analysisWorkDir, filesToAnalyzeMap);
+      var inputFiles = buildInputFiles(StoragePathManager.getInputMirrorDir(getProject()), filesToAnalyzeMap);
       var usedConfigurators = configure(getProject(), inputFiles, mergedExtraProps, analysisWorkDir, monitor);
 
       extraProps.forEach(sonarProperty -> mergedExtraProps.put(sonarProperty.getName(), sonarProperty.getValue()));
@@ -163,9 +176,7 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
       SonarLintLogger.get().error("Error during execution of SonarLint analysis", e);
       return new Status(IStatus.WARNING, SonarLintCorePlugin.PLUGIN_ID, "Error when executing SonarLint analysis", e);
     } finally {
-      if (analysisWorkDir != null) {
-        FileUtils.deleteRecursively(analysisWorkDir);
-      }
+      analysisWorkDir.delete();
     }
 
     return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
@@ -206,12 +217,12 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
     return ignored;
   }
 
-  private static List<EclipseInputFile> buildInputFiles(Path tempDirectory, final Map<ISonarLintFile, IDocument> filesToAnalyze) {
+  private static List<EclipseInputFile> buildInputFiles(Path mirrorDirectory, final Map<ISonarLintFile, IDocument> filesToAnalyze) {
     var inputFiles = new ArrayList<EclipseInputFile>(filesToAnalyze.size());
 
     for (final var fileWithDoc : filesToAnalyze.entrySet()) {
       var file = fileWithDoc.getKey();
-      var inputFile = new EclipseInputFile(file, tempDirectory, fileWithDoc.getValue());
+      var inputFile = new EclipseInputFile(file, mirrorDirectory, fileWithDoc.getValue());
       inputFiles.add(inputFile);
     }
     return inputFiles;
@@ -241,7 +252,7 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
   }
 
   private static Collection<IAnalysisConfigurator> configure(final ISonarLintProject project, List<EclipseInputFile> filesToAnalyze,
-    final Map<String, String> extraProperties, Path tempDir, final IProgressMonitor monitor) {
+    final Map<String, String> extraProperties, Supplier<Path> tempDir, final IProgressMonitor monitor) {
     var usedConfigurators = new ArrayList<IAnalysisConfigurator>();
     var configurators = SonarLintExtensionTracker.getInstance().getAnalysisConfigurators();
     var context = new DefaultPreAnalysisContext(project, extraProperties, filesToAnalyze, tempDir);
@@ -284,7 +295,7 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
     var fileURIs = files.stream().map(slFile -> slFile.getResource().getLocationURI()).collect(Collectors.toList());
 
     var analysisId = UUID.randomUUID();
-    var analysisState = new AnalysisState(analysisId, fileURIs, triggerType);
+    var analysisState = new AnalysisState(analysisId, ConfigScopeSynchronizer.getConfigScopeId(getProject()), fileURIs, triggerType, monitor);
 
     try {
       RunningAnalysesTracker.get().track(analysisState);
@@ -303,6 +314,9 @@ public class AnalyzeProjectJob extends AbstractSonarProjectJob {
       if (err instanceof InterruptedException) {
         Thread.currentThread().interrupt();
         throw new CanceledException();
+      } else if (err instanceof CanceledException) {
+        // e.g. superseded by a newer analysis, see AnalysisRequestScheduler
+        throw (CanceledException) err;
       } else {
         throw new IllegalStateException(err);
       }
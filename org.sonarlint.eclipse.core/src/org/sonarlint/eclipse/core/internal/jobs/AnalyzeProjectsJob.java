@@ -21,6 +21,7 @@ package org.sonarlint.eclipse.core.internal.jobs;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -49,31 +50,17 @@ public class AnalyzeProjectsJob extends WorkspaceJob {
     try {
       global.setTaskName("Analysis");
       SonarLintMarkerUpdater.deleteAllMarkersFromReport();
-      var analysisMonitor = SubMonitor.convert(global.newChild(100), filesPerProject.size());
-      for (var entry : filesPerProject.entrySet()) {
-        if (monitor.isCanceled()) {
-          return Status.CANCEL_STATUS;
-        }
-        var project = entry.getKey();
-        if (!project.isOpen()) {
-          analysisMonitor.worked(1);
-          continue;
-        }
-        global.setTaskName("Analyzing project " + project.getName());
-
-        var req = new AnalyzeProjectRequest(project, entry.getValue(), TriggerType.MANUAL, false);
-
-        var job = AnalyzeProjectJob.create(req);
-        var subMonitor = analysisMonitor.newChild(1);
-        job.run(subMonitor);
-        subMonitor.done();
-      }
-
+      var requests = filesPerProject.entrySet().stream()
+        .map(entry -> new AnalyzeProjectRequest(entry.getKey(), entry.getValue(), TriggerType.MANUAL, false))
+        .collect(Collectors.toList());
+      return new MultiProjectAnalysis(requests).run(global.newChild(100));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Status.CANCEL_STATUS;
     } catch (Exception e) {
       SonarLintLogger.get().error(UNABLE_TO_ANALYZE_FILES, e);
       return new Status(IStatus.ERROR, SonarLintCorePlugin.PLUGIN_ID, UNABLE_TO_ANALYZE_FILES, e);
     }
-    return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
   }
 
   @Override
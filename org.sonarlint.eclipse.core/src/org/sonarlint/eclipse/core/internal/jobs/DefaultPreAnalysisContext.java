@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.analysis.IPreAnalysisContext;
@@ -36,10 +37,11 @@ public class DefaultPreAnalysisContext implements IPreAnalysisContext {
 
   private final ISonarLintProject project;
   private final Map<String, String> analysisProperties;
-  private final Path tempDir;
+  private final Supplier<Path> tempDir;
   private final Map<ISonarLintFile, EclipseInputFile> filesToAnalyze;
 
-  public DefaultPreAnalysisContext(ISonarLintProject project, Map<String, String> analysisProperties, List<EclipseInputFile> filesToAnalyze, Path tempDir) {
+  public DefaultPreAnalysisContext(ISonarLintProject project, Map<String, String> analysisProperties, List<EclipseInputFile> filesToAnalyze,
+    Supplier<Path> tempDir) {
     this.project = project;
     this.analysisProperties = analysisProperties;
     this.filesToAnalyze = Collections
@@ -80,7 +82,7 @@ public class DefaultPreAnalysisContext implements IPreAnalysisContext {
 
   @Override
   public Path getAnalysisTemporaryFolder() {
-    return tempDir;
+    return tempDir.get();
   }
 
 }
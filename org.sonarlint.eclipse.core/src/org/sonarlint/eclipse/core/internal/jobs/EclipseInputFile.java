@@ -19,10 +19,14 @@
  */
 package org.sonarlint.eclipse.core.internal.jobs;
 
-import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileStore;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
@@ -33,19 +37,22 @@ import org.sonarlint.eclipse.core.resource.ISonarLintFile;
  *   - either a IDocument is provided, which mean the file is open in an editor
  *   - if document is <code>null</code> then file is not open but that doesn't mean we can read from FS, since the file might be stored on a remote FS
  *
+ * The content is provided to the backend by the file system synchronization, a local path is only needed by some
+ * configurators (e.g. CDT). For the files not on the local file system, a copy is kept in a mirror directory and only
+ * copied again when the file changed. The copies are cleaned up by {@link InputMirror}.
  */
 class EclipseInputFile {
   private final ISonarLintFile file;
   @Nullable
   private final IDocument editorDocument;
-  private final Path tempDirectory;
+  private final Path mirrorDirectory;
   @Nullable
   private Path filePath;
   private final long documentModificationStamp;
 
-  EclipseInputFile(ISonarLintFile file, Path tempDirectory, @Nullable IDocument editorDocument) {
+  EclipseInputFile(ISonarLintFile file, Path mirrorDirectory, @Nullable IDocument editorDocument) {
     this.file = file;
-    this.tempDirectory = tempDirectory;
+    this.mirrorDirectory = mirrorDirectory;
     this.editorDocument = editorDocument;
     this.documentModificationStamp = editorDocument != null ? ((IDocumentExtension4) editorDocument).getModificationStamp() : 0;
   }
@@ -56,27 +63,56 @@ class EclipseInputFile {
 
   public String getPath() {
     if (filePath == null) {
-      initFromFS(file, tempDirectory);
+      initFromFS(file, mirrorDirectory);
     }
     return filePath.toString();
   }
 
-  private synchronized void initFromFS(ISonarLintFile file, Path temporaryDirectory) {
+  private synchronized void initFromFS(ISonarLintFile file, Path mirrorDirectory) {
     try {
       var fileStore = EFS.getStore(file.getResource().getLocationURI());
       var localFile = fileStore.toLocalFile(EFS.NONE, null);
-      if (localFile == null) {
-        // For analyzers to properly work we should ensure the temporary file has a "correct" name, and not a generated one
-        localFile = new File(temporaryDirectory.toFile(), file.getProjectRelativePath());
-        Files.createDirectories(localFile.getParentFile().toPath());
-        fileStore.copy(EFS.getStore(localFile.toURI()), EFS.OVERWRITE, null);
+      if (localFile != null) {
+        filePath = localFile.toPath().toAbsolutePath();
+      } else {
+        // For analyzers to properly work we should ensure the local copy has a "correct" name, and not a generated one
+        filePath = mirror(fileStore, mirrorDirectory.resolve(file.getProjectRelativePath())).toAbsolutePath();
       }
-      filePath = localFile.toPath().toAbsolutePath();
     } catch (Exception e) {
       throw new IllegalStateException("Unable to find path for file " + file, e);
     }
   }
 
+  /**
+   *  The copy gets the modification time of the original, both are compared (in seconds, as not all file systems are
+   *  more precise) together with the size to know if it is still up to date.
+   */
+  private static Path mirror(IFileStore fileStore, Path mirroredFile) throws CoreException, IOException {
+    var info = fileStore.fetchInfo();
+    var lastModified = info.getLastModified();
+    if (lastModified != EFS.NONE && Files.isRegularFile(mirroredFile) && Files.size(mirroredFile) == info.getLength()
+      && Files.getLastModifiedTime(mirroredFile).toMillis() / 1000 == lastModified / 1000) {
+      return mirroredFile;
+    }
+    Files.createDirectories(mirroredFile.getParent());
+    // Another analysis of the project might read the file at the same time
+    var tempFile = Files.createTempFile(mirroredFile.getParent(), mirroredFile.getFileName().toString(), ".tmp");
+    try {
+      fileStore.copy(EFS.getStore(tempFile.toUri()), EFS.OVERWRITE, null);
+      if (lastModified != EFS.NONE) {
+        Files.setLastModifiedTime(tempFile, FileTime.fromMillis(lastModified));
+      }
+      try {
+        Files.move(tempFile, mirroredFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+        Files.move(tempFile, mirroredFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+    return mirroredFile;
+  }
+
   public boolean hasDocumentOlderThan(IDocument document) {
     return editorDocument != null && documentModificationStamp < ((IDocumentExtension4) document).getModificationStamp();
   }
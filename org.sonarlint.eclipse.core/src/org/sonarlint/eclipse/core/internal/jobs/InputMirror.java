@@ -0,0 +1,70 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.nio.file.Files;
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.resources.IResource;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.StoragePathManager;
+import org.sonarlint.eclipse.core.internal.utils.FileUtils;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintProject;
+
+/**
+ *  Cleanup of the local copies of the files not on the local file system, see {@link EclipseInputFile}. The copies
+ *  of removed (or moved) files are deleted, and the whole mirror of a project when it is closed or deleted.
+ */
+public class InputMirror {
+
+  private InputMirror() {
+    // utility class
+  }
+
+  /** Called for every removed resource, only the ones not on the local file system can have a copy */
+  public static void resourceRemoved(IResource resource) {
+    var locationUri = resource.getLocationURI();
+    if (locationUri == null || EFS.SCHEME_FILE.equals(locationUri.getScheme()) || resource.getType() == IResource.PROJECT
+      || !resource.getProject().isAccessible()) {
+      // Deleted projects are handled as a whole
+      return;
+    }
+    var project = SonarLintUtils.adapt(resource.getProject(), ISonarLintProject.class,
+      "[InputMirror#resourceRemoved] Try get project of resource '" + resource + "'");
+    if (project == null) {
+      return;
+    }
+    var mirrorDir = StoragePathManager.getInputMirrorDir(project);
+    var mirrored = mirrorDir.resolve(resource.getProjectRelativePath().toString());
+    if (mirrored.startsWith(mirrorDir) && Files.exists(mirrored)) {
+      SonarLintLogger.get().debug("Deleting local copy of removed resource " + mirrored);
+      FileUtils.deleteRecursively(mirrored);
+    }
+  }
+
+  /** When the project is closed or deleted */
+  public static void delete(ISonarLintProject project) {
+    var mirrorDir = StoragePathManager.getInputMirrorDir(project);
+    if (Files.isDirectory(mirrorDir)) {
+      SonarLintLogger.get().debug("Deleting local copies of the files of project " + project.getName());
+      FileUtils.deleteRecursively(mirrorDir);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.jobs;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.utils.JobUtils;
+
+import static java.text.MessageFormat.format;
+
+/**
+ *  Runs the analyses of several projects at the same time, as the backend can analyze several configuration scopes at
+ *  once. Each project is analyzed by its own job, in a job group bounded to the configured number of parallel jobs. The
+ *  projects with the most files are scheduled first so that a big one does not end up running alone at the end. The
+ *  progress is reported in files by the thread running the analyses, which only wakes up when a project is done, and
+ *  the cancellation is propagated to the group by the watcher shared with
+ *  {@link JobUtils#waitForFuture(IProgressMonitor, CompletableFuture)}.
+ */
+class MultiProjectAnalysis {
+  static final String PARALLELISM_PROPERTY = "sonarlint.analysis.parallelism";
+
+  private final List<AnalyzeProjectRequest> requests;
+
+  MultiProjectAnalysis(Collection<AnalyzeProjectRequest> requests) {
+    this.requests = new ArrayList<>(requests);
+    this.requests.sort(Comparator.comparingInt((AnalyzeProjectRequest r) -> r.getFiles().size()).reversed());
+  }
+
+  static int getParallelism() {
+    var defaultParallelism = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    return Math.max(1, Integer.getInteger(PARALLELISM_PROPERTY, defaultParallelism));
+  }
+
+  IStatus run(IProgressMonitor monitor) throws InterruptedException {
+    var totalFiles = requests.stream().mapToInt(r -> r.getFiles().size()).sum();
+    var progress = SubMonitor.convert(monitor, totalFiles);
+    if (requests.isEmpty()) {
+      return Status.OK_STATUS;
+    }
+    var startTime = System.currentTimeMillis();
+    var group = new JobGroup("SonarLint analysis of " + requests.size() + " projects", Math.min(getParallelism(), requests.size()), requests.size());
+    var cancellation = new CompletableFuture<Void>();
+    cancellation.whenComplete((result, error) -> {
+      if (cancellation.isCancelled()) {
+        group.cancel();
+      }
+    });
+    JobUtils.cancelOnMonitorCancellation(monitor, cancellation);
+    var doneJobs = new LinkedBlockingQueue<IJobChangeEvent>();
+    var summary = new Summary();
+    var remaining = 0;
+    try {
+      for (var request : requests) {
+        if (monitor.isCanceled()) {
+          summary.add(Status.CANCEL_STATUS);
+        } else if (!request.getProject().isOpen()) {
+          summary.add(Status.OK_STATUS);
+        } else {
+          schedule(request, group, doneJobs);
+          remaining++;
+        }
+      }
+      var analyzedProjects = requests.size() - remaining;
+      while (remaining > 0) {
+        var done = doneJobs.take();
+        remaining--;
+        analyzedProjects++;
+        summary.add(done.getResult());
+        progress.worked(((AnalyzeProjectJob) done.getJob()).getFileCount());
+        progress.setTaskName(format("Analyzing projects ({0}/{1})", analyzedProjects, requests.size()));
+      }
+    } finally {
+      cancellation.complete(null);
+      if (remaining > 0) {
+        // Interrupted while waiting
+        group.cancel();
+      }
+    }
+    SonarLintLogger.get().info(summary.toString(requests.size(), System.currentTimeMillis() - startTime));
+    return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+  }
+
+  private static void schedule(AnalyzeProjectRequest request, JobGroup group, BlockingQueue<IJobChangeEvent> doneJobs) {
+    var job = new AnalyzeProjectJob(request);
+    job.setJobGroup(group);
+    job.addJobChangeListener(new JobChangeAdapter() {
+      @Override
+      public void done(IJobChangeEvent event) {
+        doneJobs.add(event);
+      }
+    });
+    job.schedule();
+  }
+
+  private static class Summary {
+    private int failed;
+    private int canceled;
+
+    private void add(IStatus status) {
+      if (status.matches(IStatus.CANCEL)) {
+        canceled++;
+      } else if (status.matches(IStatus.WARNING | IStatus.ERROR)) {
+        failed++;
+      }
+    }
+
+    private String toString(int total, long durationMs) {
+      return format("Analysis of {0} project(s) done in {1} ms: {2} succeeded, {3} failed, {4} cancelled",
+        total, durationMs, total - failed - canceled, failed, canceled);
+    }
+  }
+}
@@ -21,7 +21,9 @@ package org.sonarlint.eclipse.core.internal.jobs;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -31,10 +33,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.Nullable;
@@ -42,19 +47,18 @@ import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
-import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
+import org.sonarlint.eclipse.core.internal.backend.TaintVulnerabilitiesIndex;
 import org.sonarlint.eclipse.core.internal.engine.connected.ConnectionFacade;
+import org.sonarlint.eclipse.core.internal.markers.MarkerAttributes;
 import org.sonarlint.eclipse.core.internal.markers.MarkerFlow;
 import org.sonarlint.eclipse.core.internal.markers.MarkerFlowLocation;
 import org.sonarlint.eclipse.core.internal.markers.MarkerFlows;
 import org.sonarlint.eclipse.core.internal.markers.MarkerUtils;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
-import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
 import org.sonarlint.eclipse.core.internal.quickfixes.MarkerQuickFix;
 import org.sonarlint.eclipse.core.internal.quickfixes.MarkerQuickFixes;
 import org.sonarlint.eclipse.core.internal.quickfixes.MarkerTextEdit;
 import org.sonarlint.eclipse.core.internal.utils.DigestUtils;
-import org.sonarlint.eclipse.core.internal.utils.JobUtils;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.listener.TaintVulnerabilitiesListener;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
@@ -120,7 +124,18 @@ public class SonarLintMarkerUpdater {
 
   public static void createOrUpdateMarkers(ISonarLintFile file, List<RaisedIssueDto> issues, boolean issuesAreOnTheFly, final boolean issuesIncludingResolved,
     final boolean issuesOnlyNewCode, final boolean viableForStatusChange) {
+    try {
+      // All the marker changes of the file are batched into a single resource delta
+      ResourcesPlugin.getWorkspace().run(
+        m -> createOrUpdateMarkersInWorkspaceOperation(file, issues, issuesAreOnTheFly, issuesIncludingResolved, issuesOnlyNewCode, viableForStatusChange),
+        null, IWorkspace.AVOID_UPDATE, null);
+    } catch (CoreException e) {
+      SonarLintLogger.get().error(e.getMessage(), e);
+    }
+  }
 
+  private static void createOrUpdateMarkersInWorkspaceOperation(ISonarLintFile file, List<RaisedIssueDto> issues, boolean issuesAreOnTheFly,
+    final boolean issuesIncludingResolved, final boolean issuesOnlyNewCode, final boolean viableForStatusChange) {
     try {
       var markersForFile = Stream.of(file.getResource().findMarkers(
         issuesAreOnTheFly ? SonarLintCorePlugin.MARKER_ON_THE_FLY_ID : SonarLintCorePlugin.MARKER_REPORT_ID,
@@ -142,7 +157,7 @@ public class SonarLintMarkerUpdater {
       }
 
       for (var marker : previousMarkersToDelete) {
-        marker.delete();
+        deleteIssueMarker(marker);
       }
     } catch (CoreException e) {
       SonarLintLogger.get().error(e.getMessage(), e);
@@ -161,20 +176,23 @@ public class SonarLintMarkerUpdater {
     }
     var binding = projectBinding.get();
 
-    var future = SonarLintBackendService.get().listAllTaintVulnerabilities(project);
-    var response = JobUtils.waitForFuture(monitor, future);
-
-    var taintVulnerabilities = response.getTaintVulnerabilities();
+    // Only the ones of this file, the index is kept up to date by SLCORE notifications
+    var taintVulnerabilities = TaintVulnerabilitiesIndex.get().getTaintVulnerabilities(currentFile, monitor);
+    if (taintVulnerabilities.isEmpty()) {
+      return;
+    }
 
     var boundSiblingProjects = facade.getBoundProjects(binding.getProjectKey());
-    var bindings = boundSiblingProjects.stream()
-      .collect(Collectors.toMap(p -> p, p -> SonarLintCorePlugin.loadConfig(p).getProjectBinding().get()));
+    // Flow locations are often in the same few files, don't look them up again and again
+    var filesByPath = new HashMap<Path, Optional<ISonarLintFile>>();
+    Function<Path, Optional<ISonarLintFile>> fileResolver = filePath -> filesByPath.computeIfAbsent(filePath,
+      k -> findFileForLocationInBoundProjects(boundSiblingProjects, k));
 
     var actualTaintMarkersCreated = false;
     for (var taintIssue : taintVulnerabilities) {
       if (!(shouldHideResolvedTaintMarker(taintIssue, issuesIncludingResolved)
         || shouldHidePreNewCodeTaintMarker(taintIssue, issuesOnlyNewCode))) {
-        var optFileForTaint = findFileForLocationInBoundProjects(bindings, taintIssue.getIdeFilePath());
+        var optFileForTaint = fileResolver.apply(taintIssue.getIdeFilePath());
         if (optFileForTaint.isEmpty()) {
           continue;
         }
@@ -183,7 +201,7 @@ public class SonarLintMarkerUpdater {
           continue;
         }
 
-        createTaintMarker(fileForTaint.getDocument(), fileForTaint, taintIssue, bindings);
+        createTaintMarker(fileForTaint.getDocument(), fileForTaint, taintIssue, fileResolver);
         actualTaintMarkersCreated = true;
       }
     }
@@ -193,9 +211,9 @@ public class SonarLintMarkerUpdater {
 
   }
 
-  private static Optional<ISonarLintFile> findFileForLocationInBoundProjects(Map<ISonarLintProject, EclipseProjectBinding> bindingsPerProjects, Path filePath) {
-    for (var entry : bindingsPerProjects.entrySet()) {
-      var primaryLocationFile = entry.getKey().find(filePath.toString());
+  private static Optional<ISonarLintFile> findFileForLocationInBoundProjects(Collection<ISonarLintProject> boundProjects, Path filePath) {
+    for (var boundProject : boundProjects) {
+      var primaryLocationFile = boundProject.find(filePath.toString());
       if (primaryLocationFile.isPresent()) {
         return primaryLocationFile;
       }
@@ -217,27 +235,35 @@ public class SonarLintMarkerUpdater {
       if (shouldHideResolvedIssueMarker(issue, issuesIncludingResolved)
         || shouldHidePreNewCodeIssueMarker(issue, issuesOnlyNewCode)) {
         if (markerForIssue != null) {
-          markerForIssue.delete();
+          deleteIssueMarker(markerForIssue);
         }
         continue;
       }
 
+      // Compute all the attributes first, so that the marker is created or updated with a single call
+      var attributes = issueMarkerAttributes(lazyInitDocument, issue, viableForStatusChange);
+      attributes.put(MarkerUtils.SONAR_MARKER_EXTRA_LOCATIONS_ATTR,
+        createOrReuseFlowMarkersForLocalIssues(lazyInitDocument, file, issue, markerForIssue, issuesAreOnTheFly));
+      if (issuesAreOnTheFly) {
+        attributes.put(MarkerUtils.SONAR_MARKER_QUICK_FIXES_ATTR,
+          createOrReuseQuickFixMarkersForLocalIssues(lazyInitDocument, file, issue, markerForIssue));
+      }
+
       // try to update the marker (if possible), otherwise create it
       if (markerForIssue == null) {
-        markerForIssue = createMarker(issueId, file, issuesAreOnTheFly);
+        attributes.put(MarkerUtils.SONAR_MARKER_TRACKED_ISSUE_ID_ATTR, MarkerUtils.encodeUuid(issueId));
+        attributes.createMarker(file.getResource(), issuesAreOnTheFly ? SonarLintCorePlugin.MARKER_ON_THE_FLY_ID : SonarLintCorePlugin.MARKER_REPORT_ID);
+      } else {
+        attributes.updateMarker(markerForIssue);
       }
-
-      updateMarkerAttributes(lazyInitDocument, issue, markerForIssue, viableForStatusChange);
-      createFlowMarkersForLocalIssues(lazyInitDocument, file, issue, markerForIssue, issuesAreOnTheFly);
-      createQuickFixMarkersForLocalIssues(lazyInitDocument, file, issue, markerForIssue, issuesAreOnTheFly);
     }
   }
 
-  private static IMarker createMarker(UUID id, ISonarLintIssuable issuable, boolean issuesAreOnTheFly) throws CoreException {
-    var marker = issuable.getResource()
-      .createMarker(issuesAreOnTheFly ? SonarLintCorePlugin.MARKER_ON_THE_FLY_ID : SonarLintCorePlugin.MARKER_REPORT_ID);
-    marker.setAttribute(MarkerUtils.SONAR_MARKER_TRACKED_ISSUE_ID_ATTR, MarkerUtils.encodeUuid(id));
-    return marker;
+  /** Delete the marker of an issue, and the ones of its flows and quick fixes that would otherwise be left behind */
+  private static void deleteIssueMarker(IMarker marker) throws CoreException {
+    MarkerUtils.getIssueFlows(marker).deleteAllMarkers();
+    MarkerUtils.getIssueQuickFixes(marker).deleteAllMarkers();
+    marker.delete();
   }
 
   private static String markerIdForFlows(boolean issuesAreOnTheFly) {
@@ -245,178 +271,257 @@ public class SonarLintMarkerUpdater {
   }
 
   private static void createTaintMarker(IDocument document, ISonarLintIssuable issuable, TaintVulnerabilityDto taintIssue,
-    Map<ISonarLintProject, EclipseProjectBinding> bindingsPerProjects) {
+    Function<Path, Optional<ISonarLintFile>> fileResolver) {
     try {
-      var marker = issuable.getResource().createMarker(SonarLintCorePlugin.MARKER_TAINT_ID);
+      var attributes = new MarkerAttributes();
 
-      setMarkerViewUtilsAttributes(issuable, marker);
+      setMarkerViewUtilsAttributes(issuable, attributes);
 
-      marker.setAttribute(MarkerUtils.SONAR_MARKER_RULE_KEY_ATTR, taintIssue.getRuleKey());
-      marker.setAttribute(MarkerUtils.SONAR_MARKER_RULE_DESC_CONTEXT_KEY_ATTR, taintIssue.getRuleDescriptionContextKey());
-      marker.setAttribute(IMarker.SEVERITY, SonarLintGlobalConfiguration.getMarkerSeverity());
+      attributes.put(MarkerUtils.SONAR_MARKER_RULE_KEY_ATTR, taintIssue.getRuleKey());
+      attributes.put(MarkerUtils.SONAR_MARKER_RULE_DESC_CONTEXT_KEY_ATTR, taintIssue.getRuleDescriptionContextKey());
+      attributes.put(IMarker.SEVERITY, SonarLintGlobalConfiguration.getMarkerSeverity());
 
-      marker.setAttribute(IMarker.MESSAGE, taintIssue.getMessage());
+      attributes.put(IMarker.MESSAGE, taintIssue.getMessage());
 
       // File level issues (line == null) are displayed on line 1
-      marker.setAttribute(IMarker.LINE_NUMBER, taintIssue.getTextRange() != null ? taintIssue.getTextRange().getStartLine() : 1);
+      attributes.put(IMarker.LINE_NUMBER, taintIssue.getTextRange() != null ? taintIssue.getTextRange().getStartLine() : 1);
 
       var position = MarkerUtils.getPosition(document, taintIssue.getTextRange());
       if (position != null) {
-        marker.setAttribute(IMarker.CHAR_START, position.getOffset());
-        marker.setAttribute(IMarker.CHAR_END, position.getOffset() + position.getLength());
+        attributes.put(IMarker.CHAR_START, position.getOffset());
+        attributes.put(IMarker.CHAR_END, position.getOffset() + position.getLength());
       } else {
         SonarLintLogger.get().debug("Position cannot be set for taint issue '" + taintIssue.getId() + "' in '" + taintIssue.getIdeFilePath() + "'");
       }
 
-      marker.setAttribute(IMarker.PRIORITY, getPriority(taintIssue.getSeverity()));
-      marker.setAttribute(MarkerUtils.SONAR_MARKER_ISSUE_SEVERITY_ATTR, taintIssue.getSeverity().name());
-      marker.setAttribute(MarkerUtils.SONAR_MARKER_ISSUE_TYPE_ATTR, taintIssue.getType().name());
-      marker.setAttribute(MarkerUtils.SONAR_MARKER_SERVER_ISSUE_KEY_ATTR, taintIssue.getSonarServerKey());
-      marker.setAttribute(MarkerUtils.SONAR_MARKER_RESOLVED_ATTR, taintIssue.isResolved());
+      attributes.put(IMarker.PRIORITY, getPriority(taintIssue.getSeverity()));
+      attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_SEVERITY_ATTR, taintIssue.getSeverity().name());
+      attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_TYPE_ATTR, taintIssue.getType().name());
+      attributes.put(MarkerUtils.SONAR_MARKER_SERVER_ISSUE_KEY_ATTR, taintIssue.getSonarServerKey());
+      attributes.put(MarkerUtils.SONAR_MARKER_RESOLVED_ATTR, taintIssue.isResolved());
 
       var creationDate = taintIssue.getIntroductionDate().toEpochMilli();
-      marker.setAttribute(MarkerUtils.SONAR_MARKER_CREATION_DATE_ATTR, String.valueOf(creationDate));
+      attributes.put(MarkerUtils.SONAR_MARKER_CREATION_DATE_ATTR, String.valueOf(creationDate));
+
+      attributes.put(MarkerUtils.SONAR_MARKER_EXTRA_LOCATIONS_ATTR, createFlowMarkersForTaint(taintIssue, fileResolver));
 
-      createFlowMarkersForTaint(taintIssue, marker, bindingsPerProjects);
+      attributes.createMarker(issuable.getResource(), SonarLintCorePlugin.MARKER_TAINT_ID);
     } catch (CoreException e) {
       SonarLintLogger.get().error("Unable to create marker", e);
     }
   }
 
-  private static void setMarkerViewUtilsAttributes(ISonarLintIssuable issuable, IMarker marker) throws CoreException {
+  private static void setMarkerViewUtilsAttributes(ISonarLintIssuable issuable, MarkerAttributes attributes) {
     // See MarkerViewUtil
-    marker.setAttribute("org.eclipse.ui.views.markers.name", issuable.getResourceNameForMarker());
-    marker.setAttribute("org.eclipse.ui.views.markers.path", issuable.getResourceContainerForMarker());
+    attributes.put("org.eclipse.ui.views.markers.name", issuable.getResourceNameForMarker());
+    attributes.put("org.eclipse.ui.views.markers.path", issuable.getResourceContainerForMarker());
   }
 
-  private static void updateMarkerAttributes(IDocument document, RaisedIssueDto issue, IMarker marker,
-    final boolean viableForStatusChange) throws CoreException {
-    var existingAttributes = marker.getAttributes();
+  private static MarkerAttributes issueMarkerAttributes(IDocument document, RaisedIssueDto issue, final boolean viableForStatusChange) {
+    var attributes = new MarkerAttributes();
 
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_RULE_KEY_ATTR, issue.getRuleKey());
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_RULE_DESC_CONTEXT_KEY_ATTR,
-      issue.getRuleDescriptionContextKey());
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.SEVERITY, SonarLintGlobalConfiguration.getMarkerSeverity());
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.PRIORITY, getPriority(issue.getSeverity()));
+    attributes.put(MarkerUtils.SONAR_MARKER_RULE_KEY_ATTR, issue.getRuleKey());
+    attributes.put(MarkerUtils.SONAR_MARKER_RULE_DESC_CONTEXT_KEY_ATTR, issue.getRuleDescriptionContextKey());
+    attributes.put(IMarker.SEVERITY, SonarLintGlobalConfiguration.getMarkerSeverity());
+    attributes.put(IMarker.PRIORITY, getPriority(issue.getSeverity()));
 
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.MESSAGE, issue.getPrimaryMessage());
+    attributes.put(IMarker.MESSAGE, issue.getPrimaryMessage());
 
     var textRange = issue.getTextRange();
     var position = MarkerUtils.getPosition(document, textRange);
 
     // File level issues (line == null) are displayed on line 1
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.LINE_NUMBER, textRange != null ? textRange.getStartLine() : 1);
-
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.CHAR_START, position != null ? position.getOffset() : null);
-    setMarkerAttributeIfDifferent(marker, existingAttributes, IMarker.CHAR_END, position != null ? (position.getOffset() + position.getLength()) : null);
-
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ISSUE_SEVERITY_ATTR,
-      issue.getSeverity());
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ISSUE_TYPE_ATTR,
-      issue.getType());
-
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ISSUE_ATTRIBUTE_ATTR,
-      issue.getCleanCodeAttribute());
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ISSUE_IMPACTS_ATTR,
-      MarkerUtils.encodeImpacts(issue.getImpacts()));
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ISSUE_HIGHEST_IMPACT_ATTR,
-      MarkerUtils.encodeHighestImpact(issue.getImpacts()));
-
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_SERVER_ISSUE_KEY_ATTR,
-      issue.getServerKey());
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_ANTICIPATED_ISSUE_ATTR,
-      viableForStatusChange);
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_RESOLVED_ATTR,
-      issue.isResolved());
+    attributes.put(IMarker.LINE_NUMBER, textRange != null ? textRange.getStartLine() : 1);
+
+    attributes.put(IMarker.CHAR_START, position != null ? position.getOffset() : null);
+    attributes.put(IMarker.CHAR_END, position != null ? (position.getOffset() + position.getLength()) : null);
+
+    attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_SEVERITY_ATTR, issue.getSeverity());
+    attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_TYPE_ATTR, issue.getType());
+
+    attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_ATTRIBUTE_ATTR, issue.getCleanCodeAttribute());
+    attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_IMPACTS_ATTR, MarkerUtils.encodeImpacts(issue.getImpacts()));
+    attributes.put(MarkerUtils.SONAR_MARKER_ISSUE_HIGHEST_IMPACT_ATTR, MarkerUtils.encodeHighestImpact(issue.getImpacts()));
+
+    attributes.put(MarkerUtils.SONAR_MARKER_SERVER_ISSUE_KEY_ATTR, issue.getServerKey());
+    attributes.put(MarkerUtils.SONAR_MARKER_ANTICIPATED_ISSUE_ATTR, viableForStatusChange);
+    attributes.put(MarkerUtils.SONAR_MARKER_RESOLVED_ATTR, issue.isResolved());
 
     var introductionDate = issue.getIntroductionDate().toEpochMilli();
-    setMarkerAttributeIfDifferent(marker, existingAttributes, MarkerUtils.SONAR_MARKER_CREATION_DATE_ATTR,
-      String.valueOf(introductionDate));
+    attributes.put(MarkerUtils.SONAR_MARKER_CREATION_DATE_ATTR, String.valueOf(introductionDate));
+    return attributes;
   }
 
-  private static void createFlowMarkersForLocalIssues(IDocument document, ISonarLintIssuable issuable, RaisedIssueDto issue, IMarker marker, boolean issuesAreOnTheFly)
-    throws CoreException {
+  /**
+   *  The markers of the flows are only re-created when the flows changed since the previous analysis, otherwise the
+   *  existing ones are kept as they are.
+   */
+  private static MarkerFlows createOrReuseFlowMarkersForLocalIssues(IDocument document, ISonarLintIssuable issuable, RaisedIssueDto issue,
+    @Nullable IMarker existingMarker, boolean issuesAreOnTheFly) throws CoreException {
+    var plannedFlows = new ArrayList<List<PlannedLocation>>();
+    for (var engineFlow : issue.getFlows()) {
+      var locations = new ArrayList<>(engineFlow.getLocations());
+      Collections.reverse(locations);
+      plannedFlows.add(locations.stream()
+        .map(l -> new PlannedLocation(l.getMessage(), textRangeMarkerAttributes(document, issuable.getResource(), l.getMessage(), l.getTextRange())))
+        .collect(Collectors.toList()));
+    }
+
+    if (existingMarker != null) {
+      var existingFlows = MarkerUtils.getIssueFlows(existingMarker);
+      if (isSameFlows(existingFlows, plannedFlows)) {
+        return existingFlows;
+      }
+      existingFlows.deleteAllMarkers();
+    }
+
     var flowMarkerId = markerIdForFlows(issuesAreOnTheFly);
     var flows = new ArrayList<MarkerFlow>();
     var i = 1;
-    for (var engineFlow : issue.getFlows()) {
+    for (var plannedFlow : plannedFlows) {
       var flow = new MarkerFlow(i);
       flows.add(flow);
-      var locations = new ArrayList<>(engineFlow.getLocations());
-      Collections.reverse(locations);
-      for (var l : locations) {
-        var flowLocation = new MarkerFlowLocation(flow, l.getMessage());
-        createMarkerForTextRange(document, issuable.getResource(), flowMarkerId, l.getMessage(), l.getTextRange()).ifPresent(flowLocation::setMarker);
+      for (var l : plannedFlow) {
+        var flowLocation = new MarkerFlowLocation(flow, l.message);
+        createMarker(issuable.getResource(), flowMarkerId, l.attributes).ifPresent(flowLocation::setMarker);
       }
       i++;
     }
-    marker.setAttribute(MarkerUtils.SONAR_MARKER_EXTRA_LOCATIONS_ATTR, new MarkerFlows(flows));
+    return new MarkerFlows(flows);
   }
 
-  private static void createQuickFixMarkersForLocalIssues(IDocument document, ISonarLintIssuable issuable, RaisedIssueDto issue, IMarker marker, boolean issuesAreOnTheFly)
-    throws CoreException {
-    if (!issuesAreOnTheFly) {
-      return;
+  private static boolean isSameFlows(MarkerFlows existingFlows, List<List<PlannedLocation>> plannedFlows) throws CoreException {
+    if (existingFlows.count() != plannedFlows.size()) {
+      return false;
     }
-    var qfs = new ArrayList<MarkerQuickFix>();
+    for (var i = 0; i < plannedFlows.size(); i++) {
+      var existingLocations = existingFlows.getFlows().get(i).getLocations();
+      var plannedLocations = plannedFlows.get(i);
+      if (existingLocations.size() != plannedLocations.size()) {
+        return false;
+      }
+      for (var j = 0; j < plannedLocations.size(); j++) {
+        var existingLocation = existingLocations.get(j);
+        var plannedLocation = plannedLocations.get(j);
+        var marker = existingLocation.getMarker();
+        if (marker == null || !Objects.equals(existingLocation.getMessage(), plannedLocation.message) || !plannedLocation.attributes.matches(marker)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   *  Same as for the flows, the markers of the quick fixes are only re-created when the quick fixes changed since the
+   *  previous analysis.
+   */
+  private static MarkerQuickFixes createOrReuseQuickFixMarkersForLocalIssues(IDocument document, ISonarLintIssuable issuable, RaisedIssueDto issue,
+    @Nullable IMarker existingMarker) throws CoreException {
+    var plannedQuickFixes = new ArrayList<PlannedQuickFix>();
     for (var engineQuickFix : issue.getQuickFixes()) {
-      createQuickFix(document, issuable, qfs, engineQuickFix);
+      planQuickFix(document, issuable, engineQuickFix).ifPresent(plannedQuickFixes::add);
+    }
+
+    if (existingMarker != null) {
+      var existingQuickFixes = MarkerUtils.getIssueQuickFixes(existingMarker);
+      if (isSameQuickFixes(existingQuickFixes, plannedQuickFixes)) {
+        return existingQuickFixes;
+      }
+      existingQuickFixes.deleteAllMarkers();
+    }
+
+    var qfs = new ArrayList<MarkerQuickFix>();
+    for (var plannedQuickFix : plannedQuickFixes) {
+      createQuickFix(issuable, qfs, plannedQuickFix);
     }
-    marker.setAttribute(MarkerUtils.SONAR_MARKER_QUICK_FIXES_ATTR, new MarkerQuickFixes(qfs));
+    return new MarkerQuickFixes(qfs);
   }
 
-  private static void createQuickFix(IDocument document, ISonarLintIssuable issuable, List<MarkerQuickFix> qfs, QuickFixDto rpcQuickFix) {
-    var qf = new MarkerQuickFix(rpcQuickFix.message());
+  private static Optional<PlannedQuickFix> planQuickFix(IDocument document, ISonarLintIssuable issuable, QuickFixDto rpcQuickFix) {
+    var qf = new PlannedQuickFix(rpcQuickFix.message());
     for (var edits : rpcQuickFix.fileEdits()) {
       var fileWithEdit = SonarLintUtils.findFileFromUri(edits.target());
       if (!issuable.equals(fileWithEdit)) {
         SonarLintLogger.get().debug("Quick fix on multiple files is not supported yet: " + rpcQuickFix.message());
-        return;
+        return Optional.empty();
       }
       // should we discard the quick fix if the document has changed since the analysis?
       for (var txtEditFromEngine : edits.textEdits()) {
-        var markerForTextEdit = createMarkerForTextRange(document, issuable.getResource(), SonarLintCorePlugin.MARKER_ON_THE_FLY_QUICK_FIX_ID, null,
-          txtEditFromEngine.range());
-        if (markerForTextEdit.isPresent()) {
-          var textEdit = new MarkerTextEdit(markerForTextEdit.get(), txtEditFromEngine.newText());
-          qf.addTextEdit(textEdit);
-        } else {
-          SonarLintLogger.get().debug("Unable to create text edit marker for quick fix: " + rpcQuickFix.message());
-          return;
+        qf.textEdits.add(new PlannedTextEdit(txtEditFromEngine.newText(),
+          textRangeMarkerAttributes(document, issuable.getResource(), null, txtEditFromEngine.range())));
+      }
+    }
+    return Optional.of(qf);
+  }
+
+  private static boolean isSameQuickFixes(MarkerQuickFixes existingQuickFixes, List<PlannedQuickFix> plannedQuickFixes) throws CoreException {
+    var existing = existingQuickFixes.getQuickFixes();
+    if (existing.size() != plannedQuickFixes.size()) {
+      return false;
+    }
+    for (var i = 0; i < plannedQuickFixes.size(); i++) {
+      var existingQuickFix = existing.get(i);
+      var plannedQuickFix = plannedQuickFixes.get(i);
+      if (!existingQuickFix.getMessage().equals(plannedQuickFix.message) || existingQuickFix.getTextEdits().size() != plannedQuickFix.textEdits.size()) {
+        return false;
+      }
+      for (var j = 0; j < plannedQuickFix.textEdits.size(); j++) {
+        var existingTextEdit = existingQuickFix.getTextEdits().get(j);
+        var plannedTextEdit = plannedQuickFix.textEdits.get(j);
+        if (!existingTextEdit.getNewText().equals(plannedTextEdit.newText) || !plannedTextEdit.attributes.matches(existingTextEdit.getMarker())) {
+          return false;
         }
       }
     }
-    qfs.add(qf);
+    return true;
   }
 
-  private static Optional<IMarker> createMarkerForTextRange(IDocument document, IResource resource, String markerId, @Nullable String message, @Nullable TextRangeDto textRange) {
-    try {
-      var marker = resource.createMarker(markerId);
-      if (message != null) {
-        marker.setAttribute(IMarker.MESSAGE, message);
+  private static void createQuickFix(ISonarLintIssuable issuable, List<MarkerQuickFix> qfs, PlannedQuickFix plannedQuickFix) {
+    var qf = new MarkerQuickFix(plannedQuickFix.message);
+    for (var plannedTextEdit : plannedQuickFix.textEdits) {
+      var markerForTextEdit = createMarker(issuable.getResource(), SonarLintCorePlugin.MARKER_ON_THE_FLY_QUICK_FIX_ID, plannedTextEdit.attributes);
+      if (markerForTextEdit.isPresent()) {
+        qf.addTextEdit(new MarkerTextEdit(markerForTextEdit.get(), plannedTextEdit.newText));
+      } else {
+        SonarLintLogger.get().debug("Unable to create text edit marker for quick fix: " + plannedQuickFix.message);
+        // Don't leave the markers of the text edits already created behind
+        new MarkerQuickFixes(List.of(qf)).deleteAllMarkers();
+        return;
       }
-      if (textRange == null) {
-        // File level
-        marker.setAttribute(IMarker.LINE_NUMBER, 1);
+    }
+    qfs.add(qf);
+  }
+
+  private static MarkerAttributes textRangeMarkerAttributes(IDocument document, IResource resource, @Nullable String message, @Nullable TextRangeDto textRange) {
+    var attributes = new MarkerAttributes();
+    attributes.put(IMarker.MESSAGE, message);
+    if (textRange == null) {
+      // File level
+      attributes.put(IMarker.LINE_NUMBER, 1);
+    } else {
+      attributes.put(IMarker.LINE_NUMBER, textRange.getStartLine());
+      var position = MarkerUtils.getPosition(document, textRange);
+      if (position != null) {
+        attributes.put(IMarker.CHAR_START, position.getOffset());
+        attributes.put(IMarker.CHAR_END, position.getOffset() + position.getLength());
       } else {
-        marker.setAttribute(IMarker.LINE_NUMBER, textRange.getStartLine());
-        var position = MarkerUtils.getPosition(document, textRange);
-        if (position != null) {
-          marker.setAttribute(IMarker.CHAR_START, position.getOffset());
-          marker.setAttribute(IMarker.CHAR_END, position.getOffset() + position.getLength());
-        } else {
-          SonarLintLogger.get().debug("Position cannot be set on resource '" + resource.getFullPath() + "'");
-        }
+        SonarLintLogger.get().debug("Position cannot be set on resource '" + resource.getFullPath() + "'");
       }
-      return Optional.of(marker);
+    }
+    return attributes;
+  }
+
+  private static Optional<IMarker> createMarker(IResource resource, String markerId, MarkerAttributes attributes) {
+    try {
+      return Optional.of(attributes.createMarker(resource, markerId));
     } catch (Exception e) {
       SonarLintLogger.get().debug("Unable to create marker", e);
       return Optional.empty();
     }
   }
 
-  private static void createFlowMarkersForTaint(TaintVulnerabilityDto taintIssue, IMarker primaryLocationMarker, Map<ISonarLintProject, EclipseProjectBinding> bindingsPerProjects)
-    throws CoreException {
+  private static MarkerFlows createFlowMarkersForTaint(TaintVulnerabilityDto taintIssue, Function<Path, Optional<ISonarLintFile>> fileResolver) {
     var flows = new ArrayList<MarkerFlow>();
     var i = 1;
     for (var rpcFlow : taintIssue.getFlows()) {
@@ -432,7 +537,7 @@ public class SonarLintMarkerUpdater {
         }
         var flowLocation = new MarkerFlowLocation(flow, l.getMessage(), filePath);
 
-        var locationFile = findFileForLocationInBoundProjects(bindingsPerProjects, filePath);
+        var locationFile = fileResolver.apply(filePath);
         if (locationFile.isEmpty()) {
           continue;
         }
@@ -450,7 +555,7 @@ public class SonarLintMarkerUpdater {
       }
       i++;
     }
-    primaryLocationMarker.setAttribute(MarkerUtils.SONAR_MARKER_EXTRA_LOCATIONS_ATTR, new MarkerFlows(flows));
+    return new MarkerFlows(flows);
   }
 
   @Nullable
@@ -465,10 +570,10 @@ public class SonarLintMarkerUpdater {
   }
 
   private static IMarker createFileLevelMarker(ISonarLintFile file, LocationDto l) throws CoreException {
-    var marker = file.getResource().createMarker(SonarLintCorePlugin.MARKER_TAINT_FLOW_ID);
-    marker.setAttribute(IMarker.MESSAGE, l.getMessage());
-    marker.setAttribute(IMarker.LINE_NUMBER, 1);
-    return marker;
+    return new MarkerAttributes()
+      .put(IMarker.MESSAGE, l.getMessage())
+      .put(IMarker.LINE_NUMBER, 1)
+      .createMarker(file.getResource(), SonarLintCorePlugin.MARKER_TAINT_FLOW_ID);
   }
 
   @Nullable
@@ -476,31 +581,23 @@ public class SonarLintMarkerUpdater {
     throws BadLocationException, CoreException {
     var startOffset = document.getLineOffset(textRange.getStartLine() - 1) + textRange.getStartLineOffset();
     var endOffset = document.getLineOffset(textRange.getEndLine() - 1) + textRange.getEndLineOffset();
-    var inEditorCode = document.get(startOffset, endOffset - startOffset);
-    var inEditorDigest = DigestUtils.digest(inEditorCode);
+    var inEditorDigest = DigestUtils.digest(document, startOffset, endOffset - startOffset);
     if (inEditorDigest.equals(textRange.getHash())) {
-      var marker = file.getResource().createMarker(SonarLintCorePlugin.MARKER_TAINT_FLOW_ID);
-      marker.setAttribute(IMarker.MESSAGE, l.getMessage());
-      marker.setAttribute(IMarker.LINE_NUMBER, textRange.getStartLine());
+      var attributes = new MarkerAttributes()
+        .put(IMarker.MESSAGE, l.getMessage())
+        .put(IMarker.LINE_NUMBER, textRange.getStartLine());
       var flowPosition = MarkerUtils.getPosition(document, textRange);
       if (flowPosition != null) {
-        marker.setAttribute(IMarker.CHAR_START, flowPosition.getOffset());
-        marker.setAttribute(IMarker.CHAR_END, flowPosition.getOffset() + flowPosition.getLength());
+        attributes.put(IMarker.CHAR_START, flowPosition.getOffset());
+        attributes.put(IMarker.CHAR_END, flowPosition.getOffset() + flowPosition.getLength());
       } else {
         SonarLintLogger.get().debug("Position cannot be set for flow on '" + file.getProjectRelativePath() + "'");
       }
-      return marker;
+      return attributes.createMarker(file.getResource(), SonarLintCorePlugin.MARKER_TAINT_FLOW_ID);
     }
     return null;
   }
 
-  private static void setMarkerAttributeIfDifferent(IMarker marker, @Nullable Map<String, Object> existingAttributes, String attributeName, @Nullable Object value)
-    throws CoreException {
-    if (!Objects.equals(value, existingAttributes != null ? existingAttributes.get(attributeName) : null)) {
-      marker.setAttribute(attributeName, value);
-    }
-  }
-
   /**
    * @return Priority marker attribute. A number from the set of high, normal and low priorities defined by the platform.
    *
@@ -544,4 +641,34 @@ public class SonarLintMarkerUpdater {
   private static boolean shouldHidePreNewCodeTaintMarker(TaintVulnerabilityDto issue, final boolean issuesOnlyNewCode) {
     return issuesOnlyNewCode && !issue.isOnNewCode();
   }
+
+  private static class PlannedLocation {
+    @Nullable
+    private final String message;
+    private final MarkerAttributes attributes;
+
+    private PlannedLocation(@Nullable String message, MarkerAttributes attributes) {
+      this.message = message;
+      this.attributes = attributes;
+    }
+  }
+
+  private static class PlannedQuickFix {
+    private final String message;
+    private final List<PlannedTextEdit> textEdits = new ArrayList<>();
+
+    private PlannedQuickFix(String message) {
+      this.message = message;
+    }
+  }
+
+  private static class PlannedTextEdit {
+    private final String newText;
+    private final MarkerAttributes attributes;
+
+    private PlannedTextEdit(String newText, MarkerAttributes attributes) {
+      this.newText = newText;
+      this.attributes = attributes;
+    }
+  }
 }
@@ -28,6 +28,7 @@ import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.engine.connected.ConnectionFacade;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
+import org.sonarlint.eclipse.core.internal.resources.FileContentSession;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 
@@ -50,7 +51,7 @@ public class TaintIssuesMarkerUpdateJob extends Job {
 
   @Override
   protected IStatus run(IProgressMonitor monitor) {
-    try {
+    try (var fileContentSession = FileContentSession.open()) {
       // To access the preference service only once and not per issue
       var issuesIncludingResolved = SonarLintGlobalConfiguration.issuesIncludingResolved();
       var issuesOnlyNewCode = SonarLintGlobalConfiguration.issuesOnlyNewCode();
@@ -23,27 +23,37 @@ import java.nio.file.FileSystems;
 import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.eclipse.core.runtime.IPath;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.analysis.IFileTypeProvider.ISonarLintFileType;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 
+/**
+ *  Classification of files as test or main code, first by the file type providers and then by the glob patterns from
+ *  the preferences. As it is done for every file of a project when synchronizing the file system with SLCORE, the
+ *  results are cached by path until the test patterns or (as notified by the providers) the classpath changed.
+ */
 public class TestFileClassifier {
-  private static TestFileClassifier instance;
-  private List<PathMatcher> pathMatchersForTests;
+  private static final TestFileClassifier INSTANCE = new TestFileClassifier();
+
+  private volatile List<PathMatcher> pathMatchersForTests;
+  private final Map<IPath, Boolean> isTestByPath = new ConcurrentHashMap<>();
+  /** Incremented on every invalidation, so that a result computed in the meantime is not cached */
+  private final AtomicLong generation = new AtomicLong();
 
-  public TestFileClassifier() {
-    reload();
+  private TestFileClassifier() {
+    pathMatchersForTests = createMatchersForTests(SonarLintGlobalConfiguration.getTestFileGlobPatterns().split(","));
   }
 
   public static TestFileClassifier get() {
-    if (instance == null) {
-      instance = new TestFileClassifier();
-    }
-    return instance;
+    return INSTANCE;
   }
 
   /**
@@ -54,6 +64,16 @@ public class TestFileClassifier {
     var allTestPattern = SonarLintGlobalConfiguration.getTestFileGlobPatterns();
     var testPatterns = allTestPattern.split(",");
     pathMatchersForTests = createMatchersForTests(testPatterns);
+    invalidate();
+  }
+
+  /**
+   * Forget all the results, should be called by file type providers when their qualification might have changed, e.g.
+   * on changes of the classpath of a project.
+   */
+  public void invalidate() {
+    generation.incrementAndGet();
+    isTestByPath.clear();
   }
 
   private static List<PathMatcher> createMatchersForTests(String[] testPatterns) {
@@ -64,6 +84,20 @@ public class TestFileClassifier {
   }
 
   public boolean isTest(ISonarLintFile file) {
+    var path = file.getResource().getFullPath();
+    var cached = isTestByPath.get(path);
+    if (cached != null) {
+      return cached;
+    }
+    var currentGeneration = generation.get();
+    var isTest = classify(file);
+    if (generation.get() == currentGeneration) {
+      isTestByPath.put(path, isTest);
+    }
+    return isTest;
+  }
+
+  private boolean classify(ISonarLintFile file) {
     for (var typeProvider : SonarLintExtensionTracker.getInstance().getTypeProviders()) {
       if (typeProvider.qualify(file) == ISonarLintFileType.TEST) {
         SonarLintLogger.get().traceIdeMessage("File '" + file.getProjectRelativePath() + "' qualified as test by '" + typeProvider.getClass().getSimpleName() + "'");
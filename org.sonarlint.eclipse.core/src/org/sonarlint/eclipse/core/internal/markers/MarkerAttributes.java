@@ -0,0 +1,102 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.markers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ *  All the attributes of a marker computed up front, so that they can be written with a single call instead of one
+ *  {@link IMarker#setAttribute(String, Object)} per attribute. Every single one of them would otherwise acquire the
+ *  workspace lock and produce a marker delta on its own.
+ *
+ *  A null value means that the attribute should not be present on the marker.
+ */
+public class MarkerAttributes {
+  private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+  public MarkerAttributes put(String name, @Nullable Object value) {
+    attributes.put(name, value);
+    return this;
+  }
+
+  @Nullable
+  public Object get(String name) {
+    return attributes.get(name);
+  }
+
+  /** Create the marker with all the attributes at once */
+  public IMarker createMarker(IResource resource, String type) throws CoreException {
+    var marker = resource.createMarker(type);
+    marker.setAttributes(attributes.keySet().toArray(new String[0]), attributes.values().toArray());
+    return marker;
+  }
+
+  /**
+   *  Write only the attributes that differ from the ones already set on the marker, all of them at once.
+   *
+   *  @return true if the marker had to be changed
+   */
+  public boolean updateMarker(IMarker marker) throws CoreException {
+    var existingAttributes = marker.getAttributes();
+    var names = new String[attributes.size()];
+    var values = new Object[attributes.size()];
+    var changed = 0;
+    for (var entry : attributes.entrySet()) {
+      if (!Objects.equals(entry.getValue(), existingAttributes != null ? existingAttributes.get(entry.getKey()) : null)) {
+        names[changed] = entry.getKey();
+        values[changed] = entry.getValue();
+        changed++;
+      }
+    }
+    if (changed == 0) {
+      return false;
+    }
+    if (changed < names.length) {
+      var changedNames = new String[changed];
+      var changedValues = new Object[changed];
+      System.arraycopy(names, 0, changedNames, 0, changed);
+      System.arraycopy(values, 0, changedValues, 0, changed);
+      names = changedNames;
+      values = changedValues;
+    }
+    marker.setAttributes(names, values);
+    return true;
+  }
+
+  /** Whether the existing marker already has exactly these attribute values */
+  public boolean matches(IMarker marker) throws CoreException {
+    if (!marker.exists()) {
+      return false;
+    }
+    var existingAttributes = marker.getAttributes();
+    for (var entry : attributes.entrySet()) {
+      if (!Objects.equals(entry.getValue(), existingAttributes != null ? existingAttributes.get(entry.getKey()) : null)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
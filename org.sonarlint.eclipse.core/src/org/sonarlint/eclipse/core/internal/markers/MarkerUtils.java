@@ -102,6 +102,17 @@ public final class MarkerUtils {
     }
   }
 
+  /** Only markers of issues found locally (on-the-fly or report) can be anticipated issues */
+  public static void updateAnticipatedIssueAttribute(IResource resource, boolean viableForStatusChange) throws CoreException {
+    for (var markerId : List.of(SonarLintCorePlugin.MARKER_ON_THE_FLY_ID, SonarLintCorePlugin.MARKER_REPORT_ID)) {
+      for (var marker : resource.findMarkers(markerId, false, IResource.DEPTH_INFINITE)) {
+        if (marker.getAttribute(SONAR_MARKER_ANTICIPATED_ISSUE_ATTR, false) != viableForStatusChange) {
+          marker.setAttribute(SONAR_MARKER_ANTICIPATED_ISSUE_ATTR, viableForStatusChange);
+        }
+      }
+    }
+  }
+
   @Nullable
   public static String encodeUuid(@Nullable UUID uuid) {
     return uuid == null ? null : uuid.toString();
@@ -36,6 +36,19 @@ public class SonarLintProjectConfiguration {
   private boolean autoEnabled = true;
   private boolean bindingSuggestionsDisabled = false;
 
+  /** Copy that can be changed without affecting this configuration */
+  public SonarLintProjectConfiguration copy() {
+    var copy = new SonarLintProjectConfiguration();
+    // The properties are mutable, e.g. when edited in the preference page
+    extraProperties.forEach(property -> copy.extraProperties.add(new SonarLintProperty(property)));
+    // The exclusions are immutable
+    copy.fileExclusions.addAll(fileExclusions);
+    copy.projectBinding = projectBinding;
+    copy.autoEnabled = autoEnabled;
+    copy.bindingSuggestionsDisabled = bindingSuggestionsDisabled;
+    return copy;
+  }
+
   public List<ExclusionItem> getFileExclusions() {
     return fileExclusions;
   }
@@ -19,8 +19,13 @@
  */
 package org.sonarlint.eclipse.core.internal.preferences;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.core.runtime.preferences.IScopeContext;
 import org.osgi.service.prefs.BackingStoreException;
 import org.sonarlint.eclipse.core.SonarLintLogger;
@@ -59,6 +64,16 @@ public class SonarLintProjectConfigurationManager {
 
   private static final Set<String> BINDING_RELATED_PROPERTIES = Set.of(P_PROJECT_KEY, P_CONNECTION_ID, P_BINDING_SUGGESTIONS_DISABLED_KEY);
 
+  /**
+   *  The configuration is read on hot paths (e.g. the decorators), so it is only read again from the preferences when
+   *  they changed. Keyed by the absolute path of the project preference node.
+   */
+  private final Map<String, CachedConfiguration> configurationCache = new ConcurrentHashMap<>();
+  private final Set<String> migratedNodes = ConcurrentHashMap.newKeySet();
+  /** Incremented on every invalidation, so that a configuration read in the meantime is not cached */
+  private final AtomicLong generation = new AtomicLong();
+  private final IPreferenceChangeListener cacheInvalidator = event -> invalidate(event.getNode().absolutePath());
+
   public static void registerPreferenceChangeListenerForBindingProperties(ISonarLintProject project, Consumer<ISonarLintProject> listener) {
     ofNullable(project.getScopeContext().getNode(SonarLintCorePlugin.PLUGIN_ID))
       .ifPresent(node -> {
@@ -72,11 +87,57 @@ public class SonarLintProjectConfigurationManager {
 
   public SonarLintProjectConfiguration load(IScopeContext projectScope, String projectName) {
     var projectNode = projectScope.getNode(SonarLintCorePlugin.PLUGIN_ID);
-    var projectConfig = new SonarLintProjectConfiguration();
     if (projectNode == null) {
-      return projectConfig;
+      return new SonarLintProjectConfiguration();
+    }
+
+    var nodePath = projectNode.absolutePath();
+    var cached = configurationCache.get(nodePath);
+    // The node is re-created when the project is closed and re-opened, or deleted and re-created
+    if (cached == null || cached.node != projectNode) {
+      migrateLegacyProperties(projectNode, projectName);
+      // The listener is only registered once per node, as adding the same instance again is a no-op
+      projectNode.addPreferenceChangeListener(cacheInvalidator);
+      var currentGeneration = generation.get();
+      var loaded = new CachedConfiguration(projectNode, read(projectNode));
+      // The generation is checked while holding the entry, an invalidation removing it afterwards
+      configurationCache.compute(nodePath, (path, previous) -> generation.get() == currentGeneration ? loaded : previous);
+      cached = loaded;
+    }
+    // Callers are changing the configuration before saving it, the cached one must stay untouched
+    return cached.configuration.copy();
+  }
+
+  /** Drops the cached configuration of a project that is closed or deleted */
+  public void forget(IScopeContext projectScope) {
+    var projectNode = projectScope.getNode(SonarLintCorePlugin.PLUGIN_ID);
+    if (projectNode != null) {
+      var nodePath = projectNode.absolutePath();
+      projectNode.removePreferenceChangeListener(cacheInvalidator);
+      invalidate(nodePath);
+      migratedNodes.remove(nodePath);
+    }
+  }
+
+  private void invalidate(String nodePath) {
+    generation.incrementAndGet();
+    configurationCache.remove(nodePath);
+  }
+
+  private void migrateLegacyProperties(IEclipsePreferences projectNode, String projectName) {
+    if (!migratedNodes.add(projectNode.absolutePath())) {
+      return;
+    }
+    var projectKey = projectNode.get(P_PROJECT_KEY, "");
+    var moduleKey = projectNode.get(P_MODULE_KEY, "");
+    if (isBlank(projectKey) && isNotBlank(moduleKey)) {
+      SonarLintLogger.get().info("Binding configuration of project '" + projectName + "' is outdated. Please rebind this project.");
     }
+    projectNode.remove(P_MODULE_KEY);
+  }
 
+  private static SonarLintProjectConfiguration read(IEclipsePreferences projectNode) {
+    var projectConfig = new SonarLintProjectConfiguration();
     var extraArgsAsString = projectNode.get(P_EXTRA_PROPS, null);
     var sonarProperties = SonarLintGlobalConfiguration.deserializeExtraProperties(extraArgsAsString);
     var fileExclusionsAsString = projectNode.get(P_FILE_EXCLUSIONS, null);
@@ -85,11 +146,6 @@ public class SonarLintProjectConfigurationManager {
     projectConfig.getExtraProperties().addAll(sonarProperties);
     projectConfig.getFileExclusions().addAll(fileExclusions);
     var projectKey = projectNode.get(P_PROJECT_KEY, "");
-    var moduleKey = projectNode.get(P_MODULE_KEY, "");
-    if (isBlank(projectKey) && isNotBlank(moduleKey)) {
-      SonarLintLogger.get().info("Binding configuration of project '" + projectName + "' is outdated. Please rebind this project.");
-    }
-    projectNode.remove(P_MODULE_KEY);
     var connectionId = projectNode.get(P_CONNECTION_ID, "");
     if (isNotBlank(connectionId) && isNotBlank(projectKey)) {
       projectConfig.setProjectBinding(new EclipseProjectBinding(connectionId, projectKey));
@@ -133,6 +189,8 @@ public class SonarLintProjectConfigurationManager {
 
     projectNode.putBoolean(P_AUTO_ENABLED_KEY, configuration.isAutoEnabled());
     projectNode.putBoolean(P_BINDING_SUGGESTIONS_DISABLED_KEY, configuration.isBindingSuggestionsDisabled());
+    // Don't wait for the preference change events to be dispatched
+    invalidate(projectNode.absolutePath());
     try {
       projectNode.flush();
     } catch (BackingStoreException e) {
@@ -140,4 +198,14 @@ public class SonarLintProjectConfigurationManager {
     }
   }
 
+  private static class CachedConfiguration {
+    private final IEclipsePreferences node;
+    private final SonarLintProjectConfiguration configuration;
+
+    private CachedConfiguration(IEclipsePreferences node, SonarLintProjectConfiguration configuration) {
+      this.node = node;
+      this.configuration = configuration;
+    }
+  }
+
 }
@@ -20,6 +20,8 @@
 package org.sonarlint.eclipse.core.internal.quickfixes;
 
 import java.util.List;
+import org.eclipse.core.runtime.CoreException;
+import org.sonarlint.eclipse.core.SonarLintLogger;
 
 public class MarkerQuickFixes {
 
@@ -33,4 +35,17 @@ public class MarkerQuickFixes {
     return quickFixes;
   }
 
+  public void deleteAllMarkers() {
+    quickFixes.stream()
+      .flatMap(qf -> qf.getTextEdits().stream())
+      .map(MarkerTextEdit::getMarker)
+      .forEach(m -> {
+        try {
+          m.delete();
+        } catch (CoreException e) {
+          SonarLintLogger.get().error(e.getMessage(), e);
+        }
+      });
+  }
+
 }
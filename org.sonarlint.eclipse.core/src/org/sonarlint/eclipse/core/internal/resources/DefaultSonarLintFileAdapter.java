@@ -21,14 +21,9 @@ package org.sonarlint.eclipse.core.internal.resources;
 
 import java.nio.charset.Charset;
 import java.util.Objects;
-import org.eclipse.core.filebuffers.FileBuffers;
-import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jface.text.IDocument;
-import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.vcs.VcsService;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
@@ -60,21 +55,7 @@ public class DefaultSonarLintFileAdapter implements ISonarLintFile {
 
   @Override
   public IDocument getDocument() {
-    var textFileBufferManager = FileBuffers.getTextFileBufferManager();
-    var path = file.getFullPath();
-    try {
-      textFileBufferManager.connect(path, LocationKind.IFILE, new NullProgressMonitor());
-      var textFileBuffer = textFileBufferManager.getTextFileBuffer(path, LocationKind.IFILE);
-      return textFileBuffer.getDocument();
-    } catch (CoreException e) {
-      throw new IllegalStateException("Unable to open content of file " + file, e);
-    } finally {
-      try {
-        textFileBufferManager.disconnect(path, LocationKind.IFILE, new NullProgressMonitor());
-      } catch (CoreException e) {
-        // Ignore
-      }
-    }
+    return FileContentSession.getDocument(file);
   }
 
   @Override
@@ -84,12 +65,7 @@ public class DefaultSonarLintFileAdapter implements ISonarLintFile {
 
   @Override
   public Charset getCharset() {
-    try {
-      return Charset.forName(file.getCharset());
-    } catch (CoreException e) {
-      SonarLintLogger.get().error("Unable to determine charset of file " + file, e);
-      return Charset.defaultCharset();
-    }
+    return FileContentSession.getCharset(file);
   }
 
   @Override
@@ -30,8 +30,6 @@ import java.util.Set;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.IResourceVisitor;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.team.core.RepositoryProvider;
@@ -40,8 +38,6 @@ import org.eclipse.team.core.subscribers.Subscriber;
 import org.eclipse.team.core.synchronize.SyncInfo;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
-import org.sonarlint.eclipse.core.internal.backend.FileSystemSynchronizer;
-import org.sonarlint.eclipse.core.internal.cache.DefaultSonarLintProjectAdapterCache;
 import org.sonarlint.eclipse.core.internal.cache.IProjectScopeProviderCache;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
@@ -87,61 +83,13 @@ public class DefaultSonarLintProjectAdapter implements ISonarLintProject {
   public Collection<ISonarLintFile> files() {
     var configScopeId = getConfigScopeId();
 
-    var cachedFiles = DefaultSonarLintProjectAdapterCache.INSTANCE.getEntry(configScopeId);
-    if (cachedFiles != null) {
-      return cachedFiles;
-    }
-
     var cachedExclusions = IProjectScopeProviderCache.INSTANCE.getEntry(configScopeId);
     if (cachedExclusions == null) {
       cachedExclusions = getExclusions();
       IProjectScopeProviderCache.INSTANCE.putEntry(configScopeId, cachedExclusions);
     }
-    final var exclusions = cachedExclusions;
-
-    var result = new ArrayList<ISonarLintFile>();
-    try {
-      project.accept(new IResourceVisitor() {
-        @Override
-        public boolean visit(IResource resource) throws CoreException {
-          var fullPath = resource.getFullPath();
-
-          // Immediately rule out files in the VCS and files related to Node.js "metadata" / storage. These can change
-          // very often and are nowhere nearly related to SonarLint!
-          if (SonarLintUtils.insideVCSFolder(fullPath) || SonarLintUtils.isNodeJsRelated(fullPath)) {
-            return false;
-          }
-
-          // Compared to "FileSystemSynchronizer#visitDeltaPostChange" this is on all files and folders and not only
-          // the delta. Therefore we can check for a folder whether its "whole" path is in there!
-          if (exclusions.contains(fullPath)) {
-            return false;
-          }
-
-          // We don't want to visit all the folders except the ".sonarlint" one due to it possibly containing shared
-          // Connected Mode configuration files!
-          if (resource.getType() == IResource.FOLDER
-            && FileSystemSynchronizer.SONARLINT_FOLDER.equals(resource.getName())) {
-            return true;
-          }
-
-          if (!SonarLintUtils.isSonarLintFileCandidate(resource)) {
-            return false;
-          }
-          var sonarLintFile = SonarLintUtils.adapt(resource, ISonarLintFile.class,
-            "[DefaultSonarLintProjectAdapter#files] Try get file of resource '" + resource + "'");
-          if (sonarLintFile != null) {
-            result.add(sonarLintFile);
-          }
-          return true;
-        }
-      });
-    } catch (CoreException e) {
-      SonarLintLogger.get().error("Error collecting files in project " + project.getName(), e);
-    }
 
-    DefaultSonarLintProjectAdapterCache.INSTANCE.putEntry(getConfigScopeId(), result);
-    return result;
+    return ProjectFileIndex.INSTANCE.files(project, cachedExclusions);
   }
 
   private Set<IPath> getExclusions() {
@@ -0,0 +1,138 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.resources;
+
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.text.IDocument;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+
+/**
+ *  Content of the files read by a job. Getting the document of a file that is not open in an editor connects its file
+ *  buffer, which reads the file, and disconnecting it throws the content away: a job asking for the document of the
+ *  same file several times (e.g. once per issue and flow location when creating markers) read the file every time.
+ *  While a session is open on the current thread, the buffers stay connected until it is closed (only the most
+ *  recently used ones, in order to not keep a whole project in memory) and the charset of the files is resolved once.
+ */
+public final class FileContentSession implements AutoCloseable {
+  private static final int MAX_CONNECTED_BUFFERS = 64;
+  private static final ThreadLocal<FileContentSession> CURRENT = new ThreadLocal<>();
+  private static final Map<String, Charset> CHARSETS_BY_NAME = new ConcurrentHashMap<>();
+
+  private final Map<IPath, IDocument> documents = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<IPath, IDocument> eldest) {
+      if (size() > MAX_CONNECTED_BUFFERS) {
+        disconnect(eldest.getKey());
+        return true;
+      }
+      return false;
+    }
+  };
+  private final Map<IPath, Charset> charsets = new HashMap<>();
+  private int depth;
+
+  private FileContentSession() {
+  }
+
+  /** Opens a session on the current thread, or joins the one already open there */
+  public static FileContentSession open() {
+    var session = CURRENT.get();
+    if (session == null) {
+      session = new FileContentSession();
+      CURRENT.set(session);
+    }
+    session.depth++;
+    return session;
+  }
+
+  @Override
+  public void close() {
+    depth--;
+    if (depth == 0) {
+      CURRENT.remove();
+      documents.keySet().forEach(FileContentSession::disconnect);
+      documents.clear();
+      charsets.clear();
+    }
+  }
+
+  static IDocument getDocument(IFile file) {
+    var session = CURRENT.get();
+    var path = file.getFullPath();
+    if (session == null) {
+      try {
+        return connect(path);
+      } finally {
+        disconnect(path);
+      }
+    }
+    var document = session.documents.get(path);
+    if (document == null) {
+      document = connect(path);
+      session.documents.put(path, document);
+    }
+    return document;
+  }
+
+  static Charset getCharset(IFile file) {
+    var session = CURRENT.get();
+    if (session == null) {
+      return resolveCharset(file);
+    }
+    return session.charsets.computeIfAbsent(file.getFullPath(), k -> resolveCharset(file));
+  }
+
+  private static IDocument connect(IPath path) {
+    var textFileBufferManager = FileBuffers.getTextFileBufferManager();
+    try {
+      textFileBufferManager.connect(path, LocationKind.IFILE, new NullProgressMonitor());
+    } catch (CoreException e) {
+      throw new IllegalStateException("Unable to open content of file " + path, e);
+    }
+    return textFileBufferManager.getTextFileBuffer(path, LocationKind.IFILE).getDocument();
+  }
+
+  private static void disconnect(IPath path) {
+    try {
+      FileBuffers.getTextFileBufferManager().disconnect(path, LocationKind.IFILE, new NullProgressMonitor());
+    } catch (CoreException e) {
+      // Ignore
+    }
+  }
+
+  private static Charset resolveCharset(IFile file) {
+    try {
+      return CHARSETS_BY_NAME.computeIfAbsent(file.getCharset(), Charset::forName);
+    } catch (CoreException e) {
+      SonarLintLogger.get().error("Unable to determine charset of file " + file, e);
+      return Charset.defaultCharset();
+    }
+  }
+}
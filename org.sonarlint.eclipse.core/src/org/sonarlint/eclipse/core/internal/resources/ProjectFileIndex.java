@@ -0,0 +1,436 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.resources;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ISaveContext;
+import org.eclipse.core.resources.ISaveParticipant;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
+import org.sonarlint.eclipse.core.internal.StoragePathManager;
+import org.sonarlint.eclipse.core.internal.backend.FileSystemSynchronizer;
+import org.sonarlint.eclipse.core.internal.backend.SonarLintEclipseHeadlessRpcClient;
+import org.sonarlint.eclipse.core.internal.utils.FileUtils;
+import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
+
+/**
+ *  Index of the files of every project, used for providing all files to SLCORE when the project is imported
+ *  ({@link SonarLintEclipseHeadlessRpcClient#listFiles}), internally in this logic to get all shared Connected Mode
+ *  configuration files in hierarchies ({@link FileSystemSynchronizer#getSonarLintJsonFiles}) and when aggregating all
+ *  files to be analyzed on a manual selection (see `SelectionUtils.collectFiles` in the UI plug-in).
+ *
+ *  The index of a project is built once by visiting the whole project and afterwards kept up to date with the resource
+ *  deltas processed by the {@link FileSystemSynchronizer}. It is persisted when the workspace is saved so that it can
+ *  be re-used in the next session, as long as the resources of the project didn't change in between (we rely on the
+ *  workspace saved state for that).
+ *
+ *  As long as the {@link FileSystemSynchronizer} is not running (e.g. before the backend is initialized) we cannot be
+ *  sure to receive all the changes, therefore the projects are visited on every call in that case.
+ */
+public class ProjectFileIndex implements ISaveParticipant {
+  public static final ProjectFileIndex INSTANCE = new ProjectFileIndex();
+
+  private static final String INDEX_FILE_EXTENSION = ".idx";
+  private static final String INDEX_FORMAT_VERSION = "1";
+
+  private final ConcurrentHashMap<String, ProjectIndex> indexes = new ConcurrentHashMap<>();
+  /**
+   *  Incremented for every delta of a project, an index built while deltas of its project were processed might not
+   *  contain these changes and is therefore not kept. Guarded by itself, together with the publication of indexes.
+   */
+  private final Map<String, Long> generations = new HashMap<>();
+  /** Name of the projects that have an index persisted on disk which is still valid */
+  private final Set<String> persisted = ConcurrentHashMap.newKeySet();
+  private volatile boolean tracking;
+  private final BiFunction<IProject, Set<IPath>, Map<String, ISonarLintFile>> scanner;
+
+  private ProjectFileIndex() {
+    this.scanner = ProjectFileIndex::scan;
+  }
+
+  /** For tests: changes are tracked from the start and nothing is persisted */
+  ProjectFileIndex(BiFunction<IProject, Set<IPath>, Map<String, ISonarLintFile>> scanner) {
+    this.scanner = scanner;
+    this.tracking = true;
+  }
+
+  /**
+   *  Called once the {@link FileSystemSynchronizer} is listening for resource changes: from now on the index can be
+   *  kept up to date. Persisted indexes of projects that changed since the last session are discarded.
+   */
+  public synchronized void install() {
+    if (tracking) {
+      return;
+    }
+    var indexDir = StoragePathManager.getFileIndexDir();
+    try {
+      var savedState = ResourcesPlugin.getWorkspace().addSaveParticipant(SonarLintCorePlugin.PLUGIN_ID, this);
+      if (savedState == null) {
+        // We don't know what happened to the workspace since these were written
+        if (Files.isDirectory(indexDir)) {
+          FileUtils.deleteRecursively(indexDir);
+        }
+      } else {
+        listPersistedIndexes(indexDir);
+        savedState.processResourceChangeEvents(event -> {
+          var delta = event.getDelta();
+          if (delta != null) {
+            for (var projectDelta : delta.getAffectedChildren()) {
+              discardPersistedIndex(projectDelta.getResource().getName());
+            }
+          }
+        });
+      }
+    } catch (CoreException e) {
+      SonarLintLogger.get().error("Unable to register the project file index for workspace saves", e);
+      return;
+    }
+    tracking = true;
+  }
+
+  public synchronized void uninstall() {
+    tracking = false;
+    ResourcesPlugin.getWorkspace().removeSaveParticipant(SonarLintCorePlugin.PLUGIN_ID);
+    indexes.clear();
+    persisted.clear();
+    synchronized (generations) {
+      generations.clear();
+    }
+  }
+
+  /** Get all the files of a project that are relevant to SonarLint, computed with the given exclusions */
+  Collection<ISonarLintFile> files(IProject project, Set<IPath> exclusions) {
+    if (!tracking) {
+      return new ArrayList<>(scanner.apply(project, exclusions).values());
+    }
+
+    var projectName = project.getName();
+    var index = indexes.get(projectName);
+    if (index == null || index.stale || !index.exclusions.equals(exclusions)) {
+      var generation = getGeneration(projectName);
+      index = load(project, exclusions);
+      if (index == null) {
+        index = new ProjectIndex(exclusions);
+        index.files.putAll(scanner.apply(project, exclusions));
+      }
+      if (!publish(projectName, generation, index)) {
+        // Changes received while visiting the project might be missing, do it again next time
+        SonarLintLogger.get().debug("Project '" + projectName + "' changed while being indexed, the index is not kept");
+      }
+    }
+    return new ArrayList<>(index.files.values());
+  }
+
+  private long getGeneration(String projectName) {
+    synchronized (generations) {
+      return generations.getOrDefault(projectName, 0L);
+    }
+  }
+
+  private boolean publish(String projectName, long generation, ProjectIndex index) {
+    synchronized (generations) {
+      if (generations.getOrDefault(projectName, 0L) != generation) {
+        return false;
+      }
+      indexes.put(projectName, index);
+      return true;
+    }
+  }
+
+  /**
+   *  Update the index based on a resource delta, this is called by the {@link FileSystemSynchronizer} for every delta
+   *  it visits. Only the relevant resources are provided, e.g. not the ones inside VCS folders.
+   */
+  public void processDelta(IResourceDelta delta) {
+    var resource = delta.getResource();
+    var project = resource.getProject();
+    if (project == null) {
+      return;
+    }
+
+    ProjectIndex index;
+    synchronized (generations) {
+      generations.merge(project.getName(), 1L, Long::sum);
+      index = indexes.get(project.getName());
+    }
+
+    if (resource.getType() == IResource.PROJECT
+      && (delta.getKind() == IResourceDelta.REMOVED || (delta.getFlags() & IResourceDelta.OPEN) != 0)) {
+      // Closed, re-opened or deleted: content might have changed without us noticing
+      indexes.remove(project.getName());
+      discardPersistedIndex(project.getName());
+      return;
+    }
+
+    if (index == null) {
+      // Not indexed in this session, but maybe by a previous one that will not contain this change
+      discardPersistedIndex(project.getName());
+      return;
+    }
+
+    if ((delta.getFlags() & IResourceDelta.DERIVED_CHANGED) != 0) {
+      // Could affect a whole folder, cheaper to visit the project again than to reason about it
+      index.stale = true;
+      discardPersistedIndex(project.getName());
+      return;
+    }
+
+    if (resource.getType() != IResource.FILE) {
+      return;
+    }
+    var relativePath = resource.getProjectRelativePath().toString();
+    if (delta.getKind() == IResourceDelta.REMOVED) {
+      if (index.files.remove(relativePath) != null) {
+        index.dirty = true;
+      }
+    } else if (delta.getKind() == IResourceDelta.ADDED) {
+      var slFile = adaptIfIndexed((IFile) resource, index.exclusions);
+      if (slFile != null) {
+        index.files.put(relativePath, slFile);
+        index.dirty = true;
+      }
+    }
+  }
+
+  private static Map<String, ISonarLintFile> scan(IProject project, Set<IPath> exclusions) {
+    var result = new ConcurrentHashMap<String, ISonarLintFile>();
+    try {
+      project.accept(resource -> {
+        var fullPath = resource.getFullPath();
+
+        // Immediately rule out files in the VCS and files related to Node.js "metadata" / storage. These can change
+        // very often and are nowhere nearly related to SonarLint!
+        if (SonarLintUtils.insideVCSFolder(fullPath) || SonarLintUtils.isNodeJsRelated(fullPath)) {
+          return false;
+        }
+
+        // Compared to "FileSystemSynchronizer#visitDeltaPostChange" this is on all files and folders and not only
+        // the delta. Therefore we can check for a folder whether its "whole" path is in there!
+        if (exclusions.contains(fullPath)) {
+          return false;
+        }
+
+        // We don't want to visit all the folders except the ".sonarlint" one due to it possibly containing shared
+        // Connected Mode configuration files!
+        if (resource.getType() == IResource.FOLDER
+          && FileSystemSynchronizer.SONARLINT_FOLDER.equals(resource.getName())) {
+          return true;
+        }
+
+        if (!SonarLintUtils.isSonarLintFileCandidate(resource)) {
+          return false;
+        }
+        var sonarLintFile = SonarLintUtils.adapt(resource, ISonarLintFile.class,
+          "[ProjectFileIndex#scan] Try get file of resource '" + resource + "'");
+        if (sonarLintFile != null) {
+          result.put(resource.getProjectRelativePath().toString(), sonarLintFile);
+        }
+        return true;
+      });
+    } catch (CoreException e) {
+      SonarLintLogger.get().error("Error collecting files in project " + project.getName(), e);
+    }
+    return result;
+  }
+
+  /** Same rules as when visiting the project in {@link #scan(IProject, Set)}, but for a single file */
+  @Nullable
+  private static ISonarLintFile adaptIfIndexed(IFile file, Set<IPath> exclusions) {
+    var fullPath = file.getFullPath();
+    if (SonarLintUtils.insideVCSFolder(fullPath) || SonarLintUtils.isNodeJsRelated(fullPath)) {
+      return null;
+    }
+    for (var exclusion : exclusions) {
+      if (exclusion.isPrefixOf(fullPath)) {
+        return null;
+      }
+    }
+    var relativePath = file.getProjectRelativePath();
+    for (var i = 0; i < relativePath.segmentCount() - 1; i++) {
+      var segment = relativePath.segment(i);
+      if (segment.startsWith(".") && !FileSystemSynchronizer.SONARLINT_FOLDER.equals(segment)) {
+        return null;
+      }
+    }
+    return SonarLintUtils.adapt(file, ISonarLintFile.class,
+      "[ProjectFileIndex#adaptIfIndexed] Try get file of resource '" + file + "'");
+  }
+
+  @Nullable
+  private ProjectIndex load(IProject project, Set<IPath> exclusions) {
+    var projectName = project.getName();
+    if (!persisted.contains(projectName)) {
+      return null;
+    }
+    var indexFile = getIndexFile(projectName);
+    try {
+      var lines = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+      var exclusionsCount = lines.size() > 2 && INDEX_FORMAT_VERSION.equals(lines.get(0)) ? Integer.parseInt(lines.get(1)) : -1;
+      if (exclusionsCount < 0 || lines.size() < 2 + exclusionsCount) {
+        discardPersistedIndex(projectName);
+        return null;
+      }
+      var persistedExclusions = new HashSet<IPath>();
+      for (var line : lines.subList(2, 2 + exclusionsCount)) {
+        persistedExclusions.add(org.eclipse.core.runtime.Path.fromPortableString(line));
+      }
+      if (!persistedExclusions.equals(exclusions)) {
+        discardPersistedIndex(projectName);
+        return null;
+      }
+
+      var index = new ProjectIndex(exclusions);
+      for (var relativePath : lines.subList(2 + exclusionsCount, lines.size())) {
+        var sonarLintFile = SonarLintUtils.adapt(project.getFile(relativePath), ISonarLintFile.class,
+          "[ProjectFileIndex#load] Try get file of '" + relativePath + "'");
+        if (sonarLintFile != null) {
+          index.files.put(relativePath, sonarLintFile);
+        }
+      }
+      SonarLintLogger.get().debug("Loaded file index of project '" + projectName + "' with " + index.files.size() + " files");
+      return index;
+    } catch (IOException | NumberFormatException e) {
+      SonarLintLogger.get().debug("Unable to read file index of project '" + projectName + "'", e);
+      discardPersistedIndex(projectName);
+      return null;
+    }
+  }
+
+  private void persist(String projectName, ProjectIndex index) {
+    if (!index.dirty && persisted.contains(projectName)) {
+      return;
+    }
+    if (index.stale) {
+      discardPersistedIndex(projectName);
+      return;
+    }
+    var lines = new ArrayList<String>(index.files.size() + index.exclusions.size() + 2);
+    lines.add(INDEX_FORMAT_VERSION);
+    lines.add(String.valueOf(index.exclusions.size()));
+    index.exclusions.forEach(exclusion -> lines.add(exclusion.toPortableString()));
+    lines.addAll(index.files.keySet());
+    try {
+      var indexFile = getIndexFile(projectName);
+      Files.createDirectories(indexFile.getParent());
+      Files.write(indexFile, lines, StandardCharsets.UTF_8);
+      index.dirty = false;
+      persisted.add(projectName);
+    } catch (IOException e) {
+      SonarLintLogger.get().debug("Unable to write file index of project '" + projectName + "'", e);
+    }
+  }
+
+  private void discardPersistedIndex(String projectName) {
+    if (persisted.remove(projectName)) {
+      try {
+        Files.deleteIfExists(getIndexFile(projectName));
+      } catch (IOException e) {
+        SonarLintLogger.get().debug("Unable to delete file index of project '" + projectName + "'", e);
+      }
+    }
+  }
+
+  private void listPersistedIndexes(Path indexDir) {
+    if (!Files.isDirectory(indexDir)) {
+      return;
+    }
+    var projects = ResourcesPlugin.getWorkspace().getRoot().getProjects();
+    for (var project : projects) {
+      if (Files.exists(getIndexFile(project.getName()))) {
+        persisted.add(project.getName());
+      }
+    }
+  }
+
+  private static Path getIndexFile(String projectName) {
+    return StoragePathManager.getFileIndexDir().resolve(URLEncoder.encode(projectName, StandardCharsets.UTF_8) + INDEX_FILE_EXTENSION);
+  }
+
+  @Override
+  public void saving(ISaveContext context) throws CoreException {
+    switch (context.getKind()) {
+      case ISaveContext.FULL_SAVE:
+      case ISaveContext.SNAPSHOT:
+        indexes.forEach(this::persist);
+        context.needSaveNumber();
+        context.needDelta();
+        break;
+      case ISaveContext.PROJECT_SAVE:
+        var project = context.getProject();
+        var index = indexes.get(project.getName());
+        if (index != null) {
+          persist(project.getName(), index);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  @Override
+  public void prepareToSave(ISaveContext context) throws CoreException {
+    // Nothing to prepare
+  }
+
+  @Override
+  public void doneSaving(ISaveContext context) {
+    // Nothing to clean up
+  }
+
+  @Override
+  public void rollback(ISaveContext context) {
+    // Files written are still consistent with the in-memory state
+  }
+
+  private static class ProjectIndex {
+    private final Set<IPath> exclusions;
+    /** Files indexed by their project relative path */
+    private final Map<String, ISonarLintFile> files = new ConcurrentHashMap<>();
+    /** Changed since it was last persisted */
+    private volatile boolean dirty = true;
+    /** Has to be built again, e.g. because derived flags changed */
+    private volatile boolean stale;
+
+    ProjectIndex(Set<IPath> exclusions) {
+      this.exclusions = Set.copyOf(exclusions);
+    }
+  }
+}
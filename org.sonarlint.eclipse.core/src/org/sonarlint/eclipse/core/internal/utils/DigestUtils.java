@@ -21,21 +21,51 @@ package org.sonarlint.eclipse.core.internal.utils;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
+/**
+ *  MD5 of code without whitespaces, as computed by SonarQube / SonarCloud for the text range hashes of issue locations.
+ *  The content is hashed in a single pass, skipping whitespaces and encoding to UTF-8 into a reusable buffer, with one
+ *  digester per thread as they are not thread-safe.
+ */
 public class DigestUtils {
 
   private static final char[] DIGITS = "0123456789abcdef".toCharArray();
 
-  private static final MessageDigest MD5_DIGEST = DigestUtils.getMd5Digest();
+  private static final ThreadLocal<Md5Hasher> MD5_HASHER = ThreadLocal.withInitial(Md5Hasher::new);
 
   private DigestUtils() {
     // utility class, forbidden constructor
   }
 
-  public static String digest(String content) {
-    return encodeHexString(MD5_DIGEST.digest(content.replaceAll("[\\s]", "").getBytes(UTF_8)));
+  public static String digest(CharSequence content) {
+    var hasher = MD5_HASHER.get();
+    try {
+      for (var i = 0; i < content.length(); i++) {
+        hasher.update(content.charAt(i));
+      }
+      return encodeHexString(hasher.digest());
+    } finally {
+      hasher.reset();
+    }
+  }
+
+  /** Same as {@link #digest(CharSequence)} on a region of the document, without copying it to a string first */
+  public static String digest(IDocument document, int offset, int length) throws BadLocationException {
+    if (offset < 0 || length < 0 || offset + length > document.getLength()) {
+      throw new BadLocationException();
+    }
+    var hasher = MD5_HASHER.get();
+    try {
+      for (var i = offset; i < offset + length; i++) {
+        // Might fail when the document is changed concurrently
+        hasher.update(document.getChar(i));
+      }
+      return encodeHexString(hasher.digest());
+    } finally {
+      hasher.reset();
+    }
   }
 
   private static MessageDigest getMd5Digest() {
@@ -61,4 +91,81 @@ public class DigestUtils {
 
     return new String(out);
   }
+
+  /**
+   *  Same bytes as removing the whitespaces matched by the regular expression "\\s" and then calling
+   *  {@link String#getBytes(java.nio.charset.Charset)} with UTF-8, including the replacement of unpaired surrogates by
+   *  '?'. Not thread-safe.
+   */
+  private static class Md5Hasher {
+    private final MessageDigest digest = getMd5Digest();
+    private final byte[] buffer = new byte[1024];
+    private int position;
+    /** High surrogate waiting for the next non whitespace character, 0 if none */
+    private char pendingHighSurrogate;
+
+    private void update(char c) {
+      if (isWhitespace(c)) {
+        return;
+      }
+      if (pendingHighSurrogate != 0) {
+        var high = pendingHighSurrogate;
+        pendingHighSurrogate = 0;
+        if (Character.isLowSurrogate(c)) {
+          var codePoint = Character.toCodePoint(high, c);
+          put(0xf0 | (codePoint >> 18));
+          put(0x80 | ((codePoint >> 12) & 0x3f));
+          put(0x80 | ((codePoint >> 6) & 0x3f));
+          put(0x80 | (codePoint & 0x3f));
+          return;
+        }
+        put('?');
+      }
+      if (c < 0x80) {
+        put(c);
+      } else if (c < 0x800) {
+        put(0xc0 | (c >> 6));
+        put(0x80 | (c & 0x3f));
+      } else if (Character.isHighSurrogate(c)) {
+        pendingHighSurrogate = c;
+      } else if (Character.isLowSurrogate(c)) {
+        put('?');
+      } else {
+        put(0xe0 | (c >> 12));
+        put(0x80 | ((c >> 6) & 0x3f));
+        put(0x80 | (c & 0x3f));
+      }
+    }
+
+    /** @return the digest of everything since the previous call, the hasher is then reset */
+    private byte[] digest() {
+      if (pendingHighSurrogate != 0) {
+        pendingHighSurrogate = 0;
+        put('?');
+      }
+      digest.update(buffer, 0, position);
+      position = 0;
+      return digest.digest();
+    }
+
+    /** Drop what was hashed since the previous digest, e.g. when it failed in the middle of the content */
+    private void reset() {
+      position = 0;
+      pendingHighSurrogate = 0;
+      digest.reset();
+    }
+
+    private void put(int b) {
+      if (position == buffer.length) {
+        digest.update(buffer, 0, position);
+        position = 0;
+      }
+      buffer[position++] = (byte) b;
+    }
+
+    private static boolean isWhitespace(char c) {
+      // Same as "\\s" in regular expressions: [ \\t\\n\\x0B\\f\\r]
+      return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+  }
 }
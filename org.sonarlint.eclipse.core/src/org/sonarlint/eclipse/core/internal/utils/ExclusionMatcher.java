@@ -0,0 +1,266 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.utils;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.annotation.Nullable;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+import org.sonarlint.eclipse.core.internal.resources.ExclusionItem;
+
+/**
+ *  Immutable and compiled form of exclusions, to be shared between threads. File and directory exclusions are stored
+ *  in a trie of path segments, so a path is checked in one walk over its segments whatever the number of exclusions.
+ *  All the glob exclusions are compiled into a single pattern, with the semantic of
+ *  {@link java.nio.file.FileSystem#getPathMatcher(String)} on Unix-like (forward slash) paths. Like the matchers of the
+ *  default file system, globs are case-insensitive on Windows.
+ */
+public class ExclusionMatcher {
+  public static final ExclusionMatcher NONE = new ExclusionMatcher(new Node(), null);
+  /** Only the Windows file system of the JDK has case-insensitive path matchers */
+  private static final boolean CASE_INSENSITIVE_GLOBS = File.separatorChar == '\\';
+
+  private final Node root;
+  @Nullable
+  private final Pattern globs;
+
+  private ExclusionMatcher(Node root, @Nullable Pattern globs) {
+    this.root = root;
+    this.globs = globs;
+  }
+
+  /** From exclusions configured by the user, relative to the project */
+  public static ExclusionMatcher compile(Collection<ExclusionItem> exclusions) {
+    return compile(exclusions, CASE_INSENSITIVE_GLOBS);
+  }
+
+  static ExclusionMatcher compile(Collection<ExclusionItem> exclusions, boolean caseInsensitiveGlobs) {
+    var root = new Node();
+    var regex = new StringBuilder();
+    for (var exclusion : exclusions) {
+      switch (exclusion.type()) {
+        case FILE:
+          root.add(exclusion.item().split("/")).file = true;
+          break;
+        case DIRECTORY:
+          root.add(exclusion.item().split("/")).directory = true;
+          break;
+        case GLOB:
+          appendGlob(regex, exclusion.item());
+          break;
+      }
+    }
+    if (regex.length() == 0) {
+      return new ExclusionMatcher(root, null);
+    }
+    var flags = caseInsensitiveGlobs ? (Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE) : 0;
+    return new ExclusionMatcher(root, Pattern.compile(regex.toString(), flags));
+  }
+
+  /** From excluded directories, e.g. from {@link org.sonarlint.eclipse.core.configurator.IProjectScopeProvider} */
+  public static ExclusionMatcher compileDirectories(Set<IPath> directories) {
+    var root = new Node();
+    for (var directory : directories) {
+      root.add(directory.segments()).directory = true;
+    }
+    return new ExclusionMatcher(root, null);
+  }
+
+  /** @param relativePath path with forward slashes, e.g. relative to the project */
+  public boolean test(String relativePath) {
+    if (root.matches(relativePath.split("/"))) {
+      return true;
+    }
+    return globs != null && globs.matcher(relativePath).matches();
+  }
+
+  /** Only the directory exclusions apply to paths, as for the ones from {@link #compileDirectories(Set)} */
+  public boolean test(IPath path) {
+    return root.matches(path.segments());
+  }
+
+  private static void appendGlob(StringBuilder regex, String glob) {
+    try {
+      var globRegex = toRegex(glob);
+      // Make sure the glob is valid on its own before adding it to the others
+      Pattern.compile(globRegex);
+      if (regex.length() > 0) {
+        regex.append('|');
+      }
+      regex.append("(?:").append(globRegex).append(')');
+    } catch (PatternSyntaxException e) {
+      SonarLintLogger.get().error("Invalid glob pattern in exclusions: '" + glob + "'", e);
+    }
+  }
+
+  /** Same translation as done by the JDK for the "glob:" syntax of path matchers, with '/' as separator */
+  private static String toRegex(String glob) {
+    var regex = new StringBuilder();
+    var inGroup = false;
+    var i = 0;
+    while (i < glob.length()) {
+      var c = glob.charAt(i++);
+      switch (c) {
+        case '\\':
+          if (i == glob.length()) {
+            throw new PatternSyntaxException("No character to escape", glob, i - 1);
+          }
+          var next = glob.charAt(i++);
+          if (isGlobMeta(next) || isRegexMeta(next)) {
+            regex.append('\\');
+          }
+          regex.append(next);
+          break;
+        case '/':
+          regex.append(c);
+          break;
+        case '[':
+          i = appendCharacterClass(regex, glob, i);
+          break;
+        case '{':
+          if (inGroup) {
+            throw new PatternSyntaxException("Cannot nest groups", glob, i - 1);
+          }
+          regex.append("(?:(?:");
+          inGroup = true;
+          break;
+        case '}':
+          if (inGroup) {
+            regex.append("))");
+            inGroup = false;
+          } else {
+            regex.append('}');
+          }
+          break;
+        case ',':
+          regex.append(inGroup ? ")|(?:" : ",");
+          break;
+        case '*':
+          if (i < glob.length() && glob.charAt(i) == '*') {
+            regex.append(".*");
+            i++;
+          } else {
+            regex.append("[^/]*");
+          }
+          break;
+        case '?':
+          regex.append("[^/]");
+          break;
+        default:
+          if (isRegexMeta(c)) {
+            regex.append('\\');
+          }
+          regex.append(c);
+      }
+    }
+    if (inGroup) {
+      throw new PatternSyntaxException("Missing '}'", glob, i - 1);
+    }
+    return regex.toString();
+  }
+
+  /** @return the index after the closing bracket */
+  private static int appendCharacterClass(StringBuilder regex, String glob, int start) {
+    var i = start;
+    regex.append("[[^/]&&[");
+    if (i < glob.length() && glob.charAt(i) == '^') {
+      regex.append("\\^");
+      i++;
+    } else {
+      if (i < glob.length() && glob.charAt(i) == '!') {
+        regex.append('^');
+        i++;
+      }
+      if (i < glob.length() && glob.charAt(i) == '-') {
+        regex.append('-');
+        i++;
+      }
+    }
+    var closed = false;
+    while (i < glob.length()) {
+      var c = glob.charAt(i++);
+      if (c == ']') {
+        closed = true;
+        break;
+      }
+      if (c == '/') {
+        throw new PatternSyntaxException("Explicit 'name separator' in class", glob, i - 1);
+      }
+      if (c == '\\' || c == '[' || (c == '&' && i < glob.length() && glob.charAt(i) == '&')) {
+        regex.append('\\');
+      }
+      regex.append(c);
+    }
+    if (!closed) {
+      throw new PatternSyntaxException("Missing ']'", glob, i - 1);
+    }
+    regex.append("]]");
+    return i;
+  }
+
+  private static boolean isRegexMeta(char c) {
+    return ".^$+{[]|()".indexOf(c) != -1;
+  }
+
+  private static boolean isGlobMeta(char c) {
+    return "\\*?[{".indexOf(c) != -1;
+  }
+
+  private static class Node {
+    private final Map<String, Node> children = new HashMap<>();
+    /** This path and everything below it is excluded */
+    private boolean directory;
+    /** Exactly this path is excluded */
+    private boolean file;
+
+    private Node add(String[] segments) {
+      var node = this;
+      for (var segment : segments) {
+        if (!segment.isEmpty()) {
+          node = node.children.computeIfAbsent(segment, k -> new Node());
+        }
+      }
+      return node;
+    }
+
+    private boolean matches(String[] segments) {
+      var node = this;
+      for (var segment : segments) {
+        if (segment.isEmpty()) {
+          continue;
+        }
+        node = node.children.get(segment);
+        if (node == null) {
+          return false;
+        }
+        if (node.directory) {
+          return true;
+        }
+      }
+      return node.file;
+    }
+  }
+}
@@ -19,11 +19,9 @@
  */
 package org.sonarlint.eclipse.core.internal.utils;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.sonarlint.eclipse.core.SonarLintLogger;
@@ -34,43 +32,40 @@ import org.sonarlint.eclipse.core.internal.resources.ExclusionItem;
 import org.sonarlint.eclipse.core.internal.resources.ExclusionItem.Type;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
-import org.sonarsource.sonarlint.core.client.utils.ClientFileExclusions;
 
 public class FileExclusionsChecker {
-  private final ClientFileExclusions projectExclusions;
-  private final ClientFileExclusions globalExclusions;
+  /**
+   *  The compiled exclusions are shared by all the checkers and only compiled again when the configured exclusions
+   *  changed, by project name for the project exclusions.
+   */
+  private static final Map<String, CompiledExclusions> projectExclusionsCache = new ConcurrentHashMap<>();
+  private static volatile CompiledExclusions globalExclusionsCache = new CompiledExclusions(List.of());
 
-  public FileExclusionsChecker(ISonarLintProject project) {
-    var projectConfiguration = SonarLintCorePlugin.loadConfig(project);
-    var globalExclusionItems = SonarLintGlobalConfiguration.getGlobalExclusions();
-    var projectExclusionItems = projectConfiguration.getFileExclusions();
-
-    var projectFileExclusions = getExclusionsOfType(projectExclusionItems, Type.FILE);
-    var projectDirectoryExclusions = getExclusionsOfType(projectExclusionItems, Type.DIRECTORY);
-    var projectGlobExclusions = getExclusionsOfType(projectExclusionItems, Type.GLOB);
-    var globalGlobExclusions = getExclusionsOfType(globalExclusionItems, Type.GLOB);
-
-    projectExclusions = new ClientFileExclusions(projectFileExclusions, projectDirectoryExclusions, projectGlobExclusions);
-    globalExclusions = new ClientFileExclusions(Collections.emptySet(), Collections.emptySet(), globalGlobExclusions);
-  }
-
-  private Collection<ISonarLintFile> filterExcludedFiles(ISonarLintProject project, Collection<ISonarLintFile> files, boolean log, IProgressMonitor monitor) {
-    var filesByUri = files
-      .stream()
-      .filter(file -> !isExcludedByLocalConfiguration(file, log))
-      .collect(Collectors.toMap(ISonarLintFile::uri, f -> f));
-
-    var notExcluded = new HashSet<ISonarLintFile>();
-    notExcluded.addAll(filesByUri.values());
+  private final ExclusionMatcher projectExclusions;
+  private final ExclusionMatcher globalExclusions;
 
-    return notExcluded;
+  public FileExclusionsChecker(ISonarLintProject project) {
+    var projectExclusionItems = SonarLintCorePlugin.loadConfig(project).getFileExclusions();
+    var cachedProjectExclusions = projectExclusionsCache.get(project.getName());
+    if (cachedProjectExclusions == null || !cachedProjectExclusions.items.equals(projectExclusionItems)) {
+      cachedProjectExclusions = new CompiledExclusions(projectExclusionItems);
+      projectExclusionsCache.put(project.getName(), cachedProjectExclusions);
+    }
+    projectExclusions = cachedProjectExclusions.matcher;
+
+    // Only glob patterns can be configured globally
+    var globalExclusionItems = SonarLintGlobalConfiguration.getGlobalExclusions().stream()
+      .filter(e -> e.type() == Type.GLOB)
+      .collect(Collectors.toList());
+    var cachedGlobalExclusions = globalExclusionsCache;
+    if (!cachedGlobalExclusions.items.equals(globalExclusionItems)) {
+      cachedGlobalExclusions = new CompiledExclusions(globalExclusionItems);
+      globalExclusionsCache = cachedGlobalExclusions;
+    }
+    globalExclusions = cachedGlobalExclusions.matcher;
   }
 
   public boolean isExcluded(ISonarLintFile file, boolean log, IProgressMonitor monitor) {
-    return filterExcludedFiles(file.getProject(), List.of(file), log, monitor).isEmpty();
-  }
-
-  private boolean isExcludedByLocalConfiguration(ISonarLintFile file, boolean log) {
     var relativePath = file.getProjectRelativePath();
 
     if (globalExclusions.test(relativePath)) {
@@ -107,10 +102,13 @@ public class FileExclusionsChecker {
     return fileExclusions.stream().anyMatch(e -> e.type() == Type.FILE && path.equals(e.item()));
   }
 
-  private static Set<String> getExclusionsOfType(Collection<ExclusionItem> exclusions, ExclusionItem.Type type) {
-    return exclusions.stream()
-      .filter(e -> e.type() == type)
-      .map(ExclusionItem::item)
-      .collect(Collectors.toSet());
+  private static class CompiledExclusions {
+    private final List<ExclusionItem> items;
+    private final ExclusionMatcher matcher;
+
+    private CompiledExclusions(List<ExclusionItem> items) {
+      this.items = List.copyOf(items);
+      this.matcher = ExclusionMatcher.compile(items);
+    }
   }
 }
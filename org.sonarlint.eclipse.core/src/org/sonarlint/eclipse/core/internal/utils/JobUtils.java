@@ -23,8 +23,6 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.IJobChangeListener;
@@ -51,30 +49,36 @@ public class JobUtils {
     }
   }
 
+  /**
+   * Wait for the Future to complete, cancelling it as soon as the monitor is cancelled (the waiting thread then gets a
+   * {@link CancellationException}).
+   */
   public static <T> T waitForFuture(IProgressMonitor monitor, CompletableFuture<T> future) throws InterruptedException, ExecutionException {
-    while (true) {
-      if (monitor.isCanceled()) {
-        future.cancel(true);
-      }
-      try {
-        return future.get(100, TimeUnit.MILLISECONDS);
-      } catch (TimeoutException t) {
-        continue;
-      }
+    cancelOnMonitorCancellation(monitor, future);
+    return future.get();
+  }
+
+  /** Cancel the future as soon as the monitor is cancelled, as long as it is not completed */
+  public static void cancelOnMonitorCancellation(IProgressMonitor monitor, CompletableFuture<?> future) {
+    if (monitor.isCanceled()) {
+      future.cancel(true);
+    } else if (!future.isDone()) {
+      MonitorCancellationWatcher.watch(monitor, future);
     }
   }
 
+  /**
+   * Same as {@link #waitForFuture(IProgressMonitor, CompletableFuture)}, but throwing {@link CanceledException} when
+   * the monitor was cancelled.
+   */
   public static <T> T waitForFutureInJob(IProgressMonitor monitor, CompletableFuture<T> future) throws InterruptedException, ExecutionException {
-    while (true) {
+    try {
+      return waitForFuture(monitor, future);
+    } catch (CancellationException e) {
       if (monitor.isCanceled()) {
-        future.cancel(true);
         throw new CanceledException();
       }
-      try {
-        return future.get(100, TimeUnit.MILLISECONDS);
-      } catch (TimeoutException t) {
-        // nothing to do, retry another iteration
-      }
+      throw e;
     }
   }
 
@@ -0,0 +1,106 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.core.internal.utils;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ *  Progress monitors can't notify about their cancellation, so they have to be checked periodically. Instead of every
+ *  thread waiting on a future doing it, a single thread checks the monitors of all the pending waits and cancels the
+ *  future of the ones that got cancelled, which wakes up the waiting thread. The thread only runs while there are
+ *  futures to watch.
+ */
+final class MonitorCancellationWatcher {
+  private static final long CHECK_PERIOD_MS = 100;
+
+  private static final Set<Watch> WATCHES = ConcurrentHashMap.newKeySet();
+  private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+  private static final Object LOCK = new Object();
+  @Nullable
+  private static ScheduledFuture<?> checkTask;
+
+  private MonitorCancellationWatcher() {
+    // utility class
+  }
+
+  private static ScheduledThreadPoolExecutor createExecutor() {
+    var executor = new ScheduledThreadPoolExecutor(1, r -> {
+      var thread = new Thread(r, "SonarLint progress monitor cancellation watcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.setKeepAliveTime(1, TimeUnit.SECONDS);
+    executor.allowCoreThreadTimeOut(true);
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
+  /** Cancel the future as soon as the monitor is cancelled, until the future completes */
+  static void watch(IProgressMonitor monitor, CompletableFuture<?> future) {
+    var watch = new Watch(monitor, future);
+    synchronized (LOCK) {
+      WATCHES.add(watch);
+      if (checkTask == null) {
+        checkTask = EXECUTOR.scheduleWithFixedDelay(MonitorCancellationWatcher::checkMonitors, CHECK_PERIOD_MS, CHECK_PERIOD_MS, TimeUnit.MILLISECONDS);
+      }
+    }
+    // Also called immediately if the future is already completed
+    future.whenComplete((result, error) -> unwatch(watch));
+  }
+
+  private static void unwatch(Watch watch) {
+    synchronized (LOCK) {
+      WATCHES.remove(watch);
+      if (WATCHES.isEmpty() && checkTask != null) {
+        checkTask.cancel(false);
+        checkTask = null;
+      }
+    }
+  }
+
+  private static void checkMonitors() {
+    for (var watch : WATCHES) {
+      if (watch.monitor.isCanceled()) {
+        watch.future.cancel(true);
+      }
+    }
+  }
+
+  static int getWatchCount() {
+    return WATCHES.size();
+  }
+
+  private static class Watch {
+    private final IProgressMonitor monitor;
+    private final CompletableFuture<?> future;
+
+    private Watch(IProgressMonitor monitor, CompletableFuture<?> future) {
+      this.monitor = monitor;
+      this.future = future;
+    }
+  }
+}
@@ -36,7 +36,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.analysis.SonarLintLanguage;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
-import org.sonarlint.eclipse.core.internal.backend.SonarLintBackendService;
+import org.sonarlint.eclipse.core.internal.backend.ServerCapabilitiesCache;
 import org.sonarlint.eclipse.core.internal.engine.connected.ConnectionFacade;
 import org.sonarlint.eclipse.core.internal.extension.SonarLintExtensionTracker;
 import org.sonarlint.eclipse.core.resource.ISonarLintFile;
@@ -176,24 +176,11 @@ public class SonarLintUtils {
 
   /**
    *  Check if a project has a connection to a SonarQube 10.2+ instance can therefore offer the user the option to
-   *  transition anticipated issues. If the project is not bound to any connection, just log it and provide an error
-   *  if checking the server failed for any reason.
-   *
-   *  INFO: Because it is costly, maybe cache the information in the future and only check periodically!
+   *  transition anticipated issues. This never waits on the backend, as long as the server capabilities are not known
+   *  (fetched in the background) it is considered not supported.
    */
   public static boolean checkProjectSupportsAnticipatedStatusChange(ISonarLintProject project) {
-    var config = SonarLintCorePlugin.loadConfig(project);
-    if (!config.isBound()) {
-      return false;
-    }
-    var viableForStatusChange = false;
-    try {
-      viableForStatusChange = SonarLintBackendService.get().checkAnticipatedStatusChangeSupported(project).join().isSupported();
-    } catch (Exception err) {
-      SonarLintLogger.get().error("Could not check if project is bound and if connection is supporting anticipated issues", err);
-    }
-
-    return viableForStatusChange;
+    return ServerCapabilitiesCache.get().getCapabilities(project).isAnticipatedStatusChangeSupported();
   }
 
   /**
@@ -19,28 +19,68 @@
  */
 package org.sonarlint.eclipse.core.internal.vcs;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jgit.events.ListenerHandle;
+import org.eclipse.jgit.events.RepositoryEvent;
 import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.CoreConfig;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.team.core.RepositoryProvider;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.jobs.SonarLintUtilsLogOutput;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
+import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
 import org.sonarsource.sonarlint.core.client.utils.GitUtils;
 
+/**
+ *  While listening to the changes of the repositories, the repository of the projects and the ignored state of the
+ *  files are cached: resolving them through EGit is costly and was done for every file of every analysis, and for
+ *  every project on every change of the refs of any repository. The repository of a project is resolved again when
+ *  the project gets connected to another team provider, or moved. The ignored states of a repository are dropped when
+ *  its index, its configuration, one of the ".gitignore" files of the workspace or one of its exclude files changes,
+ *  and only the most recently used ones are kept. EGit refreshes its state asynchronously after a change of a
+ *  ".gitignore" file, so the ignored states are not cached again for a while after such a change.
+ */
 abstract class AbstractEGitVcsFacade implements VcsFacade {
-  private ListenerHandle listenerHandle;
-
   private static final SonarLintLogger LOG = SonarLintLogger.get();
+  private static final int MAX_IGNORED_PER_REPOSITORY = 20_000;
+  /** The exclude files are not part of the workspace, they are checked for changes at most once per delay */
+  private static final long EXCLUDE_FILES_CHECK_DELAY_MS = 1_000;
+  private static final long GITIGNORE_REFRESH_DELAY_MS = 5_000;
+
+  /** Also the projects not in a repository, that are resolved again once shared */
+  private final Map<ISonarLintProject, ProjectRepository> repoByProject = new ConcurrentHashMap<>();
+  /** Reverse index of {@link #repoByProject}, to only notify the projects of a changed repository */
+  private final Map<File, Set<ISonarLintProject>> projectsByRepoDir = new ConcurrentHashMap<>();
+  private final Map<File, IgnoredFiles> ignoredByRepoDir = new ConcurrentHashMap<>();
+  /** Time until which the ignored states of a repository are not cached, after a change of a ".gitignore" file */
+  private final Map<File, Long> ignoredCachingPausedUntil = new ConcurrentHashMap<>();
+  /** Same, for all the repositories when the one of the changed file is unknown */
+  private volatile long allIgnoredCachingPausedUntil;
+  private final List<ListenerHandle> listenerHandles = new ArrayList<>();
+  @Nullable
+  private IResourceChangeListener resourceListener;
+  private volatile boolean listening;
 
   @Override
   public String electBestMatchingBranch(ISonarLintProject project, Set<String> serverCandidateNames, String serverMainBranch) {
@@ -50,6 +90,88 @@ abstract class AbstractEGitVcsFacade implements VcsFacade {
 
   abstract Optional<Repository> getRepo(IResource resource);
 
+  abstract boolean computeIgnored(ISonarLintFile file);
+
+  @Override
+  public boolean isIgnored(ISonarLintFile file) {
+    var repoDir = listening ? getRepoDir(file.getProject()) : null;
+    if (repoDir == null) {
+      return computeIgnored(file);
+    }
+    // When the repository is invalidated while computing, the result goes to the dropped entry and is not used next time
+    var ignoredFiles = ignoredByRepoDir.get(repoDir);
+    if (ignoredFiles == null || ignoredFiles.excludeFilesChanged()) {
+      ignoredFiles = new IgnoredFiles(getExcludeFiles(file.getProject(), repoDir));
+      ignoredByRepoDir.put(repoDir, ignoredFiles);
+    }
+    var path = file.getResource().getFullPath();
+    var ignored = ignoredFiles.get(path);
+    if (ignored == null) {
+      ignored = computeIgnored(file);
+      if (!isIgnoredCachingPaused(repoDir)) {
+        ignoredFiles.put(path, ignored);
+      }
+    }
+    return ignored;
+  }
+
+  private boolean isIgnoredCachingPaused(File repoDir) {
+    var now = System.currentTimeMillis();
+    return now < allIgnoredCachingPausedUntil || now < ignoredCachingPausedUntil.getOrDefault(repoDir, 0L);
+  }
+
+  @Nullable
+  private File getRepoDir(ISonarLintProject project) {
+    var provider = getProvider(project);
+    var cached = repoByProject.get(project);
+    // Connecting a project to another repository maps a new provider to it
+    if (cached != null && cached.provider == provider) {
+      return cached.repoDir;
+    }
+    var repoDir = getRepo(project.getResource()).map(Repository::getDirectory).orElse(null);
+    if (listening) {
+      unindex(project, repoByProject.put(project, new ProjectRepository(provider, repoDir)));
+      if (repoDir != null) {
+        projectsByRepoDir.computeIfAbsent(repoDir, k -> ConcurrentHashMap.newKeySet()).add(project);
+      }
+    }
+    return repoDir;
+  }
+
+  private void forget(ISonarLintProject project) {
+    unindex(project, repoByProject.remove(project));
+  }
+
+  private void unindex(ISonarLintProject project, @Nullable ProjectRepository previous) {
+    var previousRepoDir = previous != null ? previous.repoDir : null;
+    if (previousRepoDir != null) {
+      projectsByRepoDir.computeIfPresent(previousRepoDir, (k, projects) -> {
+        projects.remove(project);
+        return projects.isEmpty() ? null : projects;
+      });
+    }
+  }
+
+  @Nullable
+  private static RepositoryProvider getProvider(ISonarLintProject project) {
+    var eclipseProject = project.getResource().getProject();
+    return eclipseProject != null ? RepositoryProvider.getProvider(eclipseProject) : null;
+  }
+
+  /** @return the ".git/info/exclude" file and the global excludes file of the repository, that might not exist */
+  private List<File> getExcludeFiles(ISonarLintProject project, File repoDir) {
+    var excludeFiles = new ArrayList<File>();
+    excludeFiles.add(new File(repoDir, Constants.INFO_EXCLUDE));
+    getRepo(project.getResource()).ifPresent(repo -> {
+      var path = repo.getConfig().get(CoreConfig.KEY).getExcludesFile();
+      if (path != null) {
+        var fs = repo.getFS();
+        excludeFiles.add(path.startsWith("~/") ? fs.resolve(fs.userHome(), path.substring(2)) : fs.resolve(null, path));
+      }
+    });
+    return excludeFiles;
+  }
+
   @Override
   @Nullable
   public String getCurrentCommitRef(ISonarLintProject project) {
@@ -69,24 +191,96 @@ abstract class AbstractEGitVcsFacade implements VcsFacade {
   @Override
   public synchronized void addHeadRefsChangeListener(Consumer<List<ISonarLintProject>> listener) {
     removeHeadRefsChangeListener();
-    listenerHandle = Repository.getGlobalListenerList().addRefsChangedListener(event -> {
-      List<ISonarLintProject> affectedProjects = new ArrayList<>();
-      SonarLintUtils.allProjects().forEach(p -> getRepo(p.getResource()).ifPresent(repo -> {
-        var repoDir = repo.getDirectory();
-        if (repoDir != null && repoDir.equals(event.getRepository().getDirectory())) {
-          affectedProjects.add(p);
-        }
-      }));
+    listening = true;
+    var globalListeners = Repository.getGlobalListenerList();
+    listenerHandles.add(globalListeners.addRefsChangedListener(event -> {
+      var changedRepoDir = event.getRepository().getDirectory();
+      if (changedRepoDir == null) {
+        return;
+      }
+      // e.g. a checkout also changes the ignored state of the files
+      ignoredByRepoDir.remove(changedRepoDir);
+      // The projects never resolved yet, e.g. not analyzed since opened, are only resolved once
+      SonarLintUtils.allProjects().stream()
+        .filter(p -> !repoByProject.containsKey(p))
+        .forEach(this::getRepoDir);
+      var affectedProjects = projectsByRepoDir.getOrDefault(changedRepoDir, Set.of()).stream()
+        // Still in this repository, only resolved again when connected to another one
+        .filter(p -> changedRepoDir.equals(getRepoDir(p)))
+        .collect(Collectors.toList());
       if (!affectedProjects.isEmpty()) {
         listener.accept(affectedProjects);
       }
-    });
+    }));
+    listenerHandles.add(globalListeners.addIndexChangedListener(this::invalidateIgnored));
+    listenerHandles.add(globalListeners.addConfigChangedListener(this::invalidateIgnored));
+    resourceListener = this::resourcesChanged;
+    ResourcesPlugin.getWorkspace().addResourceChangeListener(resourceListener, IResourceChangeEvent.POST_CHANGE);
   }
 
   @Override
   public synchronized void removeHeadRefsChangeListener() {
-    if (listenerHandle != null) {
-      listenerHandle.remove();
+    listening = false;
+    listenerHandles.forEach(ListenerHandle::remove);
+    listenerHandles.clear();
+    if (resourceListener != null) {
+      ResourcesPlugin.getWorkspace().removeResourceChangeListener(resourceListener);
+      resourceListener = null;
+    }
+    repoByProject.clear();
+    projectsByRepoDir.clear();
+    ignoredByRepoDir.clear();
+    ignoredCachingPausedUntil.clear();
+  }
+
+  @Override
+  public void projectClosed(ISonarLintProject project) {
+    forget(project);
+  }
+
+  private void invalidateIgnored(RepositoryEvent<?> event) {
+    var repoDir = event.getRepository().getDirectory();
+    if (repoDir != null) {
+      ignoredByRepoDir.remove(repoDir);
+    }
+  }
+
+  private void resourcesChanged(IResourceChangeEvent event) {
+    var delta = event.getDelta();
+    if (delta == null || (repoByProject.isEmpty() && ignoredByRepoDir.isEmpty())) {
+      return;
+    }
+    try {
+      delta.accept(d -> {
+        var resource = d.getResource();
+        if (resource.getType() == IResource.PROJECT && d.getKind() == IResourceDelta.REMOVED) {
+          // Deleted or moved, a moved project is added again under its new name
+          List.copyOf(repoByProject.keySet()).stream()
+            .filter(p -> resource.equals(p.getResource()))
+            .forEach(this::forget);
+          ignoredByRepoDir.values().forEach(ignoredFiles -> ignoredFiles.removeAll(resource.getFullPath()));
+          return false;
+        }
+        if (resource.getType() == IResource.FILE && d.getKind() == IResourceDelta.REMOVED) {
+          ignoredByRepoDir.values().forEach(ignoredFiles -> ignoredFiles.remove(resource.getFullPath()));
+        } else if (resource.getType() == IResource.FILE && Constants.DOT_GIT_IGNORE.equals(resource.getName())) {
+          var project = SonarLintUtils.adapt(resource.getProject(), ISonarLintProject.class,
+            "[AbstractEGitVcsFacade#resourcesChanged] Try get project of resource '" + resource + "'");
+          var cached = project != null ? repoByProject.get(project) : null;
+          var repoDir = cached != null ? cached.repoDir : null;
+          var pausedUntil = System.currentTimeMillis() + GITIGNORE_REFRESH_DELAY_MS;
+          if (repoDir != null) {
+            ignoredCachingPausedUntil.put(repoDir, pausedUntil);
+            ignoredByRepoDir.remove(repoDir);
+          } else {
+            allIgnoredCachingPausedUntil = pausedUntil;
+            ignoredByRepoDir.clear();
+          }
+        }
+        return true;
+      });
+    } catch (CoreException e) {
+      LOG.error(e.getMessage(), e);
     }
   }
 
@@ -94,4 +288,66 @@ abstract class AbstractEGitVcsFacade implements VcsFacade {
   public boolean inRepository(IResource resource) {
     return getRepo(resource).isPresent();
   }
+
+  private static class ProjectRepository {
+    @Nullable
+    private final RepositoryProvider provider;
+    @Nullable
+    private final File repoDir;
+
+    private ProjectRepository(@Nullable RepositoryProvider provider, @Nullable File repoDir) {
+      this.provider = provider;
+      this.repoDir = repoDir;
+    }
+  }
+
+  /** The most recently used ignored states of the files of a repository */
+  private static class IgnoredFiles {
+    private final Map<IPath, Boolean> ignoredByPath = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<IPath, Boolean> eldest) {
+        return size() > MAX_IGNORED_PER_REPOSITORY;
+      }
+    };
+    private final List<File> excludeFiles;
+    private final List<Long> excludeFilesLastModified;
+    private long lastCheck;
+
+    private IgnoredFiles(List<File> excludeFiles) {
+      this.excludeFiles = excludeFiles;
+      this.excludeFilesLastModified = lastModified(excludeFiles);
+      this.lastCheck = System.currentTimeMillis();
+    }
+
+    private static List<Long> lastModified(List<File> files) {
+      // 0 for the files that don't exist
+      return files.stream().map(File::lastModified).collect(Collectors.toList());
+    }
+
+    private synchronized boolean excludeFilesChanged() {
+      var now = System.currentTimeMillis();
+      if (now - lastCheck < EXCLUDE_FILES_CHECK_DELAY_MS) {
+        return false;
+      }
+      lastCheck = now;
+      return !excludeFilesLastModified.equals(lastModified(excludeFiles));
+    }
+
+    @Nullable
+    private synchronized Boolean get(IPath path) {
+      return ignoredByPath.get(path);
+    }
+
+    private synchronized void put(IPath path, boolean ignored) {
+      ignoredByPath.put(path, ignored);
+    }
+
+    private synchronized void remove(IPath path) {
+      ignoredByPath.remove(path);
+    }
+
+    private synchronized void removeAll(IPath parent) {
+      ignoredByPath.keySet().removeIf(parent::isPrefixOf);
+    }
+  }
 }
@@ -34,10 +34,10 @@ import org.sonarlint.eclipse.core.resource.ISonarLintFile;
 public class EGit5dot12VcsFacade extends AbstractEGitVcsFacade {
 
   @Override
-  public boolean isIgnored(ISonarLintFile file) {
+  boolean computeIgnored(ISonarLintFile file) {
     try {
       var gitInfo = SonarLintUtils.adapt(file.getResource(), GitInfo.class,
-        "[EGit5dot12VcsFacade#isIgnored] Try get GitInfo from file '" + file.getName() + "'");
+        "[EGit5dot12VcsFacade#computeIgnored] Try get GitInfo from file '" + file.getName() + "'");
       if (gitInfo == null) {
         return false;
       }
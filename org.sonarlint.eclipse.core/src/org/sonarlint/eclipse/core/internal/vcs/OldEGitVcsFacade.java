@@ -36,7 +36,7 @@ public class OldEGitVcsFacade extends AbstractEGitVcsFacade {
   private static final SonarLintLogger LOG = SonarLintLogger.get();
 
   @Override
-  public boolean isIgnored(ISonarLintFile file) {
+  boolean computeIgnored(ISonarLintFile file) {
     try {
       Class resourceStateFactoryClass = Class.forName("org.eclipse.egit.ui.internal.resources.ResourceStateFactory");
       var getInstance = resourceStateFactoryClass.getMethod("getInstance");
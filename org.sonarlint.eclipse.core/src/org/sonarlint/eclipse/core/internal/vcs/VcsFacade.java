@@ -44,6 +44,10 @@ public interface VcsFacade {
 
   }
 
+  default void projectClosed(ISonarLintProject project) {
+
+  }
+
   /**
    *  We want to check if a specific resource, e.g. a file/folder/project, is inside a repository.
    *  The {@link org.eclipse.core.resources.IResource} should be coming from the
@@ -47,10 +47,28 @@ public class VcsService {
   private static final Map<ISonarLintProject, Object> previousCommitRefCache = new ConcurrentHashMap<>();
   private static final Map<ISonarLintProject, String> matchedSonarProjectBranchCache = new ConcurrentHashMap<>();
 
+  @Nullable
+  private static volatile VcsFacade facade;
+
   private VcsService() {
   }
 
+  /** The facade keeps caches and listeners, so the same instance is always used */
   public static VcsFacade getFacade() {
+    var currentFacade = facade;
+    if (currentFacade == null) {
+      synchronized (VcsService.class) {
+        currentFacade = facade;
+        if (currentFacade == null) {
+          currentFacade = createFacade();
+          facade = currentFacade;
+        }
+      }
+    }
+    return currentFacade;
+  }
+
+  private static VcsFacade createFacade() {
     // For now we only support eGit
     if (IS_EGIT_5_12_BUNDLE_AVAILABLE) {
       return new EGit5dot12VcsFacade();
@@ -81,6 +99,7 @@ public class VcsService {
   public static void projectClosed(ISonarLintProject project) {
     previousCommitRefCache.remove(project);
     matchedSonarProjectBranchCache.remove(project);
+    getFacade().projectClosed(project);
   }
 
   public static Optional<String> getCachedSonarProjectBranch(ISonarLintProject project) {
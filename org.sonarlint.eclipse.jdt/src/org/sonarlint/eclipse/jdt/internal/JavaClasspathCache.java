@@ -0,0 +1,171 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.jdt.internal;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.sonarlint.eclipse.core.analysis.IFileTypeProvider.ISonarLintFileType;
+import org.sonarlint.eclipse.core.internal.jobs.TestFileClassifier;
+
+/**
+ *  Computing the classpath of a project means resolving it recursively over all the dependent projects and checking
+ *  every library on disk, this can take longer than the analysis of a single file. It is therefore only done again
+ *  when JDT reports a change of a classpath or when an output folder is created or deleted.
+ *
+ *  As the configuration of a project also contains the ones of the projects it depends on, every change invalidates
+ *  all the projects.
+ *
+ *  Whether a source folder contains tests is a property of its classpath entry, it is cached as well so that files
+ *  are not qualified one by one. The results of the {@link TestFileClassifier} depend on it and are invalidated too.
+ */
+public class JavaClasspathCache implements IElementChangedListener, IResourceChangeListener {
+  @Nullable
+  private static JavaClasspathCache instance;
+
+  private final Map<IJavaProject, JavaProjectConfiguration> configurations = new ConcurrentHashMap<>();
+  private final Map<IPackageFragmentRoot, ISonarLintFileType> sourceFolderTypes = new ConcurrentHashMap<>();
+  /** Output folders of all the cached configurations, that are only part of them when they exist on disk */
+  private final Set<IPath> outputLocations = ConcurrentHashMap.newKeySet();
+  /** Incremented on every invalidation, so that a configuration computed in the meantime is not cached */
+  private final AtomicLong generation = new AtomicLong();
+
+  @FunctionalInterface
+  interface ConfigurationComputer {
+    JavaProjectConfiguration compute(IJavaProject javaProject) throws JavaModelException;
+  }
+
+  @FunctionalInterface
+  interface SourceFolderQualifier {
+    ISonarLintFileType qualify(IPackageFragmentRoot sourceFolder) throws JavaModelException;
+  }
+
+  private JavaClasspathCache() {
+  }
+
+  public static synchronized JavaClasspathCache get() {
+    if (instance == null) {
+      instance = new JavaClasspathCache();
+      JavaCore.addElementChangedListener(instance, ElementChangedEvent.POST_CHANGE);
+      ResourcesPlugin.getWorkspace().addResourceChangeListener(instance, IResourceChangeEvent.POST_CHANGE);
+    }
+    return instance;
+  }
+
+  /** The configuration is shared by concurrent analyses and must not be changed */
+  JavaProjectConfiguration getOrCompute(IJavaProject javaProject, ConfigurationComputer computer) throws JavaModelException {
+    var configuration = configurations.get(javaProject);
+    if (configuration != null) {
+      return configuration;
+    }
+
+    var currentGeneration = generation.get();
+    configuration = computer.compute(javaProject);
+    if (generation.get() == currentGeneration) {
+      outputLocations.addAll(configuration.outputLocations());
+      configurations.put(javaProject, configuration);
+    }
+    return configuration;
+  }
+
+  ISonarLintFileType getOrQualify(IPackageFragmentRoot sourceFolder, SourceFolderQualifier qualifier) throws JavaModelException {
+    var type = sourceFolderTypes.get(sourceFolder);
+    if (type != null) {
+      return type;
+    }
+
+    var currentGeneration = generation.get();
+    type = qualifier.qualify(sourceFolder);
+    if (generation.get() == currentGeneration) {
+      sourceFolderTypes.put(sourceFolder, type);
+    }
+    return type;
+  }
+
+  void invalidateAll() {
+    generation.incrementAndGet();
+    configurations.clear();
+    outputLocations.clear();
+    if (!sourceFolderTypes.isEmpty()) {
+      sourceFolderTypes.clear();
+      TestFileClassifier.get().invalidate();
+    }
+  }
+
+  @Override
+  public void elementChanged(ElementChangedEvent event) {
+    if ((!configurations.isEmpty() || !sourceFolderTypes.isEmpty()) && affectsClasspath(event.getDelta())) {
+      invalidateAll();
+    }
+  }
+
+  private static boolean affectsClasspath(IJavaElementDelta delta) {
+    var flags = delta.getFlags();
+    if ((flags & (IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+      | IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH
+      | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED)) != 0) {
+      return true;
+    }
+    var elementType = delta.getElement().getElementType();
+    if (elementType == IJavaElement.JAVA_PROJECT
+      && (delta.getKind() == IJavaElementDelta.ADDED || delta.getKind() == IJavaElementDelta.REMOVED)) {
+      return true;
+    }
+    // Changes to the classpath are reported on the project and its package fragment roots, not any deeper
+    if (elementType == IJavaElement.JAVA_MODEL || elementType == IJavaElement.JAVA_PROJECT) {
+      for (var child : delta.getAffectedChildren()) {
+        if (affectsClasspath(child)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void resourceChanged(IResourceChangeEvent event) {
+    var delta = event.getDelta();
+    if (delta == null || outputLocations.isEmpty()) {
+      return;
+    }
+    for (var outputLocation : outputLocations) {
+      var outputDelta = delta.findMember(outputLocation);
+      if (outputDelta != null && (outputDelta.getKind() == IResourceDelta.ADDED || outputDelta.getKind() == IResourceDelta.REMOVED)) {
+        invalidateAll();
+        return;
+      }
+    }
+  }
+}
@@ -21,6 +21,7 @@ package org.sonarlint.eclipse.jdt.internal;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
+import org.eclipse.core.runtime.IPath;
 
 public class JavaProjectConfiguration {
 
@@ -30,6 +31,7 @@ public class JavaProjectConfiguration {
   private final Set<String> testLibraries = new LinkedHashSet<>();
   private final Set<String> binaries = new LinkedHashSet<>();
   private final Set<String> testBinaries = new LinkedHashSet<>();
+  private final Set<IPath> outputLocations = new LinkedHashSet<>();
 
   public Set<Object> dependentProjects() {
     return dependentProjects;
@@ -55,4 +57,9 @@ public class JavaProjectConfiguration {
     return testBinaries;
   }
 
+  /** All the output folders looked at, whether they exist or not */
+  public Set<IPath> outputLocations() {
+    return outputLocations;
+  }
+
 }
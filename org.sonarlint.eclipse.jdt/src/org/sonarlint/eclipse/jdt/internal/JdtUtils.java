@@ -112,15 +112,20 @@ public class JdtUtils {
     context.setAnalysisProperty("sonar.java.enablePreview", javaPreview.equalsIgnoreCase(JavaCore.ENABLED) ? "true" : "false");
 
     try {
-      var configuration = new JavaProjectConfiguration();
-      configuration.dependentProjects().add(javaProject);
-      addClassPathToSonarProject(javaProject, configuration, true, false, false);
+      var configuration = JavaClasspathCache.get().getOrCompute(javaProject, JdtUtils::computeConfiguration);
       configurationToProperties(context, configuration);
     } catch (JavaModelException e) {
       SonarLintLogger.get().error(e.getMessage(), e);
     }
   }
 
+  private static JavaProjectConfiguration computeConfiguration(IJavaProject javaProject) throws JavaModelException {
+    var configuration = new JavaProjectConfiguration();
+    configuration.dependentProjects().add(javaProject);
+    addClassPathToSonarProject(javaProject, configuration, true, false, false);
+    return configuration;
+  }
+
   /**
    * Adds the classpath of an eclipse project to the sonarProject recursively, i.e
    * it iterates all dependent projects. Libraries and output folders of dependent projects
@@ -187,6 +192,7 @@ public class JdtUtils {
   }
 
   private static void processOutputDir(IPath outputDir, JavaProjectConfiguration context, boolean topProject, boolean testEntry) throws JavaModelException {
+    context.outputLocations().add(outputDir);
     var outDir = getAbsolutePathAsString(outputDir);
     if (outDir != null) {
       if (topProject) {
@@ -344,13 +350,15 @@ public class JdtUtils {
       return ISonarLintFileType.UNKNOWN;
     }
 
-    IClasspathEntry classpathEntry;
     try {
-      classpathEntry = packageFragmentRoot.getResolvedClasspathEntry();
+      return JavaClasspathCache.get().getOrQualify(packageFragmentRoot, JdtUtils::qualifySourceFolder);
     } catch (JavaModelException e) {
       return ISonarLintFileType.UNKNOWN;
     }
-    if (isTest(classpathEntry)) {
+  }
+
+  private static ISonarLintFileType qualifySourceFolder(IPackageFragmentRoot packageFragmentRoot) throws JavaModelException {
+    if (isTest(packageFragmentRoot.getResolvedClasspathEntry())) {
       return ISonarLintFileType.TEST;
     }
     // Support of test classpath was added in JDT 3.14, before that we can't guess
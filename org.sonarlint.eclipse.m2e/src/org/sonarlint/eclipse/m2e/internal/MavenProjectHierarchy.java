@@ -0,0 +1,202 @@
+/*
+ * SonarLint for Eclipse
+ * Copyright (C) 2015-2024 SonarSource SA
+ * sonarlint@sonarsource.com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonarlint.eclipse.m2e.internal;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.IMavenProjectFacade;
+import org.eclipse.m2e.core.project.IMavenProjectRegistry;
+import org.sonarlint.eclipse.core.SonarLintLogger;
+
+/**
+ *  Parent / child relations of the Maven projects in the workspace, built once from the m2e registry instead of
+ *  walking the parents of every project of the registry on each query. It is built again lazily after m2e notified a
+ *  change of the projects (e.g. a "pom.xml" modified, a project imported, closed or removed).
+ */
+class MavenProjectHierarchy {
+  private static final MavenProjectHierarchy INSTANCE = new MavenProjectHierarchy();
+
+  private final AtomicBoolean listening = new AtomicBoolean();
+  /** Incremented on every change, so that an index built while projects changed is not kept */
+  private final AtomicInteger generation = new AtomicInteger();
+  @Nullable
+  private volatile Index index;
+
+  private MavenProjectHierarchy() {
+  }
+
+  static MavenProjectHierarchy get() {
+    return INSTANCE;
+  }
+
+  /** @return true if the project has modules or a parent project that is not a dependency */
+  boolean isPartOfHierarchy(IProject project) {
+    return getIndex().partOfHierarchy.contains(project);
+  }
+
+  /**
+   *  @return the root project of the hierarchy (maybe the project itself), null if it is not a Maven project or its root
+   *          is not in the workspace
+   */
+  @Nullable
+  IProject getRootProject(IProject project) {
+    var currentIndex = getIndex();
+    var rootKey = currentIndex.rootKeyByProject.get(project);
+    return rootKey != null ? currentIndex.projectByKey.get(rootKey) : null;
+  }
+
+  /** @return the projects having this one as (direct or indirect) parent */
+  Collection<IProject> getSubProjects(IProject project) {
+    var currentIndex = getIndex();
+    var key = currentIndex.keyByProject.get(project);
+    if (key == null) {
+      return Collections.emptyList();
+    }
+    return currentIndex.descendantsByKey.getOrDefault(key, Collections.emptyList());
+  }
+
+  /** @return the locations of the Maven projects in a sub-directory of the given location */
+  List<String> getNestedProjectLocations(String projectLocation) {
+    var parentPath = projectLocation + "/";
+    var nested = new ArrayList<String>();
+    // Sorted by location, so the nested ones directly follow the parent
+    for (var location : getIndex().projectByLocation.tailMap(parentPath, false).keySet()) {
+      if (!location.startsWith(parentPath)) {
+        break;
+      }
+      nested.add(location);
+    }
+    return nested;
+  }
+
+  void invalidate() {
+    generation.incrementAndGet();
+    index = null;
+  }
+
+  private Index getIndex() {
+    var currentIndex = index;
+    if (currentIndex != null) {
+      return currentIndex;
+    }
+    listenToChanges();
+    var indexGeneration = generation.get();
+    currentIndex = Index.build(MavenPlugin.getMavenProjectRegistry());
+    synchronized (this) {
+      if (generation.get() == indexGeneration) {
+        index = currentIndex;
+      }
+    }
+    return currentIndex;
+  }
+
+  /**
+   *  The signature of "IMavenProjectChangedListener#mavenProjectChanged" changed between the versions of m2e we
+   *  support (array of events vs. list of events), the events themselves are not needed so a proxy works for both.
+   */
+  private void listenToChanges() {
+    if (!listening.compareAndSet(false, true)) {
+      return;
+    }
+    var listener = (IMavenProjectChangedListener) Proxy.newProxyInstance(IMavenProjectChangedListener.class.getClassLoader(),
+      new Class<?>[] {IMavenProjectChangedListener.class}, (proxy, method, args) -> {
+        switch (method.getName()) {
+          case "equals":
+            return proxy == args[0];
+          case "hashCode":
+            return System.identityHashCode(proxy);
+          case "toString":
+            return "SonarLint Maven project hierarchy listener";
+          default:
+            invalidate();
+            return null;
+        }
+      });
+    MavenPlugin.getMavenProjectRegistry().addMavenProjectChangedListener(listener);
+  }
+
+  private static class Index {
+    private final Map<String, IProject> projectByKey = new HashMap<>();
+    private final Map<IProject, String> keyByProject = new HashMap<>();
+    private final Map<IProject, String> rootKeyByProject = new HashMap<>();
+    private final Map<String, List<IProject>> descendantsByKey = new HashMap<>();
+    private final Set<IProject> partOfHierarchy = new HashSet<>();
+    private final TreeMap<String, IProject> projectByLocation = new TreeMap<>();
+
+    private static Index build(IMavenProjectRegistry registry) {
+      var index = new Index();
+      for (var facade : MavenUtils.getProjects(registry)) {
+        try {
+          index.add(facade);
+        } catch (Exception ex) {
+          SonarLintLogger.get().error(ex.getMessage(), ex);
+        }
+      }
+      return index;
+    }
+
+    private void add(IMavenProjectFacade facade) throws Exception {
+      var project = facade.getProject();
+      var locationUri = project.getLocationURI();
+      if (locationUri != null && locationUri.getPath() != null) {
+        projectByLocation.put(locationUri.getPath(), project);
+      }
+
+      // This and the following method calls require the project to rely on the following bundle:
+      // - org.eclipse.m2e.maven.runtime
+      // -> The parent file is only present if the parent artifact is not inside a repository but an actual project!
+      var mavenProject = facade.getMavenProject(null);
+      var key = key(mavenProject);
+      projectByKey.put(key, project);
+      keyByProject.put(project, key);
+      if (!facade.getMavenProjectModules().isEmpty() || mavenProject.getParentFile() != null) {
+        partOfHierarchy.add(project);
+      }
+
+      var rootKey = key;
+      var currentProject = mavenProject;
+      while (currentProject.getParentFile() != null && currentProject.getParent() != null) {
+        currentProject = currentProject.getParent();
+        rootKey = key(currentProject);
+        descendantsByKey.computeIfAbsent(rootKey, k -> new ArrayList<>()).add(project);
+      }
+      rootKeyByProject.put(project, rootKey);
+    }
+
+    private static String key(MavenProject mavenProject) {
+      return mavenProject.getGroupId() + ":" + mavenProject.getArtifactId() + ":" + mavenProject.getVersion();
+    }
+  }
+}
@@ -25,9 +25,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import org.apache.maven.project.MavenProject;
 import org.eclipse.core.resources.IProject;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.annotation.Nullable;
@@ -42,36 +40,6 @@ public class MavenUtils {
   private MavenUtils() {
   }
 
-  private static MavenProject getRootMavenProject(MavenProject project) {
-    var currentProject = project;
-    while (currentProject.getParentFile() != null) {
-      currentProject = currentProject.getParent();
-    }
-
-    return currentProject;
-  }
-
-  /**
-   *  This checks if a project has a possible parent project: This is due to Maven parent projects can also have other
-   *  parent projects themselves. For the project that is the possible parent project, this will evaluate to false!
-   *
-   *  @param project to check for its parents
-   *  @param possibleParentProject what is searched
-   *  @return true if it parent is in hierarchy, false otherwise
-   */
-  private static boolean checkIfPossibleParentProject(MavenProject project, MavenProject possibleParentProject) {
-    var currentProject = project;
-
-    while (currentProject.getParentFile() != null) {
-      currentProject = currentProject.getParent();
-      if (possibleParentProject.equals(currentProject)) {
-        return true;
-      }
-    }
-
-    return false;
-  }
-
   /**
    *  As m2e creates IProject for every module we have to check via the integration as well as Maven itself if
    *  a project either contains sub-modules or if there is a parent project (that is not a dependency).
@@ -83,94 +51,42 @@ public class MavenUtils {
       return false;
     }
 
-    var projectManager = MavenPlugin.getMavenProjectRegistry();
-    var projectFacade = projectManager.create(iProject, null);
-    if (projectFacade == null) {
-      return false;
-    }
-
-    var modules = projectFacade.getMavenProjectModules();
-    if (!modules.isEmpty()) {
-      return true;
-    }
-
-    try {
-      // This and the following method calls require the project to rely on the following bundle:
-      // - org.eclipse.m2e.maven.runtime
-      // -> The parent file is only present if the parent artifact is not inside a repository but an actual project!
-      var mavenProject = projectFacade.getMavenProject(null);
-      return mavenProject.getParentFile() != null;
-    } catch (CoreException ex) {
-      SonarLintLogger.get().error(ex.getMessage(), ex);
-    }
-
-    return false;
+    return MavenProjectHierarchy.get().isPartOfHierarchy(iProject);
   }
 
   @Nullable
   public static ISonarLintProject getRootProjectInWorkspace(ISonarLintProject project) {
-    var projectManager = MavenPlugin.getMavenProjectRegistry();
-
     // If an exception is thrown here due to the SonarLintUtils.adapt(...) returning null, something must be broken on
     // the IDE side as isPartOfHierarchy(...) already made that adaption and the contract is to call it prior to
     // calling this method!
     var slProject = SonarLintUtils.adapt(project.getResource(), IProject.class,
       "[MavenUtils#getRootProjectInWorkspace] Try find Eclipse from '" + project.getName() + "'");
-    var projectFacade = projectManager.create(slProject, null);
-    if (projectFacade == null) {
+    var rootProject = MavenProjectHierarchy.get().getRootProject(slProject);
+    if (rootProject == null) {
       return null;
     }
-
-    try {
-      var mavenProject = projectFacade.getMavenProject(null);
-      var rootProject = getRootMavenProject(mavenProject);
-      if (mavenProject.equals(rootProject)) {
-        return project;
-      }
-
-      var rootProjectFacade = projectManager.getMavenProject(rootProject.getGroupId(), rootProject.getArtifactId(),
-        rootProject.getVersion());
-      if (rootProjectFacade != null) {
-        return SonarLintUtils.adapt(rootProjectFacade.getProject(), ISonarLintProject.class,
-          "[MavenUtils#getRootProjectInWorkspace] Try get SonarLint project from '" + rootProjectFacade.getFinalName()
-            + "'");
-      }
-    } catch (CoreException ex) {
-      SonarLintLogger.get().error(ex.getMessage(), ex);
+    if (rootProject.equals(slProject)) {
+      return project;
     }
 
-    return null;
+    return SonarLintUtils.adapt(rootProject, ISonarLintProject.class,
+      "[MavenUtils#getRootProjectInWorkspace] Try get SonarLint project from '" + rootProject.getName() + "'");
   }
 
   public static Collection<ISonarLintProject> getProjectSubProjects(ISonarLintProject project) {
     var modules = new ArrayList<ISonarLintProject>();
 
-    var projectManager = MavenPlugin.getMavenProjectRegistry();
-
     // If an exception is thrown here due to the SonarLintUtils.adapt(...) returning null, something must be broken on
     // the IDE side as isPartOfHierarchy(...) already made that adaption and the contract is to call it prior to
     // calling this method!
     var slProject = SonarLintUtils.adapt(project.getResource(), IProject.class,
       "[MavenUtils#getProjectSubProjects] Try find Eclipse from '" + project.getName() + "'");
-    var projectFacade = projectManager.create(slProject, null);
-    if (projectFacade == null) {
-      return modules;
-    }
-
-    try {
-      var parentProject = projectFacade.getMavenProject(null);
-      for (var mavenProjectFacade : getProjects(projectManager)) {
-        var mavenProject = mavenProjectFacade.getMavenProject(null);
-        if (checkIfPossibleParentProject(mavenProject, parentProject)) {
-          var possibleSlProject = SonarLintUtils.adapt(mavenProjectFacade.getProject(), ISonarLintProject.class,
-            "[MavenUtils#getProjectSubProjects] Try get SonarLint project from '" + mavenProject.getName() + "'");
-          if (possibleSlProject != null) {
-            modules.add(possibleSlProject);
-          }
-        }
+    for (var subProject : MavenProjectHierarchy.get().getSubProjects(slProject)) {
+      var possibleSlProject = SonarLintUtils.adapt(subProject, ISonarLintProject.class,
+        "[MavenUtils#getProjectSubProjects] Try get SonarLint project from '" + subProject.getName() + "'");
+      if (possibleSlProject != null) {
+        modules.add(possibleSlProject);
       }
-    } catch (Exception ex) {
-      SonarLintLogger.get().error(ex.getMessage(), ex);
     }
 
     return modules;
@@ -216,16 +132,9 @@ public class MavenUtils {
     // Compared to "getProjectSubProjects" this will find every Maven module / project even the ones that are not
     // direct children of the parent. But this is no problem in this case!
     var parentPath = project.getLocationURI().getPath() + "/";
-    try {
-      for (var projectFacade : getProjects(projectManager)) {
-        var projectPath = projectFacade.getProject().getLocationURI().getPath();
-        if (!projectPath.equals(parentPath) && projectPath.startsWith(parentPath)) {
-          var relativePath = projectPath.replace(parentPath, "/" + project.getName() + "/");
-          exclusions.add(Path.fromOSString(relativePath));
-        }
-      }
-    } catch (Exception ex) {
-      SonarLintLogger.get().error(ex.getMessage(), ex);
+    for (var projectPath : MavenProjectHierarchy.get().getNestedProjectLocations(project.getLocationURI().getPath())) {
+      var relativePath = projectPath.replace(parentPath, "/" + project.getName() + "/");
+      exclusions.add(Path.fromOSString(relativePath));
     }
 
     return exclusions;
@@ -243,7 +152,7 @@ public class MavenUtils {
    * 
    *  @see https://github.com/eclipse-m2e/m2e-core/issues/1820
    */
-  private static List<IMavenProjectFacade> getProjects(IMavenProjectRegistry registry) {
+  static List<IMavenProjectFacade> getProjects(IMavenProjectRegistry registry) {
     List<IMavenProjectFacade> projects = new ArrayList<>();
 
     try {
@@ -25,7 +25,6 @@ import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.CoreException;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarlint.eclipse.core.internal.backend.ConfigScopeSynchronizer;
-import org.sonarlint.eclipse.core.internal.cache.DefaultSonarLintProjectAdapterCache;
 import org.sonarlint.eclipse.core.internal.cache.IProjectScopeProviderCache;
 import org.sonarlint.eclipse.core.internal.utils.SonarLintUtils;
 import org.sonarlint.eclipse.core.resource.ISonarLintProject;
@@ -54,7 +53,6 @@ public class ConfigScopeIdCacheCleaner implements IResourceChangeListener {
       if (project != null && (!project.isOpen())) {
         var configScopeId = ConfigScopeSynchronizer.getConfigScopeId(project);
 
-        DefaultSonarLintProjectAdapterCache.INSTANCE.removeEntry(configScopeId);
         IProjectScopeProviderCache.INSTANCE.removeEntry(configScopeId);
       }
       return false;
@@ -39,6 +39,7 @@ import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.TriggerType;
 import org.sonarlint.eclipse.core.internal.backend.ConfigScopeSynchronizer;
 import org.sonarlint.eclipse.core.internal.backend.SonarLintEclipseHeadlessRpcClient;
+import org.sonarlint.eclipse.core.internal.backend.TaintVulnerabilitiesIndex;
 import org.sonarlint.eclipse.core.internal.jobs.AnalysisReadyStatusCache;
 import org.sonarlint.eclipse.core.internal.jobs.TaintIssuesMarkerUpdateJob;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintGlobalConfiguration;
@@ -354,6 +355,9 @@ public class SonarLintEclipseRpcClient extends SonarLintEclipseHeadlessRpcClient
   @Override
   public void didChangeTaintVulnerabilities(String configurationScopeId, Set<UUID> closedTaintVulnerabilityIds, List<TaintVulnerabilityDto> addedTaintVulnerabilities,
     List<TaintVulnerabilityDto> updatedTaintVulnerabilities) {
+    TaintVulnerabilitiesIndex.get().didChangeTaintVulnerabilities(configurationScopeId, closedTaintVulnerabilityIds,
+      addedTaintVulnerabilities, updatedTaintVulnerabilities);
+
     var projectOpt = SonarLintUtils.tryResolveProject(configurationScopeId);
     if (projectOpt.isEmpty()) {
       return;
@@ -28,7 +28,7 @@ import org.eclipse.ui.PlatformUI;
 import org.sonarlint.eclipse.core.internal.SonarLintCorePlugin;
 import org.sonarlint.eclipse.core.internal.TriggerType;
 import org.sonarlint.eclipse.core.internal.engine.connected.ConnectionFacade;
-import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectJob;
+import org.sonarlint.eclipse.core.internal.jobs.AnalysisRequestScheduler;
 import org.sonarlint.eclipse.core.internal.jobs.AnalyzeProjectRequest;
 import org.sonarlint.eclipse.core.internal.preferences.SonarLintProjectConfiguration.EclipseProjectBinding;
 import org.sonarlint.eclipse.core.internal.utils.JobUtils;
@@ -43,6 +43,7 @@ public class AnalysisJobsScheduler {
     // utility class, forbidden constructor
   }
 
+  /** Requests are not scheduled right away but coalesced with the other ones on the same project */
   public static void scheduleAutoAnalysisIfEnabled(AnalyzeProjectRequest request) {
     var project = request.getProject();
     if (!project.isOpen()) {
@@ -50,7 +51,7 @@ public class AnalysisJobsScheduler {
     }
     var projectConfiguration = SonarLintCorePlugin.loadConfig(project);
     if (projectConfiguration.isAutoEnabled()) {
-      AnalyzeProjectJob.create(request).schedule();
+      AnalysisRequestScheduler.get().schedule(request);
     }
   }
 
@@ -21,13 +21,15 @@ package org.sonarlint.eclipse.ui.internal.job;
 
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.jdt.annotation.Nullable;
 import org.sonarlint.eclipse.core.SonarLintLogger;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.progress.ProgressUpdateNotification;
 import org.sonarsource.sonarlint.core.rpc.protocol.client.progress.StartProgressParams;
@@ -36,10 +38,22 @@ import org.sonarsource.sonarlint.core.rpc.protocol.client.progress.StartProgress
  *  As the backend is now in charge of synchronization we want the user to see the progress even though it was not
  *  scheduled on the IDE side. Therefore we create fake jobs for every backend job which offers interaction
  *  possibilities for the user.
+ *
+ *  The state of every backend task is kept in a {@link BackendProgressState}, the IDE job only sleeps on it until
+ *  something changes. Rapid updates are coalesced and only the latest one is displayed. The number of IDE jobs running
+ *  at the same time is bounded, additional ones are queued until a slot is free.
  */
 public class BackendProgressJobScheduler {
+  /** Maximum number of IDE jobs mirroring backend tasks that can run at the same time */
+  private static final int MAX_CONCURRENT_PROGRESS_JOBS = 4;
+  /** Updates received within this delay after the last refresh of the progress monitor are merged together */
+  private static final long COALESCING_DELAY_MS = 200;
+  /** Maximum time the IDE job sleeps before checking if it was cancelled by the user */
+  private static final long CANCELLATION_CHECK_INTERVAL_MS = 500;
+
   private static final BackendProgressJobScheduler INSTANCE = new BackendProgressJobScheduler();
-  private final ConcurrentHashMap<String, BackendProgressJob> jobPool = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, BackendProgressState> taskPool = new ConcurrentHashMap<>();
+  private final JobGroup progressJobGroup = new BackendProgressJobGroup();
 
   private BackendProgressJobScheduler() {
   }
@@ -51,86 +65,221 @@ public class BackendProgressJobScheduler {
   /** Start a new progress bar by using an IDE job */
   public void startProgress(StartProgressParams params) throws UnsupportedOperationException {
     var taskId = params.getTaskId();
-    if (jobPool.containsKey(taskId)) {
+    if (taskPool.containsKey(taskId)) {
       var errorMessage = "Job with ID " + taskId + " is already active, skip reporting it";
       SonarLintLogger.get().debug(errorMessage);
       throw new CancellationException(errorMessage);
     }
 
-    jobPool.computeIfAbsent(taskId, k -> {
-      var job = new BackendProgressJob(params);
+    taskPool.computeIfAbsent(taskId, k -> {
+      var state = new BackendProgressState(params.getMessage());
+      var job = new BackendProgressJob(taskId, params, state);
+      job.setJobGroup(progressJobGroup);
       job.schedule();
-      return job;
+      return state;
     });
   }
 
   /** Update the progress bar IDE job */
   public void update(String taskId, ProgressUpdateNotification notification) {
-    var job = jobPool.get(taskId);
-    if (job == null) {
+    var state = taskPool.get(taskId);
+    if (state == null) {
       SonarLintLogger.get().debug("Job with ID " + taskId + " is unknown, skip reporting it");
       return;
     }
-    job.update(notification);
+    state.update(notification.getMessage(), notification.getPercentage());
   }
 
   /** Complete the progress bar IDE job */
   public void complete(String taskId) {
-    var job = jobPool.remove(taskId);
-    if (job == null) {
+    var state = taskPool.remove(taskId);
+    if (state == null) {
       SonarLintLogger.get().debug("Job with ID " + taskId + " is unknown, skip reporting it");
       return;
     }
-    job.complete();
+    state.complete();
   }
 
-  /** This job is only an IDE frontend for a job running in the SonarLintBackend */
-  private static class BackendProgressJob extends Job {
-    private final Object waitMonitor = new Object();
-    private final AtomicReference<String> message;
-    private final AtomicInteger percentage = new AtomicInteger(0);
-    private final AtomicBoolean complete = new AtomicBoolean(false);
-
-    public BackendProgressJob(StartProgressParams params) {
-      super(params.getTitle());
-      setPriority(DECORATE);
+  /** When the user cancels the IDE job we stop tracking the task, following notifications will be ignored */
+  private void forget(String taskId, BackendProgressState state) {
+    taskPool.remove(taskId, state);
+  }
 
-      this.message = new AtomicReference<>(params.getMessage());
+  /** The job group bounds the number of running progress jobs, a single failing job must not cancel the others */
+  private static class BackendProgressJobGroup extends JobGroup {
+    BackendProgressJobGroup() {
+      super("SonarLint backend progress", MAX_CONCURRENT_PROGRESS_JOBS, 0);
     }
 
     @Override
-    protected IStatus run(IProgressMonitor monitor) {
-      monitor.setTaskName(message.get());
-      monitor.worked(percentage.get());
+    protected boolean shouldCancel(IStatus lastCompletedJobResult, int numberOfFailedJobs, int numberOfCanceledJobs) {
+      return false;
+    }
+  }
+
+  /**
+   *  Latest known state of a task running in the SonarLintBackend. Updates only overwrite the previous values, so
+   *  that the IDE job never has to process more than the most recent one when it wakes up.
+   */
+  static class BackendProgressState {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    @Nullable
+    private String message;
+    private int percentage;
+    private boolean dirty;
+    private boolean complete;
 
-      while (!complete.get()) {
-        synchronized (waitMonitor) {
-          monitor.setTaskName(message.get());
-          monitor.worked(percentage.get());
+    BackendProgressState(@Nullable String message) {
+      this.message = message;
+      this.dirty = true;
+    }
+
+    void update(@Nullable String newMessage, int newPercentage) {
+      lock.lock();
+      try {
+        if (newMessage != null) {
+          message = newMessage;
         }
+        percentage = newPercentage;
+        dirty = true;
+        changed.signalAll();
+      } finally {
+        lock.unlock();
       }
+    }
 
-      monitor.done();
-      return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+    void complete() {
+      lock.lock();
+      try {
+        complete = true;
+        changed.signalAll();
+      } finally {
+        lock.unlock();
+      }
     }
 
-    public void update(ProgressUpdateNotification notification) {
-      var newMessage = notification.getMessage();
-      if (newMessage != null) {
-        message.set(newMessage);
+    /**
+     *  Wait until there is an update not yet consumed or the task is complete, at most for the given timeout.
+     *
+     *  @return true if something changed, false on timeout
+     */
+    boolean awaitChange(long timeoutMs) throws InterruptedException {
+      var remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+      lock.lock();
+      try {
+        while (!dirty && !complete) {
+          if (remainingNanos <= 0) {
+            return false;
+          }
+          remainingNanos = changed.awaitNanos(remainingNanos);
+        }
+        return true;
+      } finally {
+        lock.unlock();
       }
-      percentage.set(notification.getPercentage());
+    }
 
-      synchronized (waitMonitor) {
-        waitMonitor.notify();
+    /** Wait only for the completion of the task, updates received meanwhile are accumulated */
+    void awaitCompletion(long timeoutMs) throws InterruptedException {
+      var remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+      lock.lock();
+      try {
+        while (!complete && remainingNanos > 0) {
+          remainingNanos = changed.awaitNanos(remainingNanos);
+        }
+      } finally {
+        lock.unlock();
       }
     }
 
-    public void complete() {
-      complete.set(true);
-      synchronized (waitMonitor) {
-        waitMonitor.notify();
+    boolean isComplete() {
+      lock.lock();
+      try {
+        return complete;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** Consume the pending update, returns null if there was none */
+    @Nullable
+    Snapshot consume() {
+      lock.lock();
+      try {
+        if (!dirty) {
+          return null;
+        }
+        dirty = false;
+        return new Snapshot(message, percentage);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    static class Snapshot {
+      @Nullable
+      final String message;
+      final int percentage;
+
+      Snapshot(@Nullable String message, int percentage) {
+        this.message = message;
+        this.percentage = percentage;
+      }
+    }
+  }
+
+  /** This job is only an IDE frontend for a job running in the SonarLintBackend */
+  private class BackendProgressJob extends Job {
+    private final String taskId;
+    private final boolean indeterminate;
+    private final BackendProgressState state;
+
+    public BackendProgressJob(String taskId, StartProgressParams params, BackendProgressState state) {
+      super(params.getTitle());
+      setPriority(DECORATE);
+
+      this.taskId = taskId;
+      this.indeterminate = params.isIndeterminate();
+      this.state = state;
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+      monitor.beginTask(getName(), indeterminate ? IProgressMonitor.UNKNOWN : 100);
+      var reportedPercentage = 0;
+
+      try {
+        while (!monitor.isCanceled()) {
+          if (!state.awaitChange(CANCELLATION_CHECK_INTERVAL_MS)) {
+            continue;
+          }
+          if (state.isComplete()) {
+            break;
+          }
+          var snapshot = state.consume();
+          if (snapshot != null) {
+            if (snapshot.message != null) {
+              monitor.subTask(snapshot.message);
+            }
+            // IProgressMonitor#worked is incremental while the backend reports an absolute percentage
+            if (!indeterminate && snapshot.percentage > reportedPercentage) {
+              monitor.worked(snapshot.percentage - reportedPercentage);
+              reportedPercentage = snapshot.percentage;
+            }
+          }
+          state.awaitCompletion(COALESCING_DELAY_MS);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      monitor.done();
+      if (!state.isComplete()) {
+        forget(taskId, state);
+        return Status.CANCEL_STATUS;
       }
+      return Status.OK_STATUS;
     }
   }
 }